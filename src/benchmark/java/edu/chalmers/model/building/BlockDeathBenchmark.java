@@ -0,0 +1,89 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Benchmark showing that destroying one block costs the same no matter how many blocks have been placed.
+ * The shared list every Block used to add its MapManager to is compared with per block observers.
+ */
+public class BlockDeathBenchmark {
+    private static final int COLUMN_HEIGHT = 50;
+    private static final int DEATHS = 200;
+
+    public static void main(String[] args) {
+        for (int blocks : new int[]{1000, 5000, 10000, 20000}) {
+            measure(blocks);    // Warm up
+        }
+        for (int blocks : new int[]{1000, 5000, 10000, 20000}) {
+            long[] times = measure(blocks);
+            System.out.printf("%6d blocks placed: shared observer list %8.2f us, per block observers %6.2f us per block death%n",
+                    blocks, times[0] / 1e3 / DEATHS, times[1] / 1e3 / DEATHS);
+        }
+    }
+
+    // Returns the total time of DEATHS block deaths with a shared observer list and with per block observers
+    private static long[] measure(int blocks) {
+        int columns = blocks / COLUMN_HEIGHT;
+
+        // Shared list, MapManager is added once for every block that is placed
+        MapManager mapManager = new MapManager(createFloor(columns));
+        List<IMapObserver> sharedObservers = new ArrayList<>();
+        List<Coords> topTiles = placeBlocks(mapManager, columns, null);
+        for (int i = 0; i < blocks; i++) sharedObservers.add(mapManager);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < DEATHS; i++) {
+            Coords tile = topTiles.get(i % topTiles.size());
+            for (IMapObserver observer : sharedObservers) observer.update(tile);
+            mapManager.flushRemovedTiles();
+            topTiles.set(i % topTiles.size(), new Coords(tile.getX(), tile.getY() + 1));
+        }
+        long sharedTime = System.nanoTime() - start;
+
+        // Per block observers
+        mapManager = new MapManager(createFloor(columns));
+        HashMap<Coords, MockBlock> placedBlocks = new HashMap<>();
+        topTiles = placeBlocks(mapManager, columns, placedBlocks);
+
+        start = System.nanoTime();
+        for (int i = 0; i < DEATHS; i++) {
+            Coords tile = topTiles.get(i % topTiles.size());
+            placedBlocks.get(tile).destroy();
+            mapManager.flushRemovedTiles();
+            topTiles.set(i % topTiles.size(), new Coords(tile.getX(), tile.getY() + 1));
+        }
+        long perBlockTime = System.nanoTime() - start;
+
+        return new long[]{sharedTime, perBlockTime};
+    }
+
+    private static TileGrid createFloor(int columns) {
+        TileGrid blockMap = new TileGrid(columns, COLUMN_HEIGHT + 1);
+        for (int x = 0; x < columns; x++) {
+            blockMap.put(new Coords(x, COLUMN_HEIGHT), new PermanentBlock());
+        }
+        return blockMap;
+    }
+
+    // Places columns of blocks on the floor the way BuildManager does and returns the top tile of every column
+    private static List<Coords> placeBlocks(MapManager mapManager, int columns, HashMap<Coords, MockBlock> placedBlocks) {
+        List<Coords> topTiles = new ArrayList<>();
+        for (int x = 0; x < columns; x++) {
+            for (int y = COLUMN_HEIGHT - 1; y >= 0; y--) {
+                Coords tile = new Coords(x, y);
+                MockBlock block = new MockBlock(tile);
+                mapManager.addBlockToMap(tile, block);
+                block.addObserver(mapManager);
+                if (placedBlocks != null) placedBlocks.put(tile, block);
+            }
+            topTiles.add(new Coords(x, 0));
+        }
+        return topTiles;
+    }
+}
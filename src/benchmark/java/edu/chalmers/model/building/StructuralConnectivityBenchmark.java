@@ -0,0 +1,130 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+
+import java.util.*;
+
+/**
+ * Benchmark comparing StructuralConnectivity with the full map DFS MapManager used before it.
+ */
+public class StructuralConnectivityBenchmark {
+    private static final int MAP_WIDTH = 220;
+    private static final int MAP_HEIGHT = 60;
+    private static final int REMOVALS = 25;
+
+    public static void main(String[] args) throws InterruptedException {
+        // The old DFS is recursive and needs a big stack on maps this size
+        Thread thread = new Thread(null, StructuralConnectivityBenchmark::run, "benchmark", 1L << 30);
+        thread.start();
+        thread.join();
+    }
+
+    private static void run() {
+        Random random = new Random(367);
+        HashMap<Coords, IBlock> map = generateMap(random);
+        new LegacyLevitationDFS(map).removeAllLevitatingTiles();    // A real map never contains levitating blocks
+        List<Coords> removals = pickRemovals(map, random);
+
+        int blocks = 0;
+        for (IBlock block : map.values()) if (block.canBeDestroyed()) blocks++;
+        System.out.println("Map " + MAP_WIDTH + "x" + MAP_HEIGHT + " with " + blocks + " destroyable blocks, " + REMOVALS + " removals");
+
+        HashMap<Coords, IBlock> dfsMap = new HashMap<>(map);
+        long start = System.nanoTime();
+        for (Coords tile : removals) {
+            dfsMap.remove(tile);
+            new LegacyLevitationDFS(dfsMap).removeAllLevitatingTiles();
+        }
+        long dfsTime = System.nanoTime() - start;
+
+        TileGrid grid = new TileGrid(MAP_WIDTH, MAP_HEIGHT);
+        for (Map.Entry<Coords, IBlock> entry : map.entrySet()) grid.put(entry.getKey(), entry.getValue());
+        StructuralConnectivity connectivity = new StructuralConnectivity(grid);
+        start = System.nanoTime();
+        for (Coords tile : removals) {
+            int index = grid.indexOf(tile);
+            if (grid.remove(index) != null) {
+                int levitatingTiles = connectivity.tileRemoved(index);
+                for (int i = 0; i < levitatingTiles; i++) grid.remove(connectivity.getUnsupportedTile(i));
+            }
+        }
+        long connectivityTime = System.nanoTime() - start;
+
+        System.out.println("Same result: " + dfsMap.keySet().equals(grid.asMap().keySet()));
+        System.out.printf("Full map DFS:            %10.3f ms per removal%n", dfsTime / 1e6 / REMOVALS);
+        System.out.printf("StructuralConnectivity:  %10.3f ms per removal%n", connectivityTime / 1e6 / REMOVALS);
+    }
+
+    // Permanent ground at the bottom, random player built structure above it
+    private static HashMap<Coords, IBlock> generateMap(Random random) {
+        HashMap<Coords, IBlock> map = new HashMap<>();
+        for (int x = 0; x < MAP_WIDTH; x++) {
+            map.put(new Coords(x, MAP_HEIGHT - 1), new PermanentBlock());
+            for (int y = 0; y < MAP_HEIGHT - 1; y++) {
+                if (random.nextDouble() < 0.8) map.put(new Coords(x, y), new MockBlock());
+            }
+        }
+        return map;
+    }
+
+    private static List<Coords> pickRemovals(HashMap<Coords, IBlock> map, Random random) {
+        List<Coords> removals = new ArrayList<>();
+        while (removals.size() < REMOVALS) {
+            Coords tile = new Coords(random.nextInt(MAP_WIDTH), MAP_HEIGHT - 2 - random.nextInt(5));    // Near the ground so collapses happen
+            if (map.get(tile) != null) removals.add(tile);
+        }
+        return removals;
+    }
+
+    /* The levitation check MapManager used before StructuralConnectivity */
+    private static class LegacyLevitationDFS {
+        private final HashMap<Coords, IBlock> blockMap;
+
+        LegacyLevitationDFS(HashMap<Coords, IBlock> blockMap) {
+            this.blockMap = blockMap;
+        }
+
+        void removeAllLevitatingTiles() {
+            HashSet<Coords> levitatingTiles = new HashSet<>();
+
+            for (Coords tile : blockMap.keySet()) {
+                if (!levitatingTiles.contains(tile) && isTileLevitatingDFS(tile, new HashSet<>())) {
+                    levitatingTiles.addAll(getConnectedTiles(tile, new HashSet<>()));
+                }
+            }
+
+            for (Coords levitatingTile : levitatingTiles) {
+                blockMap.remove(levitatingTile);
+            }
+        }
+
+        private boolean isTileLevitatingDFS(Coords tile, HashSet<Coords> visitedTiles) {
+            if (!blockMap.get(tile).canBeDestroyed()) return false;
+            visitedTiles.add(tile);
+
+            for (Coords neighbour : getPopulatedNeighbourTiles(tile)) {
+                if (!visitedTiles.contains(neighbour) && !isTileLevitatingDFS(neighbour, visitedTiles)) return false;
+            }
+            return true;
+        }
+
+        private HashSet<Coords> getConnectedTiles(Coords tile, HashSet<Coords> connectedTiles) {
+            connectedTiles.add(tile);
+            for (Coords neighbour : getPopulatedNeighbourTiles(tile)) {
+                if (!connectedTiles.contains(neighbour)) getConnectedTiles(neighbour, connectedTiles);
+            }
+            return connectedTiles;
+        }
+
+        private List<Coords> getPopulatedNeighbourTiles(Coords tile) {
+            List<Coords> populatedNeighbourTiles = new ArrayList<>();
+            for (Coords coords : Arrays.asList(new Coords(tile.getX(), tile.getY() - 1), new Coords(tile.getX() + 1, tile.getY()),
+                    new Coords(tile.getX(), tile.getY() + 1), new Coords(tile.getX() - 1, tile.getY()))) {
+                if (blockMap.get(coords) != null) populatedNeighbourTiles.add(coords);
+            }
+            return populatedNeighbourTiles;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+
+import java.util.*;
+
+/**
+ * Benchmark comparing a HashMap<Coords, IBlock> with TileGrid on the paths that probe tiles the most:
+ * flooding connected blocks (levitation check) and checking the tiles around the player (reachable tiles).
+ */
+public class TileGridBenchmark {
+    private static final int MAP_WIDTH = 220;
+    private static final int MAP_HEIGHT = 60;
+    private static final int BUILD_RANGE = 3;
+    private static final int ROUNDS = 20;
+
+    private static int sink = 0;   // Results are summed here so the JIT can't remove the work
+
+    public static void main(String[] args) {
+        Random random = new Random(367);
+        HashMap<Coords, IBlock> map = new HashMap<>();
+        TileGrid grid = new TileGrid(MAP_WIDTH, MAP_HEIGHT);
+        for (int x = 0; x < MAP_WIDTH; x++) {
+            map.put(new Coords(x, MAP_HEIGHT - 1), new PermanentBlock());
+            for (int y = 0; y < MAP_HEIGHT - 1; y++) {
+                if (random.nextDouble() < 0.8) map.put(new Coords(x, y), new MockBlock());
+            }
+        }
+        for (Map.Entry<Coords, IBlock> entry : map.entrySet()) grid.put(entry.getKey(), entry.getValue());
+        System.out.println("Map " + MAP_WIDTH + "x" + MAP_HEIGHT + " with " + map.size() + " blocks");
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            floodHashMap(map);
+            floodGrid(grid);
+            reachableHashMap(map);
+            reachableGrid(grid);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += floodHashMap(map);
+        long floodMapTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += floodGrid(grid);
+        long floodGridTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += reachableHashMap(map);
+        long reachableMapTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += reachableGrid(grid);
+        long reachableGridTime = System.nanoTime() - start;
+
+        System.out.printf("Levitation flood, whole map:      HashMap %8.3f ms, TileGrid %8.3f ms%n", floodMapTime / 1e6 / ROUNDS, floodGridTime / 1e6 / ROUNDS);
+        System.out.printf("Reachable tiles, every position:  HashMap %8.3f ms, TileGrid %8.3f ms%n", reachableMapTime / 1e6 / ROUNDS, reachableGridTime / 1e6 / ROUNDS);
+        System.out.println("(" + sink + ")");
+    }
+
+    // Flood fills every destroyable component and counts its indestructible neighbours, like StructuralConnectivity.rebuild
+    private static int floodHashMap(HashMap<Coords, IBlock> map) {
+        Set<Coords> visited = new HashSet<>();
+        Deque<Coords> frontier = new ArrayDeque<>();
+        int anchors = 0;
+        for (Map.Entry<Coords, IBlock> entry : map.entrySet()) {
+            if (!entry.getValue().canBeDestroyed() || !visited.add(entry.getKey())) continue;
+            frontier.add(entry.getKey());
+            while (!frontier.isEmpty()) {
+                Coords tile = frontier.poll();
+                for (Coords neighbour : Arrays.asList(new Coords(tile.getX(), tile.getY() - 1), new Coords(tile.getX() + 1, tile.getY()),
+                        new Coords(tile.getX(), tile.getY() + 1), new Coords(tile.getX() - 1, tile.getY()))) {
+                    IBlock block = map.get(neighbour);
+                    if (block == null) continue;
+                    if (!block.canBeDestroyed()) anchors++;
+                    else if (visited.add(neighbour)) frontier.add(neighbour);
+                }
+            }
+        }
+        return anchors;
+    }
+
+    private static int floodGrid(TileGrid grid) {
+        boolean[] visited = new boolean[grid.getTileCount()];
+        int[] frontier = new int[grid.getTileCount()];
+        int anchors = 0;
+        for (int start = 0; start < grid.getTileCount(); start++) {
+            IBlock startBlock = grid.get(start);
+            if (startBlock == null || !startBlock.canBeDestroyed() || visited[start]) continue;
+            int head = 0;
+            int tail = 0;
+            visited[start] = true;
+            frontier[tail++] = start;
+            while (head < tail) {
+                int tile = frontier[head++];
+                for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                    int neighbour = grid.neighbourOf(tile, direction);
+                    IBlock block = grid.get(neighbour);
+                    if (block == null) continue;
+                    if (!block.canBeDestroyed()) anchors++;
+                    else if (!visited[neighbour]) {
+                        visited[neighbour] = true;
+                        frontier[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        return anchors;
+    }
+
+    // For every player position, counts the empty and connected tiles in build range like BuildManager does
+    private static int reachableHashMap(HashMap<Coords, IBlock> map) {
+        int buildable = 0;
+        for (int px = 0; px < MAP_WIDTH; px++) {
+            for (int py = 0; py < MAP_HEIGHT; py++) {
+                for (int x = px - BUILD_RANGE; x <= px + BUILD_RANGE; x++) {
+                    for (int y = py - BUILD_RANGE; y <= py + BUILD_RANGE; y++) {
+                        Coords tile = new Coords(x, y);
+                        if (map.get(tile) == null && (map.containsKey(new Coords(x, y - 1)) || map.containsKey(new Coords(x + 1, y))
+                                || map.containsKey(new Coords(x, y + 1)) || map.containsKey(new Coords(x - 1, y)))) {
+                            buildable++;
+                        }
+                    }
+                }
+            }
+        }
+        return buildable;
+    }
+
+    private static int reachableGrid(TileGrid grid) {
+        int buildable = 0;
+        for (int px = 0; px < MAP_WIDTH; px++) {
+            for (int py = 0; py < MAP_HEIGHT; py++) {
+                for (int x = px - BUILD_RANGE; x <= px + BUILD_RANGE; x++) {
+                    for (int y = py - BUILD_RANGE; y <= py + BUILD_RANGE; y++) {
+                        if (grid.get(x, y) == null && (grid.get(x, y - 1) != null || grid.get(x + 1, y) != null
+                                || grid.get(x, y + 1) != null || grid.get(x - 1, y) != null)) {
+                            buildable++;
+                        }
+                    }
+                }
+            }
+        }
+        return buildable;
+    }
+}
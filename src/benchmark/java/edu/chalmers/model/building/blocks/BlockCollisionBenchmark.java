@@ -0,0 +1,129 @@
+package edu.chalmers.model.building.blocks;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.EntityBuilder;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import com.almasb.fxgl.physics.PhysicsComponent;
+import com.almasb.fxgl.physics.PhysicsWorld;
+import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
+import com.almasb.fxgl.physics.box2d.dynamics.FixtureDef;
+import edu.chalmers.model.EntityType;
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.BlockMesh;
+import edu.chalmers.model.building.IBlockMeshObserver;
+import edu.chalmers.model.building.TileGrid;
+import javafx.geometry.Point2D;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of the physics step and raycasts with one body per player built block compared to the merged bodies
+ * of a BlockMesh. A 20x10 wall is built and enemies are dropped on and next to it, the physics world is stepped
+ * without a running game.
+ */
+public class BlockCollisionBenchmark {
+    private static final int TILE_SIZE = 60;
+    private static final int MAP_WIDTH = 32;
+    private static final int MAP_HEIGHT = 18;
+    private static final int WALL_X = 6;
+    private static final int WALL_Y = 7;
+    private static final int WALL_WIDTH = 20;
+    private static final int WALL_HEIGHT = 10;
+    private static final int ENEMIES = 100;
+    private static final int STEPS = 600;
+    private static final int RAYCASTS = 20_000;
+
+    private static int sink = 0;   // Results are summed here so the JIT can't remove the work
+
+    public static void main(String[] args) {
+        for (int warmup = 0; warmup < 2; warmup++) {
+            run(false, false);
+            run(true, false);
+        }
+        run(false, true);
+        run(true, true);
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void run(boolean meshed, boolean print) {
+        GameWorld gameWorld = new GameWorld();
+        PhysicsWorld physicsWorld = new PhysicsWorld(MAP_HEIGHT * TILE_SIZE, 50);
+        gameWorld.addWorldListener(physicsWorld);
+
+        gameWorld.addEntity(createStatic(EntityType.PLATFORM, 0, MAP_HEIGHT - 1, MAP_WIDTH, 1));   // Ground
+        int bodies;
+        if (meshed) {
+            TileGrid grid = new TileGrid(MAP_WIDTH, MAP_HEIGHT);
+            for (int y = WALL_Y; y < WALL_Y + WALL_HEIGHT; y++) {
+                for (int x = WALL_X; x < WALL_X + WALL_WIDTH; x++) grid.set(grid.indexOf(x, y), new MockBlock());
+            }
+            int[] rects = {0};
+            IBlockMeshObserver observer = (List<BlockMesh.Rect> removedRects, List<BlockMesh.Rect> addedRects) -> {
+                for (BlockMesh.Rect rect : addedRects) {
+                    gameWorld.addEntity(createStatic(EntityType.BLOCK, rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight()));
+                    rects[0]++;
+                }
+            };
+            new BlockMesh(grid, observer).update();
+            bodies = rects[0];
+        } else {
+            for (int y = WALL_Y; y < WALL_Y + WALL_HEIGHT; y++) {
+                for (int x = WALL_X; x < WALL_X + WALL_WIDTH; x++) gameWorld.addEntity(createStatic(EntityType.BLOCK, x, y, 1, 1));
+            }
+            bodies = WALL_WIDTH * WALL_HEIGHT;
+        }
+
+        Random random = new Random(11);
+        for (int i = 0; i < ENEMIES; i++) {
+            gameWorld.addEntity(createEnemy(random.nextDouble() * (MAP_WIDTH - 1) * TILE_SIZE, random.nextDouble() * WALL_Y * TILE_SIZE));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) {
+            gameWorld.onUpdate(1.0 / 60);
+            physicsWorld.onUpdate(1.0 / 60);
+        }
+        long stepTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < RAYCASTS; i++) {
+            double y = (WALL_Y + random.nextDouble() * WALL_HEIGHT) * TILE_SIZE;
+            if (physicsWorld.raycast(new Point2D(0, y), new Point2D(MAP_WIDTH * TILE_SIZE, y)).getEntity().isPresent()) sink++;
+        }
+        long raycastTime = System.nanoTime() - start;
+
+        if (print) {
+            System.out.printf("%-22s %4d wall bodies, physics step %7.4f ms, raycast %7.4f us%n",
+                    meshed ? "Merged (BlockMesh):" : "One body per block:", bodies, stepTime / 1e6 / STEPS, raycastTime / 1e3 / RAYCASTS);
+        }
+    }
+
+    private static Entity createStatic(EntityType type, int tileX, int tileY, int width, int height) {
+        PhysicsComponent physics = new PhysicsComponent();
+        physics.setBodyType(BodyType.STATIC);
+        physics.setFixtureDef(new FixtureDef().friction(0.0f));
+        return new EntityBuilder()
+                .type(type)
+                .at(tileX * TILE_SIZE, tileY * TILE_SIZE)
+                .bbox(new HitBox(BoundingShape.box(width * TILE_SIZE, height * TILE_SIZE)))
+                .with(physics)
+                .with(new CollidableComponent(true))
+                .build();
+    }
+
+    private static Entity createEnemy(double x, double y) {
+        PhysicsComponent physics = new PhysicsComponent();
+        physics.setBodyType(BodyType.DYNAMIC);
+        return new EntityBuilder()
+                .type(EntityType.ENEMY)
+                .at(x, y)
+                .bbox(new HitBox(BoundingShape.box(40, 50)))
+                .with(physics)
+                .with(new CollidableComponent(true))
+                .build();
+    }
+}
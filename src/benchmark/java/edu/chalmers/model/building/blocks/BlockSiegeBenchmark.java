@@ -0,0 +1,87 @@
+package edu.chalmers.model.building.blocks;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import javafx.geometry.Point2D;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static edu.chalmers.FXGLTest.waitForRunLater;
+
+/**
+ * Benchmark of a mass siege on blocks: every frame every block takes damage until it is almost dead. Compares the
+ * old way of changing a block's texture (loading a new texture and rebuilding the view every hit below 70 health)
+ * with the shared BlockTextures images swapped on the existing view. Reports frame time and allocated bytes.
+ */
+public class BlockSiegeBenchmark {
+    private static final int BLOCKS = 500;
+    private static final int FRAMES = 99;     // Blocks have 100 health and take 1 damage per frame
+
+    public static void main(String[] args) throws InterruptedException {
+        FXGLTest.initialize();
+        waitForRunLater(() -> {
+            for (int round = 0; round < 2; round++) {   // First round is warmup
+                boolean print = round == 1;
+                siege(true, print);
+                siege(false, print);
+            }
+        });
+        FXGLTest.deInitialize();
+        System.exit(0);
+    }
+
+    private static void siege(boolean legacy, boolean print) {
+        FXGLTest.clearAllEntities();
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < BLOCKS; i++) {
+            Block block = new Block(new Point2D((i % 32) * 60, (i / 32) * 60), false);
+            block.setTesting(true);
+            blocks.add(block);
+        }
+        List<Entity> entities = FXGL.getGameWorld().getEntities();
+        int[] legacyHealth = new int[BLOCKS];
+        Arrays.fill(legacyHealth, 100);
+
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            for (int i = 0; i < BLOCKS; i++) {
+                if (legacy) {
+                    legacyHealth[i]--;
+                    legacyCheckHealth(entities.get(i), legacyHealth[i]);
+                } else {
+                    blocks.get(i).inflictDamage(1);
+                }
+            }
+        }
+        long time = System.nanoTime() - start;
+        long allocated = getAllocatedBytes() - allocatedBefore;
+
+        if (print) {
+            System.out.printf("%-26s %8.3f ms per frame, %10.1f KB allocated per frame%n",
+                    legacy ? "Load texture every hit:" : "Shared BlockTextures:", time / 1e6 / FRAMES, allocated / 1024.0 / FRAMES);
+        }
+    }
+
+    // The texture change of Block before BlockTextures
+    private static void legacyCheckHealth(Entity entity, int health) {
+        if (health <= 30) {
+            legacyChangeTexture(entity, "BuildingBlockDamageStage2.png");
+        } else if (health <= 70) {
+            legacyChangeTexture(entity, "BuildingBlockDamageStage1.png");
+        }
+    }
+
+    private static void legacyChangeTexture(Entity entity, String textureName) {
+        entity.getViewComponent().clearChildren();
+        entity.getViewComponent().addChild(FXGL.getAssetLoader().loadTexture(textureName));
+    }
+
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,140 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.app.GameApplication;
+import com.almasb.fxgl.app.GameSettings;
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.model.EntityType;
+import edu.chalmers.model.GenericPlatformer;
+import edu.chalmers.model.PlayerComponent;
+import edu.chalmers.model.enemy.EnemyFactory;
+import edu.chalmers.model.enemy.StatMultiplier;
+import edu.chalmers.utilities.Constants;
+import javafx.geometry.Point2D;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.almasb.fxgl.dsl.FXGL.*;
+
+/**
+ * Simulation of the Enemy AI in a real level. Loads a level, spawns a wave of enemies at the enemy spawn points and
+ * steps the game timer, the game world and the physics world at a fixed time step as fast as possible, with a player
+ * that stands still or runs and jumps on a script. Prints ticks per second, the average and 99th percentile tick
+ * time and the time of every stage of the Enemy AI.
+ * <p>
+ * Starts JavaFX on the headless Monocle platform so no display is needed, unless started with -Dsimulation.window=true.
+ * Arguments: [enemies] [ticks] [stationary|scripted] [level], e.g.
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=edu.chalmers.model.enemy.ai.EnemyAISimulation -Dbenchmark.args="200 3000 scripted level1.tmx"
+ */
+public class EnemyAISimulation extends GameApplication {
+    private static final double TIME_STEP = 1.0 / 60;
+    private static final String[] ENEMY_TYPES = {"zombie", "rex", "blob"};
+
+    private static int enemyAmount = 200;
+    private static int ticks = 3000;
+    private static boolean scriptedPlayer = true;
+    private static String levelName = "level1.tmx";
+
+    private GenericPlatformer game;
+    private boolean simulated = false;
+
+    public static void main(String[] args) {
+        if (args.length > 0) enemyAmount = Integer.parseInt(args[0]);
+        if (args.length > 1) ticks = Integer.parseInt(args[1]);
+        if (args.length > 2) scriptedPlayer = args[2].equalsIgnoreCase("scripted");
+        if (args.length > 3) levelName = args[3];
+
+        if (!Boolean.getBoolean("simulation.window")) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+            System.setProperty("prism.text", "t2k");
+            System.setProperty("java.awt.headless", "true");
+        }
+        launch(EnemyAISimulation.class, args);
+    }
+
+    @Override
+    protected void initSettings(GameSettings gameSettings) {
+        gameSettings.setWidth(Constants.GAME_WIDTH);
+        gameSettings.setHeight(Constants.GAME_HEIGHT);
+        gameSettings.setTitle("Enemy AI Simulation");
+        gameSettings.setIntroEnabled(false);
+        gameSettings.setMainMenuEnabled(false);
+        gameSettings.setGameMenuEnabled(false);
+    }
+
+    @Override
+    protected void initGame() {
+        game = new GenericPlatformer();
+        game.initializeLevel(levelName);
+
+        Random random = new Random(367);
+        Entity player = game.getPlayer();
+        List<Entity> spawnPoints = getGameWorld().getEntitiesByType(EntityType.ENEMYSPAWNPOINT);
+        for (int i = 0; i < enemyAmount; i++) {
+            Point2D spawnPoint = spawnPoints.get(i % spawnPoints.size()).getPosition();
+            double x = spawnPoint.getX() + random.nextInt(121) - 60;
+            EnemyFactory.getInstance().createEnemy(ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)], x, spawnPoint.getY(), player, new StatMultiplier());
+        }
+    }
+
+    // The whole simulation runs in the first frame, on the game thread, the engine's own loop waits until it is done
+    @Override
+    protected void onUpdate(double tpf) {
+        if (simulated) {
+            return;
+        }
+        simulated = true;
+
+        PlayerComponent player = game.getPlayerComponent();
+        long[] tickNanos = new long[ticks];
+        AIStageProfiler.reset();
+
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            long tickStart = System.nanoTime();
+            if (scriptedPlayer) {
+                movePlayer(player, tick * TIME_STEP);
+            }
+            getGameTimer().update(TIME_STEP);
+            getGameWorld().onUpdate(TIME_STEP);
+            getPhysicsWorld().onUpdate(TIME_STEP);
+            game.onUpdate(TIME_STEP);
+            tickNanos[tick] = System.nanoTime() - tickStart;
+        }
+        long total = System.nanoTime() - start;
+
+        printReport(tickNanos, total);
+        System.exit(0);
+    }
+
+    // Runs one way for two seconds, then the other way, and jumps every three seconds
+    private static void movePlayer(PlayerComponent player, double time) {
+        if ((int) (time / 2) % 2 == 0) {
+            player.moveRight();
+        } else {
+            player.moveLeft();
+        }
+        if (time % 3 < TIME_STEP) {
+            player.jump();
+        }
+    }
+
+    private void printReport(long[] tickNanos, long total) {
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+        double average = total / 1e6 / ticks;
+        double p99 = sorted[Math.min(ticks - 1, (int) Math.ceil(ticks * 0.99) - 1)] / 1e6;
+
+        System.out.printf("Level %s, %d enemies (%d left), %d ticks, %s player%n", levelName, enemyAmount,
+                EnemyAIManager.getInstance().getEnemyCount(), ticks, scriptedPlayer ? "scripted" : "stationary");
+        System.out.printf("%.1f ticks/s, average tick %.4f ms, p99 tick %.4f ms%n", ticks / (total / 1e9), average, p99);
+        for (AIStageProfiler.Stage stage : AIStageProfiler.Stage.values()) {
+            long nanos = AIStageProfiler.getNanos(stage);
+            System.out.printf("%-14s %10.2f ms total, %8.4f ms per tick, %8d runs%n", stage, nanos / 1e6, nanos / 1e6 / ticks,
+                    AIStageProfiler.getCount(stage));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package edu.chalmers.model.enemy.ai;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the enemies' decision stage at 100, 1000 and 10000 enemies, once with a new EnemySnapshot object per
+ * Enemy every frame and once with DecisionColumns, with and without filling in the inputs.
+ */
+public class EnemyCoreBenchmark {
+    private static final int[] WAVE_SIZES = {100, 1000, 10000};
+    private static final int ROUNDS = 500;
+
+    public static void main(String[] args) {
+        Random random = new Random(367);
+
+        for (int enemies : WAVE_SIZES) {
+            EnemySnapshot[] sources = new EnemySnapshot[enemies];
+            for (int i = 0; i < enemies; i++) {
+                sources[i] = TestDecisionPhase.randomSnapshot(random);
+            }
+            EnemySnapshot[] snapshots = new EnemySnapshot[enemies];
+            DecisionColumns columns = new DecisionColumns();
+            EnemyDecision[] decisions = new EnemyDecision[enemies];
+
+            for (int warmup = 0; warmup < ROUNDS; warmup++) {
+                objectFrame(sources, snapshots, decisions, enemies);
+                columnFrame(sources, columns, decisions, enemies);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) objectFrame(sources, snapshots, decisions, enemies);
+            long objectTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) columnFrame(sources, columns, decisions, enemies);
+            long columnTime = System.nanoTime() - start;
+
+            // The decisions alone, from inputs that are already filled in
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) DecisionPhase.decideAll(snapshots, decisions, enemies);
+            long objectDecideTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) columns.decideAll(decisions, enemies);
+            long columnDecideTime = System.nanoTime() - start;
+
+            System.out.printf("%6d enemies:  objects %8.4f ms (decide %8.4f ms), columns %8.4f ms (decide %8.4f ms)%n", enemies,
+                    objectTime / 1e6 / ROUNDS, objectDecideTime / 1e6 / ROUNDS, columnTime / 1e6 / ROUNDS, columnDecideTime / 1e6 / ROUNDS);
+        }
+    }
+
+    // A new snapshot per Enemy, then one decision per snapshot
+    private static void objectFrame(EnemySnapshot[] sources, EnemySnapshot[] snapshots, EnemyDecision[] decisions, int enemies) {
+        for (int i = 0; i < enemies; i++) {
+            EnemySnapshot s = sources[i];
+            snapshots[i] = new EnemySnapshot(s.isPathfindingOverride(), s.isTargetToLeft(), s.isTargetToRight(),
+                    s.isPlayerReached(), s.isNearbyEnemyPlayerReached(), s.isFollowFlowField(), s.getFlowFieldMoveX(),
+                    s.isFlowFieldJump(), s.isJumpAllowed(), s.isAirborne(), s.hasJumpRaycasts(), s.isPlayerMiddleYAbove(),
+                    s.isPlayerOnGround(), s.getHigherHorizontalHit(), s.getHorizontalHit(), s.getActiveDownwardHit(),
+                    s.hasEntityRaycast(), s.getEntityHit());
+        }
+        DecisionPhase.decideAll(snapshots, decisions, enemies);
+    }
+
+    // Rows filled in place, then one loop over the columns
+    private static void columnFrame(EnemySnapshot[] sources, DecisionColumns columns, EnemyDecision[] decisions, int enemies) {
+        for (int i = 0; i < enemies; i++) {
+            columns.set(i, sources[i]);
+        }
+        columns.decideAll(decisions, enemies);
+    }
+}
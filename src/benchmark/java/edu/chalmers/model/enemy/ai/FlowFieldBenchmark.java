@@ -0,0 +1,70 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.utilities.Constants;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the flow field on a map of the game's size with random platforms and player built blocks: how long a
+ * recalculation takes when the Player changes tile, and how long it takes for every Enemy in a large wave to look up
+ * its hint.
+ */
+public class FlowFieldBenchmark {
+    private static final int ENEMIES = 1000;
+    private static final int ROUNDS = 200;
+
+    private static int sink = 0;   // Results are summed here so the JIT can't remove the work
+
+    public static void main(String[] args) {
+        Random random = new Random(367);
+        int width = Constants.TILEMAP_WIDTH;
+        int height = Constants.TILEMAP_HEIGHT;
+        TileGrid grid = new TileGrid(width, height);
+        for (int x = 0; x < width; x++) {
+            grid.set(grid.indexOf(x, height - 1), new PermanentBlock());
+            for (int y = 2; y < height - 1; y++) {
+                double r = random.nextDouble();
+                if (r < 0.08) grid.set(grid.indexOf(x, y), new PermanentBlock());
+                else if (r < 0.16) grid.set(grid.indexOf(x, y), new MockBlock());
+            }
+        }
+
+        int[] enemyTileX = new int[ENEMIES];
+        int[] enemyTileY = new int[ENEMIES];
+        for (int i = 0; i < ENEMIES; i++) {
+            enemyTileX[i] = random.nextInt(width);
+            enemyTileY[i] = random.nextInt(height - 1);
+        }
+
+        FlowField flowField = new FlowField(grid, 10);
+        for (int warmup = 0; warmup < ROUNDS; warmup++) {
+            flowField.update(warmup % width, 1);
+            sink += lookUp(flowField, enemyTileX, enemyTileY);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) flowField.update((i + 1) % width, 1);      // A new Player tile every round
+        long updateTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += lookUp(flowField, enemyTileX, enemyTileY);
+        long lookUpTime = System.nanoTime() - start;
+
+        System.out.println("Map " + width + "x" + height + ", " + ENEMIES + " enemies");
+        System.out.printf("Recalculation:            %8.3f ms%n", updateTime / 1e6 / ROUNDS);
+        System.out.printf("Lookup for every Enemy:   %8.3f ms%n", lookUpTime / 1e6 / ROUNDS);
+        System.out.println("(" + sink + ")");
+    }
+
+    private static int lookUp(FlowField flowField, int[] tileX, int[] tileY) {
+        int sum = 0;
+        for (int i = 0; i < tileX.length; i++) {
+            sum += flowField.getMoveX(tileX[i], tileY[i]);
+            if (flowField.isJump(tileX[i], tileY[i])) sum++;
+        }
+        return sum;
+    }
+}
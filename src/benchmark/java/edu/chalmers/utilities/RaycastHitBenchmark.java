@@ -0,0 +1,83 @@
+package edu.chalmers.utilities;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.model.EntityType;
+import javafx.geometry.Point2D;
+
+import java.util.Random;
+
+/**
+ * Benchmark of raycast hit classification, the old check that searched the Entity's toString() for the type name
+ * compared to RaycastCalculations.checkRaycastHit reading the EntityType. Most enemy raycasts hit nothing, so the
+ * raycasts are a mix of misses and hits on the types the AI checks for.
+ */
+public class RaycastHitBenchmark {
+    private static final int RAYCASTS = 1024;
+    private static final int ROUNDS = 20_000;
+    private static final double MISS_RATE = 0.7;
+    private static final EntityType[] CHECKED_TYPES = {EntityType.PLATFORM, EntityType.BLOCK, EntityType.ENEMY, EntityType.PLAYER};
+
+    private static int sink = 0;   // Results are summed here so the JIT can't remove the work
+
+    public static void main(String[] args) {
+        RaycastResult[] raycasts = createRaycasts();
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            runStringCheck(raycasts);
+            runTypeCheck(raycasts);
+        }
+        long stringTime = runStringCheck(raycasts);
+        long typeTime = runTypeCheck(raycasts);
+
+        long checks = (long) RAYCASTS * ROUNDS * CHECKED_TYPES.length;
+        System.out.printf("%-28s %7.2f ns per check%n", "toString().contains:", (double) stringTime / checks);
+        System.out.printf("%-28s %7.2f ns per check%n", "EntityType (checkRaycastHit):", (double) typeTime / checks);
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static long runStringCheck(RaycastResult[] raycasts) {
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (RaycastResult raycast : raycasts) {
+                for (EntityType type : CHECKED_TYPES) {
+                    if (checkRaycastHitByString(raycast, type)) sink++;
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runTypeCheck(RaycastResult[] raycasts) {
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (RaycastResult raycast : raycasts) {
+                for (EntityType type : CHECKED_TYPES) {
+                    if (RaycastCalculations.checkRaycastHit(raycast, type)) sink++;
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // The hit check RaycastCalculations used before
+    private static boolean checkRaycastHitByString(RaycastResult raycast, EntityType hit) {
+        String raycastHitString = raycast.getEntity().toString();
+        return raycastHitString.contains(hit.toString());
+    }
+
+    private static RaycastResult[] createRaycasts() {
+        Random random = new Random(13);
+        RaycastResult[] raycasts = new RaycastResult[RAYCASTS];
+        for (int i = 0; i < RAYCASTS; i++) {
+            if (random.nextDouble() < MISS_RATE) {
+                raycasts[i] = new RaycastResult(null, null);
+            } else {
+                Entity entity = new Entity();
+                entity.setType(CHECKED_TYPES[random.nextInt(CHECKED_TYPES.length)]);
+                raycasts[i] = new RaycastResult(entity, new Point2D(i, i));
+            }
+        }
+        return raycasts;
+    }
+}
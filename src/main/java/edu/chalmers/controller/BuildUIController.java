@@ -1,9 +1,11 @@
 package edu.chalmers.controller;
 
+import com.almasb.fxgl.entity.Entity;
 import edu.chalmers.model.GenericPlatformer;
+import edu.chalmers.model.building.ReachableTilesCache;
 import edu.chalmers.utilities.CoordsCalculations;
 import edu.chalmers.utilities.EntityPos;
-import edu.chalmers.view.game.BuildView;
+import edu.chalmers.view.game.IBuildOverlay;
 
 import static com.almasb.fxgl.dsl.FXGL.getInput;
 
@@ -14,21 +16,40 @@ import static com.almasb.fxgl.dsl.FXGL.getInput;
  */
 public class BuildUIController {
     GenericPlatformer game;
-    BuildView buildView;
+    IBuildOverlay buildView;
+    private int lastMouseTileX = Integer.MIN_VALUE;
+    private int lastMouseTileY = Integer.MIN_VALUE;
 
-    public BuildUIController(GenericPlatformer game, BuildView buildView) {
+    public BuildUIController(GenericPlatformer game, IBuildOverlay buildView) {
         this.game = game;
         this.buildView = buildView;
     }
 
     /**
      * Method updates the build ui overlay, (will be green box if inside build range for example)
+     * The view is only updated when the player tile, the mouse tile or the map has changed.
      */
     public void updateBuildTileUI() {
-        buildView.updateTileOverlay(game.getBuildManager().getEmptyReachableTiles(CoordsCalculations.posToTile(EntityPos.getPosition(game.getPlayer()))));
+        Entity player = game.getPlayer();
+        int playerTileX = CoordsCalculations.posToTileX(EntityPos.getMiddleX(player));
+        int playerTileY = CoordsCalculations.posToTileY(EntityPos.getMiddleY(player));
 
-        if (game.getBuildManager().isInBuildRange(CoordsCalculations.posToTile(getInput().getMousePositionWorld()), CoordsCalculations.posToTile(EntityPos.getPosition(game.getPlayer())))) {
-            buildView.showBuildUI(getInput().getMousePositionWorld(), game.getBuildManager().possibleToPlaceBlockOnPos(getInput().getMousePositionWorld(), EntityPos.getPosition(game.getPlayer())));
+        boolean reachableTilesChanged = game.getBuildManager().updateReachableTiles(playerTileX, playerTileY);
+        if (reachableTilesChanged) {
+            ReachableTilesCache reachableTiles = game.getBuildManager().getReachableTilesCache();
+            buildView.updateTileOverlay(reachableTiles.getTilesToShow(), reachableTiles.getTilesToHide());
+        }
+
+        int mouseTileX = CoordsCalculations.posToTileX(getInput().getMouseXWorld());
+        int mouseTileY = CoordsCalculations.posToTileY(getInput().getMouseYWorld());
+        if (!reachableTilesChanged && mouseTileX == lastMouseTileX && mouseTileY == lastMouseTileY) {
+            return;     // Nothing that affects the build box has changed
+        }
+        lastMouseTileX = mouseTileX;
+        lastMouseTileY = mouseTileY;
+
+        if (game.getBuildManager().isInBuildRange(CoordsCalculations.posToTile(getInput().getMousePositionWorld()), CoordsCalculations.posToTile(EntityPos.getPosition(player)))) {
+            buildView.showBuildUI(getInput().getMousePositionWorld(), game.getBuildManager().possibleToPlaceBlockOnPos(getInput().getMousePositionWorld(), EntityPos.getPosition(player)));
         } else {
             buildView.hideBuildUI();
         }
@@ -13,11 +13,14 @@ import edu.chalmers.controller.main.PlayMenuController;
 import edu.chalmers.controller.main.SettingsMenuController;
 import edu.chalmers.model.GenericPlatformer;
 import edu.chalmers.model.IObserver;
+import edu.chalmers.model.weapon.Weapon;
 import edu.chalmers.utilities.Constants;
+import edu.chalmers.view.game.BuildCanvasView;
 import edu.chalmers.view.game.BuildView;
 import edu.chalmers.view.game.ExitMenu;
 import edu.chalmers.view.game.GameOverView;
 import edu.chalmers.view.game.GameUI;
+import edu.chalmers.view.game.IBuildOverlay;
 import edu.chalmers.view.main.MainMenu;
 import edu.chalmers.view.main.PlayMenu;
 import edu.chalmers.view.main.SettingsMenu;
@@ -45,7 +48,7 @@ public class Main extends GameApplication {
     private GenericPlatformer game;
     private BuildUIController buildUIController;
     private InputController inputController;
-    private BuildView buildView;
+    private IBuildOverlay buildView;
     private GameUI gameUI;
     private String currentLevel = "";
     private Boolean gameRunning = false;
@@ -156,6 +159,9 @@ public class Main extends GameApplication {
      */
     @Override
     protected void onUpdate(double tpf) {
+        if (game != null)
+            game.onUpdate(tpf);
+
         if (buildUIController != null)
             buildUIController.updateBuildTileUI();   // Constantly update the build UI overlay
     }
@@ -224,6 +230,7 @@ public class Main extends GameApplication {
 
                 buildUIController = new BuildUIController(game, buildView);
                 game.getWaveManager().addObserver((IObserver) getController(GameMenuType.GameOver));
+                game.getPlayerComponent().addObserver((IObserver) getController(GameMenuType.GameOver));
 
                 this.gameRunning = true;
 
@@ -240,6 +247,11 @@ public class Main extends GameApplication {
         if (this.getGameRunning()) {
             game.getWaveManager().removeObserver(gameUI);
             game.getWaveManager().removeObserver((IObserver) getController(GameMenuType.GameOver));
+            game.getPlayerComponent().removeObserver(gameUI);
+            game.getPlayerComponent().removeObserver((IObserver) getController(GameMenuType.GameOver));
+            for (Weapon weapon : game.getPlayerComponent().getWeapons()) {
+                weapon.removeObserver(gameUI);
+            }
             this.showBackground();
             getController(GameMenuType.Exit).hide();
             getController(GameMenuType.Main).show();
@@ -265,8 +277,16 @@ public class Main extends GameApplication {
         this.gameUI = new GameUI(game);
         this.gameUI.createNodes();
         game.getPlayerComponent().addObserver(gameUI);
+        game.getWaveManager().addObserver(gameUI);
+        for (Weapon weapon : game.getPlayerComponent().getWeapons()) {
+            weapon.addObserver(gameUI);
+        }
 
-        this.buildView = new BuildView(game.getPlayerComponent().getBuildRangeTiles());
+        if (Constants.CANVAS_BUILD_OVERLAY) {
+            this.buildView = new BuildCanvasView();
+        } else {
+            this.buildView = new BuildView(game.getPlayerComponent().getBuildRangeTiles());
+        }
     }
 
     /**
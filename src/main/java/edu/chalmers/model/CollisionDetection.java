@@ -5,6 +5,7 @@ import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.physics.CollisionHandler;
 import com.almasb.fxgl.physics.PhysicsComponent;
 import edu.chalmers.model.building.blocks.Block;
+import edu.chalmers.model.building.blocks.BlockCollisionMesh;
 import edu.chalmers.model.enemy.EnemyComponent;
 import edu.chalmers.utilities.EntityPos;
 
@@ -134,9 +135,9 @@ public class CollisionDetection {
 
             @Override
             protected void onCollision(Entity a, Entity b) {
-                Block block = b.getObject("this");
+                Block block = getBlock(a, b);
 
-                if (a.hasComponent(EnemyComponent.class)) {
+                if (block != null && a.hasComponent(EnemyComponent.class)) {
                     block.inflictDamage(a.getComponent(EnemyComponent.class).getBlockDamage());
                 }
             }
@@ -166,6 +167,15 @@ public class CollisionDetection {
         });
     }
 
+    // Gets the Block of a collision, blocks merged by a BlockCollisionMesh are found from where the entity touches it
+    private Block getBlock(Entity a, Entity blockEntity) {
+        if (blockEntity.getProperties().exists("mesh")) {
+            BlockCollisionMesh mesh = blockEntity.getObject("mesh");
+            return mesh.getContactBlock(a, blockEntity);
+        }
+        return blockEntity.getObject("this");
+    }
+
     private boolean sideCollision(Entity a, Entity b) {
         return !(EntityPos.getRightSideX(a) > EntityPos.getLeftSideX(b) && EntityPos.getLeftSideX(a) < EntityPos.getRightSideX(b));
     }
@@ -19,19 +19,19 @@ import javafx.scene.shape.Rectangle;
 public class GameWorldFactory implements EntityFactory {
 
     /**
-     * Method used to spawn in "platform" types from tmx level files.
+     * Method used to spawn in "platform" types, compiled from the tile layer of tmx level files.
      *
      * @param spawnData information brought over from the tmx file which contains value such as width, length, x-value and y-value.
      * @return An Entity object with physics and hit box with Enum type PLATFORM.
      */
     @Spawns("platform")
     public Entity newPlatform(SpawnData spawnData) {
-        return FXGL.entityBuilder().type(EntityType.PLATFORM).bbox(new HitBox(BoundingShape.box(spawnData.<Integer>get("width"), spawnData.<Integer>get("height")))).with(new CollidableComponent(true)).with(new PhysicsComponent()).build();
+        return FXGL.entityBuilder().type(EntityType.PLATFORM).at(spawnData.getX(), spawnData.getY()).bbox(new HitBox(BoundingShape.box(spawnData.<Integer>get("width"), spawnData.<Integer>get("height")))).with(new CollidableComponent(true)).with(new PhysicsComponent()).build();
     }
 
     @Spawns("worldBorder")
     public Entity newWorldBorder(SpawnData spawnData) {
-        return FXGL.entityBuilder().type(EntityType.WORLDBORDER).bbox(new HitBox(BoundingShape.box(spawnData.<Integer>get("width"), spawnData.<Integer>get("height")))).with(new PhysicsComponent()).build();
+        return FXGL.entityBuilder().type(EntityType.WORLDBORDER).at(spawnData.getX(), spawnData.getY()).bbox(new HitBox(BoundingShape.box(spawnData.<Integer>get("width"), spawnData.<Integer>get("height")))).with(new PhysicsComponent()).build();
     }
 
     @Spawns("player")
@@ -1,10 +1,19 @@
 package edu.chalmers.model;
 
 import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.SpawnData;
+import edu.chalmers.model.building.BlockMesh;
 import edu.chalmers.model.building.BuildManager;
+import edu.chalmers.model.building.CompiledLevel;
 import edu.chalmers.model.building.MapManager;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.model.building.blocks.BlockCollisionMesh;
+import edu.chalmers.model.enemy.ai.EnemyAIManager;
+import edu.chalmers.model.enemy.ai.PlatformRegistry;
 import edu.chalmers.model.wave.WaveManager;
 import edu.chalmers.services.TileMap;
+import edu.chalmers.utilities.Constants;
+import edu.chalmers.utilities.CoordsCalculations;
 import javafx.geometry.Point2D;
 
 import static com.almasb.fxgl.dsl.FXGL.getGameWorld;
@@ -39,13 +48,41 @@ public class GenericPlatformer {
      * @param levelName The name of the level to load the game with.
      */
     public void initializeGame(String levelName) {
+        initializeLevel(levelName);
+        this.waveManager = new WaveManager(getPlayer());
+        waveManager.generateNewWave();
+    }
+
+    /**
+     * Initialize a level without starting any waves. Loads the tiles, the collision bodies and the enemy pathfinding
+     * of the level and creates the player.
+     *
+     * @param levelName The name of the level to load.
+     */
+    public void initializeLevel(String levelName) {
         setLevelFromMap(levelName);
 
         this.collisionDetection = new CollisionDetection(getPlayerComponent());
-        this.mapManager = new MapManager(new TileMap().getBlockMapFromLevel(levelName));
+        CompiledLevel level = new TileMap().compileLevel(levelName);
+        spawnLevelGeometry(level);
+        PlatformRegistry.loadLevel();
+        TileGrid blockGrid = level.getBlockGrid();
+        EnemyAIManager.getInstance().setTileGrid(blockGrid);
+        this.mapManager = new MapManager(blockGrid);
+        if (Constants.MESHED_BLOCK_COLLISION) {
+            mapManager.setBlockMesh(new BlockMesh(blockGrid, new BlockCollisionMesh(blockGrid)));
+        }
         this.buildManager = new BuildManager(getPlayerComponent().getBuildRangeTiles(), mapManager);
-        this.waveManager = new WaveManager(getPlayer());
-        waveManager.generateNewWave();
+    }
+
+    /**
+     * Updates the parts of the game that are handled once per frame.
+     *
+     * @param tpf Time per frame.
+     */
+    public void onUpdate(double tpf) {
+        if (this.mapManager != null)
+            this.mapManager.onUpdate(tpf);
     }
 
     /**
@@ -62,6 +99,22 @@ public class GenericPlatformer {
         this.createEntityFactory();
     }
 
+    // Spawns the collision bodies of the level's tile layer, the tiles are in pixels when spawned
+    private void spawnLevelGeometry(CompiledLevel level) {
+        for (BlockMesh.Rect rect : level.getPlatformRects()) {
+            spawn("platform", toSpawnData(rect));
+        }
+        for (BlockMesh.Rect rect : level.getWallRects()) {
+            spawn("worldBorder", toSpawnData(rect));
+        }
+    }
+
+    private SpawnData toSpawnData(BlockMesh.Rect rect) {
+        return new SpawnData(CoordsCalculations.tilesToLength(rect.getX()), CoordsCalculations.tilesToLength(rect.getY()))
+                .put("width", (int) CoordsCalculations.tilesToLength(rect.getWidth()))
+                .put("height", (int) CoordsCalculations.tilesToLength(rect.getHeight()));
+    }
+
     private void createEntityFactory() {
         if (this.gameWorldFactory != null)
             getGameWorld().removeEntityFactory(this.gameWorldFactory);
@@ -1,19 +1,11 @@
 package edu.chalmers.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * @author Oscar Arvidson
  * <p>
  * IObservable interface observable interface.
  */
 public interface IObservable {
-    /**
-     * List of IObservers.
-     */
-    List<IObserver> observers = new ArrayList<>();
-
     /**
      * Adds an IObserver to observers.
      *
@@ -32,4 +24,11 @@ public interface IObservable {
      * @param o IObserver to be removed form list observers.
      */
     void removeObserver(IObserver o);
+
+    /**
+     * Getter for the amount of IObservers observing this IObservable.
+     *
+     * @return Amount of IObservers.
+     */
+    int getObserverCount();
 }
@@ -0,0 +1,103 @@
+package edu.chalmers.model;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * List of observers owned by a single observable. An observer is only added once (compared by identity).
+ * Adding and removing copies the backing array, notifying iterates the current array without allocating,
+ * which also makes it safe for observers to add or remove observers while being notified.
+ *
+ * @param <T> Type of observer.
+ */
+public final class ObserverList<T> {
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] observers = EMPTY;
+
+    /**
+     * Adds an observer if it isn't already in the list.
+     *
+     * @param observer Observer to be added.
+     * @return True if the observer was added.
+     */
+    public boolean add(T observer) {
+        if (observer == null || indexOf(observer) >= 0) {
+            return false;
+        }
+        Object[] added = Arrays.copyOf(observers, observers.length + 1);
+        added[observers.length] = observer;
+        observers = added;
+        return true;
+    }
+
+    /**
+     * Removes an observer from the list.
+     *
+     * @param observer Observer to be removed.
+     * @return True if the observer was in the list.
+     */
+    public boolean remove(T observer) {
+        int index = indexOf(observer);
+        if (index < 0) {
+            return false;
+        }
+        Object[] removed = new Object[observers.length - 1];
+        System.arraycopy(observers, 0, removed, 0, index);
+        System.arraycopy(observers, index + 1, removed, index, observers.length - index - 1);
+        observers = removed.length == 0 ? EMPTY : removed;
+        return true;
+    }
+
+    /**
+     * Removes all observers.
+     */
+    public void clear() {
+        observers = EMPTY;
+    }
+
+    /**
+     * @return Amount of observers in the list.
+     */
+    public int size() {
+        return observers.length;
+    }
+
+    /**
+     * Calls action for every observer. Use a method reference such as IObserver::update to avoid allocating.
+     *
+     * @param action Action to call with every observer.
+     */
+    @SuppressWarnings("unchecked")
+    public void notifyEach(Consumer<? super T> action) {
+        Object[] current = observers;
+        for (Object observer : current) {
+            action.accept((T) observer);
+        }
+    }
+
+    /**
+     * Calls action for every observer with an argument.
+     *
+     * @param action   Action to call with every observer and the argument.
+     * @param argument Argument given to every observer.
+     * @param <A>      Type of argument.
+     */
+    @SuppressWarnings("unchecked")
+    public <A> void notifyEach(BiConsumer<? super T, ? super A> action, A argument) {
+        Object[] current = observers;
+        for (Object observer : current) {
+            action.accept((T) observer, argument);
+        }
+    }
+
+    private int indexOf(Object observer) {
+        for (int i = 0; i < observers.length; i++) {
+            if (observers[i] == observer) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -4,16 +4,15 @@ import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.physics.PhysicsComponent;
 import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
 import com.almasb.fxgl.physics.box2d.dynamics.FixtureDef;
-import com.almasb.fxgl.time.TimerAction;
 import edu.chalmers.model.weapon.Weapon;
 import edu.chalmers.model.weapon.WeaponFactory;
+import edu.chalmers.utilities.Cooldown;
 import edu.chalmers.utilities.EntityPos;
-import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.almasb.fxgl.dsl.FXGL.runOnce;
+import static com.almasb.fxgl.dsl.FXGL.getGameTimer;
 
 /**
  * @author Oscar Arvidson
@@ -34,21 +33,42 @@ public class PlayerComponent extends Component implements IObservable {
     private int buildRangeTiles = 3;
     private PhysicsComponent physics;
     private int activeWeapon = 0;
-    private TimerAction timer;
+    private final Cooldown damageCooldown = new Cooldown(1);     // Player can't take damage again for a second
     private boolean onGround;
     private boolean isAirborne;
+    private final ObserverList<IObserver> observers = new ObserverList<>();
 
     public PlayerComponent(PhysicsComponent physics) {
         this.physics = physics;
         physics.setBodyType(BodyType.DYNAMIC);
         physics.setFixtureDef(new FixtureDef().friction(0.0f));
-        initTimer();
 
         weapons.add(0, WeaponFactory.getInstance().createWeapon("Handgun"));
         weapons.add(1, WeaponFactory.getInstance().createWeapon("Crossbow"));
         weapons.add(2, WeaponFactory.getInstance().createWeapon("ThrowingKnife"));
     }
 
+    /**
+     * Finishes the reloads of the weapons.
+     *
+     * @param tpf time since the last frame
+     */
+    @Override
+    public void onUpdate(double tpf) {
+        double now = getGameTimer().getNow();
+        for (Weapon weapon : weapons) {
+            weapon.update(now);
+        }
+    }
+
+    /**
+     * Observers are removed together with the player entity.
+     */
+    @Override
+    public void onRemoved() {
+        observers.clear();
+    }
+
     /**
      * Method moves players Entity left (negative x).
      * Calls method moveLeft from animationComponent.
@@ -122,25 +142,17 @@ public class PlayerComponent extends Component implements IObservable {
      */
     public void inflictDamage(int damage) {
         if (!testing) {
-            if (timer.isExpired()) {
+            double now = getGameTimer().getNow();
+            if (damageCooldown.isReady(now)) {
                 health -= damage;
                 notifyObserver();
-                timer = runOnce(() -> {
-                }, Duration.seconds(1));
+                damageCooldown.start(now);
             }
         } else {
             health -= damage;
         }
     }
 
-    /**
-     * Initiate damage delay timer.
-     */
-    private void initTimer() {
-        timer = runOnce(() -> {
-        }, Duration.seconds(0));
-    }
-
     @Override
     public void addObserver(IObserver o) {
         observers.add(o);
@@ -148,9 +160,7 @@ public class PlayerComponent extends Component implements IObservable {
 
     @Override
     public void notifyObserver() {
-        for (IObserver o : observers) {
-            o.update();
-        }
+        observers.notifyEach(IObserver::update);
     }
 
     @Override
@@ -158,6 +168,11 @@ public class PlayerComponent extends Component implements IObservable {
         observers.remove(o);
     }
 
+    @Override
+    public int getObserverCount() {
+        return observers.size();
+    }
+
     // -------- GETTERS -------- //
 
     /**
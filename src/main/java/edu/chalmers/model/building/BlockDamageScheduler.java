@@ -0,0 +1,142 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.services.Coords;
+
+/**
+ * BlockDamageScheduler handles the damage delay of every block on the map. A block touched by an enemy takes the
+ * damage of the first hit after the damage delay, and can't be hit again until that damage has been applied.
+ * The pending hits are kept in a ring buffer of primitive arrays, so hitting a block doesn't allocate anything once
+ * the buffer is big enough.
+ */
+public class BlockDamageScheduler {
+    private final TileGrid grid;
+    private final double damageDelay;
+    private double time = 0;
+
+    private final IDamageable[] pendingTarget;      // Block that was hit on every tile, null if nothing is pending
+    private int pendingCount = 0;
+
+    // Queue of hits in the order they are due, a hit whose block is no longer the pending target of its tile is skipped
+    private int[] hitTiles;
+    private double[] hitTimes;
+    private int[] hitDamage;
+    private IDamageable[] hitTargets;
+    private int hitStart = 0;
+    private int hitCount = 0;
+
+    /**
+     * @param grid               grid of the blocks that can be damaged
+     * @param damageDelaySeconds time between a hit and the damage being applied, a block can't be hit again meanwhile
+     */
+    public BlockDamageScheduler(TileGrid grid, double damageDelaySeconds) {
+        this.grid = grid;
+        this.damageDelay = damageDelaySeconds;
+        this.pendingTarget = new IDamageable[grid.getTileCount()];
+        this.hitTiles = new int[grid.getTileCount()];
+        this.hitTimes = new double[grid.getTileCount()];
+        this.hitDamage = new int[grid.getTileCount()];
+        this.hitTargets = new IDamageable[grid.getTileCount()];
+    }
+
+    /**
+     * Hits a block, the damage is applied after the damage delay unless the block already has damage pending
+     *
+     * @param target the block that was hit
+     * @param tile   the tile of the block
+     * @param damage damage of the hit
+     */
+    public void inflictDamage(IDamageable target, Coords tile, int damage) {
+        int index = grid.indexOf(tile);
+        if (index < 0 || pendingTarget[index] != null) return;
+
+        if (hitCount == hitTiles.length) growHits();
+        int hit = (hitStart + hitCount) % hitTiles.length;
+        hitTiles[hit] = index;
+        hitTimes[hit] = time + damageDelay;
+        hitDamage[hit] = damage;
+        hitTargets[hit] = target;
+        hitCount++;
+
+        pendingTarget[index] = target;
+        pendingCount++;
+    }
+
+    /**
+     * Drops the pending damage of a tile, used when its block is removed from the map before the damage is due.
+     * The tile can be hit again right away.
+     *
+     * @param index index of the tile
+     */
+    public void cancelDamage(int index) {
+        if (index >= 0 && pendingTarget[index] != null) {
+            pendingTarget[index] = null;
+            pendingCount--;
+        }
+    }
+
+    /**
+     * Moves time forward and applies all damage that is due. Called once every frame.
+     *
+     * @param tpf time since the last update in seconds
+     */
+    public void update(double tpf) {
+        time += tpf;
+
+        // Every hit has the same delay so the queue is sorted by time
+        while (hitCount > 0 && hitTimes[hitStart] <= time) {
+            int index = hitTiles[hitStart];
+            IDamageable target = hitTargets[hitStart];
+            int damage = hitDamage[hitStart];
+            hitTargets[hitStart] = null;
+            hitStart = (hitStart + 1) % hitTiles.length;
+            hitCount--;
+
+            if (pendingTarget[index] == target) {     // Not cancelled
+                pendingTarget[index] = null;
+                pendingCount--;
+                target.applyDamage(damage);
+            }
+        }
+    }
+
+    /**
+     * Method checks if a tile has damage waiting to be applied
+     *
+     * @param tile the tile
+     * @return boolean
+     */
+    public boolean hasPendingDamage(Coords tile) {
+        int index = grid.indexOf(tile);
+        return index >= 0 && pendingTarget[index] != null;
+    }
+
+    /**
+     * Getter for the amount of tiles with damage waiting to be applied
+     *
+     * @return amount of pending hits
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    // Cancelled hits stay in the queue until they are due, so it can hold more hits than there are tiles
+    private void growHits() {
+        int length = hitTiles.length * 2;
+        int[] tiles = new int[length];
+        double[] times = new double[length];
+        int[] damage = new int[length];
+        IDamageable[] targets = new IDamageable[length];
+        for (int i = 0; i < hitCount; i++) {
+            int hit = (hitStart + i) % hitTiles.length;
+            tiles[i] = hitTiles[hit];
+            times[i] = hitTimes[hit];
+            damage[i] = hitDamage[hit];
+            targets[i] = hitTargets[hit];
+        }
+        hitTiles = tiles;
+        hitTimes = times;
+        hitDamage = damage;
+        hitTargets = targets;
+        hitStart = 0;
+    }
+}
@@ -0,0 +1,244 @@
+package edu.chalmers.model.building;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Greedy mesh of the player built blocks on a TileGrid. Adjacent blocks are merged into as large rectangles as
+ * possible so one collision body can cover many blocks. When a tile changes only the rectangles around it are
+ * rebuilt, every rectangle that was removed or added since the last update is passed on to the observer.
+ */
+public class BlockMesh {
+
+    /**
+     * Rectangle of merged tiles, x and y is the top left tile. A Rect never changes, re-meshing replaces it.
+     */
+    public static final class Rect {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private boolean pendingAdd = false;     // Added since the last update, the observer hasn't seen it yet
+
+        Rect(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Method checks if a tile is covered by the rectangle
+         *
+         * @param tileX x value of tile
+         * @param tileY y value of tile
+         * @return boolean
+         */
+        public boolean contains(int tileX, int tileY) {
+            return x <= tileX && tileX < x + width && y <= tileY && tileY < y + height;
+        }
+    }
+
+    private final TileGrid grid;
+    private final IBlockMeshObserver observer;
+    private final Rect[] rectOfTile;    // Rect covering every tile, null if the tile isn't meshed
+    private int rectCount = 0;
+
+    private final boolean[] dirty;
+    private final int[] dirtyTiles;     // A tile is only added once until the next update, so every tile fits
+    private int dirtyCount = 0;
+    private final List<Rect> removedRects = new ArrayList<>();
+    private final List<Rect> addedRects = new ArrayList<>();
+
+    // Box of tiles being re-meshed, inclusive bounds
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    /**
+     * Meshes every player built block already on the grid, the observer gets the rectangles on the first update
+     *
+     * @param grid     the grid to mesh
+     * @param observer gets the rectangles that changed on every update
+     */
+    public BlockMesh(TileGrid grid, IBlockMeshObserver observer) {
+        this.grid = grid;
+        this.observer = observer;
+        this.rectOfTile = new Rect[grid.getTileCount()];
+        this.dirty = new boolean[grid.getTileCount()];
+        this.dirtyTiles = new int[grid.getTileCount()];
+        setBox(0, 0, grid.getWidth() - 1, grid.getHeight() - 1);
+        meshBox();
+    }
+
+    /**
+     * Marks a tile as changed (block added or removed), the mesh around it is rebuilt on the next update
+     *
+     * @param index index of tile
+     */
+    public void tileChanged(int index) {
+        if (index < 0 || dirty[index]) return;
+        dirty[index] = true;
+        dirtyTiles[dirtyCount++] = index;
+    }
+
+    /**
+     * Rebuilds the mesh around every changed tile and notifies the observer of the rectangles that were removed
+     * and added. Called once every frame.
+     */
+    public void update() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyTiles[i];
+            dirty[index] = false;
+            remesh(index);
+        }
+        dirtyCount = 0;
+
+        if (removedRects.isEmpty() && addedRects.isEmpty()) return;
+        for (int i = 0; i < addedRects.size(); i++) {
+            addedRects.get(i).pendingAdd = false;
+        }
+        observer.update(removedRects, addedRects);
+        removedRects.clear();
+        addedRects.clear();
+    }
+
+    /**
+     * Getter for the rectangle covering a tile
+     *
+     * @param index index of tile
+     * @return the rectangle or null if the tile isn't meshed
+     */
+    public Rect getRect(int index) {
+        return index < 0 ? null : rectOfTile[index];
+    }
+
+    /**
+     * Getter for the amount of rectangles in the mesh
+     *
+     * @return amount of rectangles
+     */
+    public int getRectCount() {
+        return rectCount;
+    }
+
+    /**
+     * Method checks if the block on a tile is part of the mesh, only blocks that can be destroyed are meshed.
+     * Permanent blocks get their collision from the level.
+     *
+     * @param index index of tile
+     * @return boolean
+     */
+    boolean isMeshed(int index) {
+        IBlock block = grid.get(index);
+        return block != null && block.canBeDestroyed();
+    }
+
+    /* Removes every rectangle touching the tile or its neighbours and meshes the freed area again */
+    private void remesh(int index) {
+        int x = grid.getX(index);
+        int y = grid.getY(index);
+        setBox(Math.max(0, x - 1), Math.max(0, y - 1), Math.min(grid.getWidth() - 1, x + 1), Math.min(grid.getHeight() - 1, y + 1));
+
+        // Grow the box until it covers every rectangle that is inside it, so the box can be meshed on its own
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (int tileY = minY; tileY <= maxY; tileY++) {
+                for (int tileX = minX; tileX <= maxX; tileX++) {
+                    Rect rect = rectOfTile[grid.indexOf(tileX, tileY)];
+                    if (rect != null && (rect.x < minX || rect.y < minY || rect.x + rect.width - 1 > maxX || rect.y + rect.height - 1 > maxY)) {
+                        setBox(Math.min(minX, rect.x), Math.min(minY, rect.y), Math.max(maxX, rect.x + rect.width - 1), Math.max(maxY, rect.y + rect.height - 1));
+                        grown = true;
+                    }
+                }
+            }
+        }
+
+        for (int tileY = minY; tileY <= maxY; tileY++) {
+            for (int tileX = minX; tileX <= maxX; tileX++) {
+                Rect rect = rectOfTile[grid.indexOf(tileX, tileY)];
+                if (rect != null) removeRect(rect);
+            }
+        }
+        meshBox();
+    }
+
+    /* Greedy meshing of the box, row by row every free tile is grown as wide and then as high as possible */
+    private void meshBox() {
+        for (int tileY = minY; tileY <= maxY; tileY++) {
+            for (int tileX = minX; tileX <= maxX; tileX++) {
+                if (!isFree(tileX, tileY)) continue;
+
+                int width = 1;
+                while (tileX + width <= maxX && isFree(tileX + width, tileY)) width++;
+
+                int height = 1;
+                while (tileY + height <= maxY && isRowFree(tileX, tileY + height, width)) height++;
+
+                addRect(new Rect(tileX, tileY, width, height));
+            }
+        }
+    }
+
+    private boolean isFree(int tileX, int tileY) {
+        int index = grid.indexOf(tileX, tileY);
+        return rectOfTile[index] == null && isMeshed(index);
+    }
+
+    private boolean isRowFree(int tileX, int tileY, int width) {
+        for (int i = 0; i < width; i++) {
+            if (!isFree(tileX + i, tileY)) return false;
+        }
+        return true;
+    }
+
+    private void addRect(Rect rect) {
+        setRectOfTiles(rect, rect);
+        rect.pendingAdd = true;
+        addedRects.add(rect);
+        rectCount++;
+    }
+
+    private void removeRect(Rect rect) {
+        setRectOfTiles(rect, null);
+        if (rect.pendingAdd) {
+            addedRects.remove(rect);    // Never seen by the observer, so it doesn't have to be removed
+        } else {
+            removedRects.add(rect);
+        }
+        rectCount--;
+    }
+
+    private void setRectOfTiles(Rect rect, Rect value) {
+        for (int tileY = rect.y; tileY < rect.y + rect.height; tileY++) {
+            for (int tileX = rect.x; tileX < rect.x + rect.width; tileX++) {
+                rectOfTile[grid.indexOf(tileX, tileY)] = value;
+            }
+        }
+    }
+
+    private void setBox(int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+}
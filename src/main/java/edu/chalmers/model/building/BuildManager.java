@@ -2,7 +2,6 @@ package edu.chalmers.model.building;
 
 import edu.chalmers.model.building.blocks.Block;
 import edu.chalmers.services.Coords;
-import edu.chalmers.utilities.Constants;
 import edu.chalmers.utilities.CoordsCalculations;
 import javafx.geometry.Point2D;
 
@@ -17,10 +16,12 @@ import java.util.List;
 public class BuildManager {
     private MapManager mapManager;
     private int buildRangeTiles;
+    private ReachableTilesCache reachableTilesCache;
 
     public BuildManager(int buildRangeTiles, MapManager mapManager) {
         this.buildRangeTiles = buildRangeTiles;
         this.mapManager = mapManager;
+        this.reachableTilesCache = new ReachableTilesCache(mapManager.getBlockGrid(), buildRangeTiles);
     }
 
     /**
@@ -29,7 +30,8 @@ public class BuildManager {
      * @param mousePos position of where block should be placed
      */
     public void placeBlock(Point2D mousePos) {
-        Block block = new Block(mousePos);
+        Block block = new Block(mousePos, !mapManager.hasBlockMesh());   // Blocks merged by a BlockMesh get no own body
+        block.setDamageScheduler(mapManager.getDamageScheduler());
         mapManager.addBlockToMap(CoordsCalculations.posToTile(mousePos), block);
         block.addObserver(mapManager);
     }
@@ -49,31 +51,8 @@ public class BuildManager {
             return false;
         }
 
-        // Possible to build if tile is empty and tile is connected to another tile
-        return mapManager.isTileEmpty(buildTile) && mapManager.isTileConnected(buildTile);
-    }
-
-    /* Method gets the tiles player can reach (depending on buildrange of player)
-    @param playerTile position of player
-    @return list of reachable tiles */
-    private List<Coords> getReachableTiles(Coords playerTile) {
-        Coords startTile = new Coords(playerTile.getX() - buildRangeTiles, playerTile.getY() - buildRangeTiles);
-
-        List<Coords> reachableTiles = new ArrayList<>();
-
-        int tileInRangeSize = buildRangeTiles * 2 + 1;      // The width/height of total tiles in range
-        int tilesInRange = tileInRangeSize * tileInRangeSize;   // Width * Height (width = height)
-
-        for (int i = 0; i < tilesInRange; i++) {
-
-            Coords tile = new Coords(startTile.getX() + (i / tileInRangeSize), startTile.getY() + i % tileInRangeSize);   // reachableTile
-
-            if (tileIsInsideMap(tile)) {  // Tile cant be outside of map
-                reachableTiles.add(tile);
-            }
-        }
-
-        return reachableTiles;
+        // Possible to build if tile is inside the map, empty and connected to another tile
+        return mapManager.isTileInsideMap(buildTile) && mapManager.isTileEmpty(buildTile) && mapManager.isTileConnected(buildTile);
     }
 
     /**
@@ -83,15 +62,28 @@ public class BuildManager {
      * @return list of unpopulated reachable tiles
      */
     public List<Coords> getEmptyReachableTiles(Coords playerTile) {
-        List<Coords> emptyReachableTiles = new ArrayList<>();
-        List<Coords> reachableTiles = getReachableTiles(playerTile);
+        reachableTilesCache.update(playerTile.getX(), playerTile.getY());
+        return new ArrayList<>(reachableTilesCache.getEmptyReachableTiles());
+    }
 
-        for (int i = 0; i < reachableTiles.size(); i++) {
-            if (mapManager.isTileEmpty(reachableTiles.get(i))) {
-                emptyReachableTiles.add(reachableTiles.get(i));
-            }
-        }
-        return emptyReachableTiles;
+    /**
+     * Method updates the cached reachable tiles, they are only recalculated if the player tile or the map has changed
+     *
+     * @param playerTileX x value of the tile the player is on
+     * @param playerTileY y value of the tile the player is on
+     * @return true if the reachable tiles changed, the diff is in getReachableTilesCache
+     */
+    public boolean updateReachableTiles(int playerTileX, int playerTileY) {
+        return reachableTilesCache.update(playerTileX, playerTileY);
+    }
+
+    /**
+     * Getter for the reachableTilesCache
+     *
+     * @return cache of the empty tiles the player can reach
+     */
+    public ReachableTilesCache getReachableTilesCache() {
+        return reachableTilesCache;
     }
 
     /**
@@ -107,8 +99,4 @@ public class BuildManager {
 
         return true;
     }
-
-    private boolean tileIsInsideMap(Coords tile) {
-        return 0 <= tile.getX() && tile.getY() < Constants.TILEMAP_WIDTH && 0 <= tile.getY() && tile.getY() < Constants.TILEMAP_HEIGHT;
-    }
 }
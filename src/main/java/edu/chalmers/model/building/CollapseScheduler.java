@@ -0,0 +1,110 @@
+package edu.chalmers.model.building;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * CollapseScheduler spreads the removal of collapsed blocks over several frames. Every frame blocks are removed
+ * until the frame budget is used up (at least one block per frame), so a big structure falling doesn't remove
+ * every entity and physics body in the same frame. The tiles of scheduled blocks are already removed from the map.
+ */
+public class CollapseScheduler {
+    private final Deque<IBlock> pendingBlocks = new ArrayDeque<>();
+    private long frameBudgetNanos;
+
+    // Metrics of the collapse currently being removed and the latest finished one
+    private int currentCollapseFrames = 0;
+    private int currentCollapseBlocks = 0;
+    private int lastCollapseFrames = 0;
+    private int lastCollapseBlocks = 0;
+    private int maxCollapseFrames = 0;
+
+    public CollapseScheduler(double frameBudgetMillis) {
+        setFrameBudgetMillis(frameBudgetMillis);
+    }
+
+    /**
+     * Schedules a block to be removed
+     *
+     * @param block the collapsed block
+     */
+    public void schedule(IBlock block) {
+        pendingBlocks.add(block);
+        currentCollapseBlocks++;
+    }
+
+    /**
+     * Removes scheduled blocks until the frame budget is used up. Called once every frame.
+     */
+    public void update() {
+        if (pendingBlocks.isEmpty()) return;
+
+        long start = System.nanoTime();
+        do {
+            pendingBlocks.poll().remove();
+        } while (!pendingBlocks.isEmpty() && System.nanoTime() - start < frameBudgetNanos);
+
+        currentCollapseFrames++;
+        if (pendingBlocks.isEmpty()) {     // Collapse is done
+            lastCollapseFrames = currentCollapseFrames;
+            lastCollapseBlocks = currentCollapseBlocks;
+            maxCollapseFrames = Math.max(maxCollapseFrames, currentCollapseFrames);
+            currentCollapseFrames = 0;
+            currentCollapseBlocks = 0;
+        }
+    }
+
+    /**
+     * Setter for how much time can be spent removing blocks every frame
+     *
+     * @param frameBudgetMillis budget in milliseconds
+     */
+    public void setFrameBudgetMillis(double frameBudgetMillis) {
+        this.frameBudgetNanos = (long) (frameBudgetMillis * 1_000_000);
+    }
+
+    /**
+     * Getter for the frame budget
+     *
+     * @return budget in milliseconds
+     */
+    public double getFrameBudgetMillis() {
+        return frameBudgetNanos / 1_000_000.0;
+    }
+
+    /**
+     * Getter for the amount of blocks waiting to be removed
+     *
+     * @return amount of pending blocks
+     */
+    public int getPendingBlocks() {
+        return pendingBlocks.size();
+    }
+
+    /**
+     * Getter for how many frames the latest finished collapse took to remove
+     *
+     * @return amount of frames
+     */
+    public int getLastCollapseFrames() {
+        return lastCollapseFrames;
+    }
+
+    /**
+     * Getter for how many blocks the latest finished collapse removed
+     *
+     * @return amount of blocks
+     */
+    public int getLastCollapseBlocks() {
+        return lastCollapseBlocks;
+    }
+
+    /**
+     * Getter for the most frames any collapse has taken to remove
+     *
+     * @return amount of frames
+     */
+    public int getMaxCollapseFrames() {
+        return maxCollapseFrames;
+    }
+}
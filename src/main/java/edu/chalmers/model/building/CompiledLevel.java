@@ -0,0 +1,46 @@
+package edu.chalmers.model.building;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of compiling the tile layer of a level with LevelCompiler. The rectangles are in tiles.
+ */
+public class CompiledLevel {
+    private final TileGrid blockGrid;
+    private final List<BlockMesh.Rect> platformRects;
+    private final List<BlockMesh.Rect> wallRects;
+
+    CompiledLevel(TileGrid blockGrid, List<BlockMesh.Rect> platformRects, List<BlockMesh.Rect> wallRects) {
+        this.blockGrid = blockGrid;
+        this.platformRects = Collections.unmodifiableList(platformRects);
+        this.wallRects = Collections.unmodifiableList(wallRects);
+    }
+
+    /**
+     * Getter for the blockGrid
+     *
+     * @return grid with a PermanentBlock on every solid tile
+     */
+    public TileGrid getBlockGrid() {
+        return blockGrid;
+    }
+
+    /**
+     * Getter for the rectangles that can be stood on, the ground is the first one if the level has a ground
+     *
+     * @return read only list of platform rectangles
+     */
+    public List<BlockMesh.Rect> getPlatformRects() {
+        return platformRects;
+    }
+
+    /**
+     * Getter for the solid rectangles that can't be stood on (ceilings and walls)
+     *
+     * @return read only list of wall rectangles
+     */
+    public List<BlockMesh.Rect> getWallRects() {
+        return wallRects;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.chalmers.model.building;
+
+import java.util.List;
+
+/**
+ * Interface for classes that need to know when the rectangles of a BlockMesh change
+ */
+public interface IBlockMeshObserver {
+    /**
+     * Method is called when the mesh has changed
+     *
+     * @param removedRects rectangles that are no longer part of the mesh
+     * @param addedRects   rectangles that were added to the mesh
+     */
+    void update(List<BlockMesh.Rect> removedRects, List<BlockMesh.Rect> addedRects);
+}
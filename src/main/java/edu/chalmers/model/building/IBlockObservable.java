@@ -1,8 +1,5 @@
 package edu.chalmers.model.building;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * @author Malte Åkvist
  * <p>
@@ -10,11 +7,6 @@ import java.util.List;
  */
 public interface IBlockObservable {
 
-    /**
-     * List of IMapObservers.
-     */
-    List<IMapObserver> IMapObservers = new ArrayList<>();
-
     /**
      * Notifies observers
      */
@@ -25,4 +17,16 @@ public interface IBlockObservable {
      */
     void addObserver(IMapObserver IMapObserver);
 
+    /**
+     * Removes an IMapObserver from the observer list
+     */
+    void removeObserver(IMapObserver IMapObserver);
+
+    /**
+     * Getter for the amount of IMapObservers observing this BlockObservable
+     *
+     * @return Amount of IMapObservers
+     */
+    int getObserverCount();
+
 }
@@ -0,0 +1,19 @@
+package edu.chalmers.model.building;
+
+/**
+ * Interface for blocks that can take damage through a BlockDamageScheduler
+ */
+public interface IDamageable {
+    /**
+     * Lowers the health right away, called by the BlockDamageScheduler when the damage is due
+     *
+     * @param damage amount of health points to remove
+     */
+    void applyDamage(int damage);
+
+    /**
+     * Marks the block as dead without removing it, a dead block can't be hit or damaged any more. Called when the
+     * block has collapsed and waits to be removed
+     */
+    void markDead();
+}
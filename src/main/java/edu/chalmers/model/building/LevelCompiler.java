@@ -0,0 +1,125 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.building.blocks.PermanentBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LevelCompiler turns the tile layer of a level into both the permanent blocks of the map and the rectangles used
+ * as collision bodies, so the map and the physics always agree on which tiles are solid.
+ * <p>
+ * Full rows at the bottom of the map become the ground. The rest of the solid tiles are merged bottom up into as
+ * large rectangles as possible, every rectangle is grown as wide as possible and then upwards. Rectangles with a
+ * tile that can be stood on are platforms, the rest (ceilings, walls inside the map and the outermost columns)
+ * are walls. The outermost columns are never merged with the inner columns, since a platform at x = 0 is treated
+ * as the ground.
+ */
+public class LevelCompiler {
+    private final int emptyTile;
+
+    /**
+     * @param emptyTile value of tiles without a block in the tile layer
+     */
+    public LevelCompiler(int emptyTile) {
+        this.emptyTile = emptyTile;
+    }
+
+    /**
+     * Method compiles the tile layer of a level
+     *
+     * @param tileData tile layer, one value per tile row by row
+     * @param width    width of the map in tiles
+     * @return the blocks and collision rectangles of the level
+     */
+    public CompiledLevel compile(List<Integer> tileData, int width) {
+        int height = tileData.size() / width;
+        TileGrid blockGrid = new TileGrid(width, height);
+        for (int i = 0; i < width * height; i++) {
+            if (tileData.get(i) != emptyTile) {    // contains permanent that cant be removed (platforms)
+                blockGrid.set(i, new PermanentBlock());
+            }
+        }
+
+        boolean[] meshed = new boolean[blockGrid.getTileCount()];
+        List<BlockMesh.Rect> platforms = new ArrayList<>();
+        List<BlockMesh.Rect> walls = new ArrayList<>();
+
+        BlockMesh.Rect ground = createGround(blockGrid, meshed);
+        if (ground != null) platforms.add(ground);
+
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                if (!isFree(blockGrid, meshed, x, y)) continue;
+
+                int bandEnd = getBandEnd(x, width);
+                int rectWidth = 1;
+                while (x + rectWidth <= bandEnd && isFree(blockGrid, meshed, x + rectWidth, y)) rectWidth++;
+
+                int rectHeight = 1;
+                while (y - rectHeight >= 0 && isRowFree(blockGrid, meshed, x, y - rectHeight, rectWidth)) rectHeight++;
+
+                BlockMesh.Rect rect = new BlockMesh.Rect(x, y - rectHeight + 1, rectWidth, rectHeight);
+                setMeshed(blockGrid, meshed, rect);
+                if (!isOuterColumn(x, width) && hasOpenTop(blockGrid, rect)) {
+                    platforms.add(rect);
+                } else {
+                    walls.add(rect);
+                }
+            }
+        }
+
+        return new CompiledLevel(blockGrid, platforms, walls);
+    }
+
+    // Full rows at the bottom of the map are merged into the ground
+    private BlockMesh.Rect createGround(TileGrid blockGrid, boolean[] meshed) {
+        int rows = 0;
+        while (rows < blockGrid.getHeight() && isRowFree(blockGrid, meshed, 0, blockGrid.getHeight() - 1 - rows, blockGrid.getWidth())) {
+            rows++;
+        }
+        if (rows == 0) return null;
+
+        BlockMesh.Rect ground = new BlockMesh.Rect(0, blockGrid.getHeight() - rows, blockGrid.getWidth(), rows);
+        setMeshed(blockGrid, meshed, ground);
+        return ground;
+    }
+
+    // The outermost columns are their own bands, the inner columns are one band. Returns the last column of the band.
+    private int getBandEnd(int x, int width) {
+        return isOuterColumn(x, width) ? x : width - 2;
+    }
+
+    private boolean isOuterColumn(int x, int width) {
+        return x == 0 || x == width - 1;
+    }
+
+    // A rectangle is a platform if any tile of its top row has an empty tile above it
+    private boolean hasOpenTop(TileGrid blockGrid, BlockMesh.Rect rect) {
+        if (rect.getY() == 0) return false;
+        for (int x = rect.getX(); x < rect.getX() + rect.getWidth(); x++) {
+            if (blockGrid.get(x, rect.getY() - 1) == null) return true;
+        }
+        return false;
+    }
+
+    private boolean isFree(TileGrid blockGrid, boolean[] meshed, int x, int y) {
+        int index = blockGrid.indexOf(x, y);
+        return index >= 0 && !meshed[index] && !blockGrid.isEmpty(index);
+    }
+
+    private boolean isRowFree(TileGrid blockGrid, boolean[] meshed, int x, int y, int width) {
+        for (int i = 0; i < width; i++) {
+            if (!isFree(blockGrid, meshed, x + i, y)) return false;
+        }
+        return true;
+    }
+
+    private void setMeshed(TileGrid blockGrid, boolean[] meshed, BlockMesh.Rect rect) {
+        for (int y = rect.getY(); y < rect.getY() + rect.getHeight(); y++) {
+            for (int x = rect.getX(); x < rect.getX() + rect.getWidth(); x++) {
+                meshed[blockGrid.indexOf(x, y)] = true;
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package edu.chalmers.model.building;
 
 import edu.chalmers.services.Coords;
+import edu.chalmers.utilities.Constants;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Malte Åkvist
@@ -10,50 +13,107 @@ import java.util.*;
  * MapManager handles the map in the game (map of where all buildable blocks and permanent blocks are)
  */
 public class MapManager implements IMapObserver {
-    private HashMap<Coords, IBlock> blockMap;
+    private TileGrid blockGrid;
+    private StructuralConnectivity connectivity;
+    private final List<Coords> removedTiles = new ArrayList<>();    // Tiles of blocks that have died since the last flush
+    private final List<IBlock> removedBlocks = new ArrayList<>();   // The block that died on each of the removedTiles
+    private final CollapseScheduler collapseScheduler = new CollapseScheduler(Constants.COLLAPSE_FRAME_BUDGET_MS);
+    private final BlockDamageScheduler damageScheduler;
+    private BlockMesh blockMesh;    // Merged collision of the player built blocks, null if every block has its own body
 
-    public MapManager(HashMap<Coords, IBlock> blockMap) {
-        this.blockMap = blockMap;
+    public MapManager(TileGrid blockGrid) {
+        this.blockGrid = blockGrid;
+        this.connectivity = new StructuralConnectivity(blockGrid);
+        this.damageScheduler = new BlockDamageScheduler(blockGrid, Constants.BLOCK_DAMAGE_DELAY_SECONDS);
     }
 
-    private void removeAllLevitatingTiles() {
-        HashSet<Coords> levitatingTiles = new HashSet<>();
+    /**
+     * Updates the map once every frame, applies due block damage, resolves the blocks that died this frame and
+     * removes collapsed blocks
+     *
+     * @param tpf time per frame
+     */
+    public void onUpdate(double tpf) {
+        damageScheduler.update(tpf);
+        flushRemovedTiles();
+        if (blockMesh != null) blockMesh.update();
+        collapseScheduler.update();
+    }
 
-        for (Coords tile : blockMap.keySet()) {
-            if (!levitatingTiles.contains(tile) && isTileLevitatingDFS(tile)) {
-                levitatingTiles.addAll(getConnectedTiles(tile));
+    /**
+     * Method removes all blocks that have died since the last call, and every block that is no longer connected to
+     * a permanent block because of it, from the map. Several blocks dying in the same frame only cause one
+     * connectivity check. The tiles of collapsed blocks are empty right away while their entities are removed
+     * over the next frames by the CollapseScheduler.
+     */
+    public void flushRemovedTiles() {
+        if (removedTiles.isEmpty()) return;
+
+        for (int i = 0; i < removedTiles.size(); i++) {
+            int index = blockGrid.indexOf(removedTiles.get(i));
+            IBlock deadBlock = removedBlocks.get(i);
+            if (deadBlock != null && blockGrid.get(index) == deadBlock) {     // The tile may already hold a new block
+                blockGrid.remove(index);
+                damageScheduler.cancelDamage(index);
+                connectivity.markRemoved(index);
+                tileChanged(index);
             }
         }
-
-        for (Coords levitatingTile : levitatingTiles) {    // Removes all levitating blocks
-            blockMap.get(levitatingTile).remove();
-            removeBlockFromMap(levitatingTile);
+        removedTiles.clear();
+        removedBlocks.clear();
+
+        int levitatingTiles = connectivity.resolveRemovals();
+        for (int i = 0; i < levitatingTiles; i++) {
+            int index = connectivity.getUnsupportedTile(i);
+            IBlock block = blockGrid.remove(index);
+            detachCollapsed(block, index);
+            collapseScheduler.schedule(block);
+            tileChanged(index);
         }
     }
 
-    private boolean isTileLevitatingDFS(Coords tile) {
-        if (blockMap.get(tile) == null) return true;
+    // A collapsed block keeps its entity until the CollapseScheduler removes it, meanwhile it must not take damage or
+    // report its death, since its tile may already hold a new block
+    private void detachCollapsed(IBlock block, int index) {
+        damageScheduler.cancelDamage(index);
+        if (block instanceof IBlockObservable) ((IBlockObservable) block).removeObserver(this);
+        if (block instanceof IDamageable) ((IDamageable) block).markDead();
+    }
 
-        return isTileLevitatingDFS(tile, new HashSet<>());
+    /**
+     * Getter for the damageScheduler, that applies the damage of enemies hitting blocks
+     *
+     * @return the BlockDamageScheduler of the map
+     */
+    public BlockDamageScheduler getDamageScheduler() {
+        return damageScheduler;
     }
 
-    // Method checks if a tile with a block on it in any way is connected to a permanent block
-    private boolean isTileLevitatingDFS(Coords tile, HashSet<Coords> visitedTiles) {
-        if (!blockMap.get(tile).canBeDestroyed()) {   // Found a path if the block is indestructible
-            return false;
-        }
-        visitedTiles.add(tile);
-
-        List<Coords> popNeighbours = getPopulatedNeighbourTiles(tile);
-        for (Coords neighbour : popNeighbours) {
-            if (!visitedTiles.contains(neighbour)) {   // Check tile if neighbour is not already visited
-                if (!isTileLevitatingDFS(neighbour, visitedTiles)) {
-                    return false;
-                }
-            }
-        }
+    /**
+     * Setter for the blockMesh, the mesh is updated with every tile that changes on the map
+     *
+     * @param blockMesh mesh of the player built blocks on the blockGrid
+     */
+    public void setBlockMesh(BlockMesh blockMesh) {
+        this.blockMesh = blockMesh;
+    }
 
-        return true; // if no path to a permanent block is found
+    /**
+     * Method checks if the player built blocks have merged collision bodies
+     *
+     * @return true if a BlockMesh handles the collision of the blocks
+     */
+    public boolean hasBlockMesh() {
+        return blockMesh != null;
+    }
+
+    /**
+     * Getter for the collapseScheduler, which also holds the metrics of collapses
+     *
+     * @return the CollapseScheduler removing collapsed blocks
+     */
+    public CollapseScheduler getCollapseScheduler() {
+        return collapseScheduler;
     }
 
     /**
@@ -63,7 +123,17 @@ public class MapManager implements IMapObserver {
      * @return boolean
      */
     boolean isTileEmpty(Coords tile) {
-        return blockMap.get(tile) == null;
+        return blockGrid.get(tile) == null;
+    }
+
+    /**
+     * Method that checks if a tile is inside the map
+     *
+     * @param tile the tile to check
+     * @return boolean
+     */
+    boolean isTileInsideMap(Coords tile) {
+        return blockGrid.isInside(tile.getX(), tile.getY());
     }
 
     /**
@@ -73,8 +143,13 @@ public class MapManager implements IMapObserver {
      * @return boolean
      */
     boolean isTileConnected(Coords tile) {
-        return blockMap.containsKey(getTileAbove(tile)) || blockMap.containsKey(getTileRight(tile)) || blockMap.containsKey(getTileBelow(tile)) || blockMap.containsKey(getTileLeft(tile));
-        //return !getTileAbove(tile).equals(null) || !getTileRight(tile).equals(null) || !getTileBelow(tile).equals(null) || !getTileLeft(tile).equals(null);
+        int index = blockGrid.indexOf(tile);
+        if (index < 0) return false;
+
+        for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+            if (!blockGrid.isEmpty(blockGrid.neighbourOf(index, direction))) return true;
+        }
+        return false;
     }
 
     /**
@@ -84,76 +159,43 @@ public class MapManager implements IMapObserver {
      * @param block instance of the block to add to blockMap
      */
     void addBlockToMap(Coords tile, IBlock block) {
-        blockMap.putIfAbsent(tile, block);
-    }
-
-    /* Removes a block from the blockMap
-     @param tile the position of the block to remove */
-    private void removeBlockFromMap(Coords tile) {
-        blockMap.remove(tile);
+        int index = blockGrid.indexOf(tile);
+        if (index >= 0 && blockGrid.isEmpty(index)) {
+            blockGrid.set(index, block);
+            connectivity.tileAdded(index);
+            tileChanged(index);
+        }
     }
 
     /**
      * Getter for the blockMap
      *
-     * @return HashMap<Coords, IBlock> the blockMap
+     * @return Map<Coords, IBlock> read only view of the blockGrid
      */
-    HashMap<Coords, IBlock> getBlockMap() { return blockMap; }
-
-    private HashSet<Coords> getConnectedTiles(Coords tile) {
-        return getConnectedTiles(tile, new HashSet<>());
-    }
-
-    private HashSet<Coords> getConnectedTiles(Coords tile, HashSet<Coords> connectedTiles) {
-        connectedTiles.add(tile);
-
-        List<Coords> popNeighbours = getPopulatedNeighbourTiles(tile);
-        for (Coords neighbour : popNeighbours) {
-            if (!connectedTiles.contains(neighbour)) {  // Check the neighbours of neighbour if it isn't null and it is not already visited
-                getConnectedTiles(neighbour, connectedTiles);
-            }
-        }
-
-        return connectedTiles;
-    }
-
-    private List<Coords> getPopulatedNeighbourTiles(Coords tile) {
-        List<Coords> populatedNeighbourTiles = new ArrayList<>();
-
-        for (Coords coords : getNeighbourTiles(tile)) {
-            if (blockMap.get(coords) != null) populatedNeighbourTiles.add(coords);
-        }
-        return populatedNeighbourTiles;
-    }
-
-    private List<Coords> getNeighbourTiles(Coords tile) {
-        return Arrays.asList(getTileAbove(tile), getTileRight(tile), getTileBelow(tile), getTileLeft(tile));
-    }
+    Map<Coords, IBlock> getBlockMap() { return blockGrid.asMap(); }
 
-    private Coords getTileAbove(Coords tile) {
-        return new Coords(tile.getX(), tile.getY() - 1);
-    }
-
-    private Coords getTileRight(Coords tile) {
-        return new Coords(tile.getX() + 1, tile.getY());
-    }
-
-    private Coords getTileBelow(Coords tile) {
-        return new Coords(tile.getX(), tile.getY() + 1);
-    }
+    /**
+     * Getter for the blockGrid
+     *
+     * @return TileGrid of all blocks on the map
+     */
+    TileGrid getBlockGrid() { return blockGrid; }
 
-    private Coords getTileLeft(Coords tile) {
-        return new Coords(tile.getX() - 1, tile.getY());
+    private void tileChanged(int index) {
+        if (blockMesh != null) blockMesh.tileChanged(index);
     }
 
     /**
-     * Method is called when a block has died (enemy has killed it) and updates the map with correct info about blocks
+     * Method is called when a block has died (enemy has killed it). The tile is removed from the map, together with
+     * the blocks that are levitating because of it, on the next flushRemovedTiles. Only blocks on the map observe it,
+     * so the block on the tile right now is the one that died, it is kept so the flush doesn't remove a block that is
+     * placed on the tile later
      *
      * @param tileRemoved the position of the block that has died
      */
     @Override
     public void update(Coords tileRemoved) {    // block has died
-        removeBlockFromMap(tileRemoved);
-        removeAllLevitatingTiles();
+        removedTiles.add(tileRemoved);
+        removedBlocks.add(blockGrid.get(tileRemoved));
     }
 }
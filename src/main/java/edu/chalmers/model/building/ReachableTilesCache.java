@@ -0,0 +1,134 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.services.Coords;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache of the empty tiles inside the player's build range. The tiles are only recalculated when the player moves
+ * to another tile or the map changes (TileGrid revision), and every recalculation keeps a diff of which tiles were
+ * shown and hidden so a view only has to update those. Nothing is allocated when neither has changed.
+ * The Coords in the lists are shared between calls and must not be modified.
+ */
+public class ReachableTilesCache {
+    private final TileGrid grid;
+    private final int buildRangeTiles;
+
+    private int playerTileX;
+    private int playerTileY;
+    private int revision;
+    private boolean calculated = false;
+
+    private final boolean[] reachable;  // If a tile is currently an empty reachable tile
+    private final int[] markStamp;      // Tiles marked with the current stamp are reachable after the recalculation
+    private int stamp = 0;
+    private final Coords[] tileCoords;  // Coords of every tile, created the first time the tile is used
+
+    private final List<Coords> emptyReachableTiles = new ArrayList<>();
+    private final List<Coords> tilesToShow = new ArrayList<>();
+    private final List<Coords> tilesToHide = new ArrayList<>();
+    private final List<Coords> emptyReachableTilesView = Collections.unmodifiableList(emptyReachableTiles);
+    private final List<Coords> tilesToShowView = Collections.unmodifiableList(tilesToShow);
+    private final List<Coords> tilesToHideView = Collections.unmodifiableList(tilesToHide);
+
+    public ReachableTilesCache(TileGrid grid, int buildRangeTiles) {
+        this.grid = grid;
+        this.buildRangeTiles = buildRangeTiles;
+        this.reachable = new boolean[grid.getTileCount()];
+        this.markStamp = new int[grid.getTileCount()];
+        this.tileCoords = new Coords[grid.getTileCount()];
+    }
+
+    /**
+     * Method recalculates the empty reachable tiles if the player tile or the map has changed since the last call
+     *
+     * @param playerTileX x value of the tile the player is on
+     * @param playerTileY y value of the tile the player is on
+     * @return true if the empty reachable tiles were recalculated, the diff is then in getTilesToShow and getTilesToHide
+     */
+    public boolean update(int playerTileX, int playerTileY) {
+        if (calculated && playerTileX == this.playerTileX && playerTileY == this.playerTileY && grid.getRevision() == revision) {
+            return false;
+        }
+
+        this.playerTileX = playerTileX;
+        this.playerTileY = playerTileY;
+        this.revision = grid.getRevision();
+        this.calculated = true;
+        recalculate();
+        return true;
+    }
+
+    /**
+     * Getter for the empty tiles in build range, from the latest update
+     *
+     * @return read only list of empty reachable tiles
+     */
+    public List<Coords> getEmptyReachableTiles() {
+        return emptyReachableTilesView;
+    }
+
+    /**
+     * Getter for the tiles that became empty reachable tiles in the latest recalculation
+     *
+     * @return read only list of tiles to show
+     */
+    public List<Coords> getTilesToShow() {
+        return tilesToShowView;
+    }
+
+    /**
+     * Getter for the tiles that stopped being empty reachable tiles in the latest recalculation
+     *
+     * @return read only list of tiles to hide
+     */
+    public List<Coords> getTilesToHide() {
+        return tilesToHideView;
+    }
+
+    private void recalculate() {
+        stamp++;
+        tilesToShow.clear();
+        tilesToHide.clear();
+
+        // Mark the new reachable tiles, the ones not reachable before are shown
+        for (int x = playerTileX - buildRangeTiles; x <= playerTileX + buildRangeTiles; x++) {
+            for (int y = playerTileY - buildRangeTiles; y <= playerTileY + buildRangeTiles; y++) {
+                int tile = grid.indexOf(x, y);
+                if (tile >= 0 && grid.isEmpty(tile)) {
+                    markStamp[tile] = stamp;
+                    if (!reachable[tile]) {
+                        reachable[tile] = true;
+                        tilesToShow.add(coordsOf(tile));
+                    }
+                }
+            }
+        }
+
+        // Previously reachable tiles that weren't marked are hidden
+        for (int i = 0; i < emptyReachableTiles.size(); i++) {
+            int tile = grid.indexOf(emptyReachableTiles.get(i));
+            if (markStamp[tile] != stamp) {
+                reachable[tile] = false;
+                tilesToHide.add(emptyReachableTiles.get(i));
+            }
+        }
+
+        emptyReachableTiles.clear();
+        for (int x = playerTileX - buildRangeTiles; x <= playerTileX + buildRangeTiles; x++) {
+            for (int y = playerTileY - buildRangeTiles; y <= playerTileY + buildRangeTiles; y++) {
+                int tile = grid.indexOf(x, y);
+                if (tile >= 0 && markStamp[tile] == stamp) emptyReachableTiles.add(coordsOf(tile));
+            }
+        }
+    }
+
+    private Coords coordsOf(int tile) {
+        if (tileCoords[tile] == null) {
+            tileCoords[tile] = grid.toCoords(tile);
+        }
+        return tileCoords[tile];
+    }
+}
@@ -0,0 +1,522 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.services.Coords;
+
+import java.util.*;
+
+/**
+ * StructuralConnectivity keeps track of which connected component every destroyable tile belongs to and
+ * whether that component is anchored (touches a block that can't be destroyed). When a tile is removed only
+ * the component the tile belonged to is re-checked, instead of searching the whole map.
+ * Tiles are handled as TileGrid indexes and all search buffers are reused, so updates don't allocate.
+ * Several removals can be marked and then resolved together, each affected component is only searched once.
+ */
+class StructuralConnectivity {
+    private final TileGrid grid;
+
+    private final int[] componentOfTile;        // Component id of every destroyable tile, -1 for other tiles
+    private int[] componentSize = new int[16];  // Amount of tiles in every component
+    private int[] componentAnchors = new int[16];   // Amount of (tile, indestructible neighbour) contacts in every component
+    private final IntList freeComponentIds = new IntList();
+    private int nextComponentId = 0;
+
+    private final IntList unsupportedTiles = new IntList();
+    private final IntQueue floodQueue = new IntQueue();
+    private final IntList affectedComponents = new IntList();   // Components touched by tiles marked as removed
+    private final IntList seedTiles = new IntList();            // Neighbours of tiles marked as removed
+    private int[] componentResolved = new int[16];
+    private int resolveStamp = 0;
+    private final List<PieceSearch> searches = new ArrayList<>();
+    private final int[] claimStamp;     // Tiles with the current stamp are claimed by the search in claimOwner
+    private final int[] claimOwner;
+    private int stamp = 0;
+
+    StructuralConnectivity(TileGrid grid) {
+        this.grid = grid;
+        this.componentOfTile = new int[grid.getTileCount()];
+        this.claimStamp = new int[grid.getTileCount()];
+        this.claimOwner = new int[grid.getTileCount()];
+        rebuild();
+    }
+
+    /**
+     * Recalculates all components from the grid.
+     */
+    void rebuild() {
+        Arrays.fill(componentOfTile, -1);
+        freeComponentIds.clear();
+        nextComponentId = 0;
+
+        for (int tile = 0; tile < componentOfTile.length; tile++) {
+            if (isDestroyable(tile) && componentOfTile[tile] < 0) {
+                floodComponent(tile, newComponent());
+            }
+        }
+    }
+
+    /**
+     * Method updates the components after a tile has been added to the grid
+     *
+     * @param tile index of the tile that was added
+     */
+    void tileAdded(int tile) {
+        if (grid.isEmpty(tile) || componentOfTile[tile] >= 0) return;
+
+        if (!isDestroyable(tile)) {   // An indestructible block anchors all components next to it
+            for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                int component = componentOf(grid.neighbourOf(tile, direction));
+                if (component >= 0) componentAnchors[component]++;
+            }
+            return;
+        }
+
+        // Merge every neighbouring component into the biggest one, the tile itself joins it as well
+        int biggest = -1;
+        for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+            int component = componentOf(grid.neighbourOf(tile, direction));
+            if (component >= 0 && (biggest < 0 || componentSize[component] > componentSize[biggest])) {
+                biggest = component;
+            }
+        }
+
+        if (biggest < 0) biggest = newComponent();
+
+        for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+            int neighbour = grid.neighbourOf(tile, direction);
+            int component = componentOf(neighbour);
+            if (component >= 0 && component != biggest) {
+                mergeComponents(component, biggest, neighbour);
+            }
+        }
+
+        componentOfTile[tile] = biggest;
+        componentSize[biggest]++;
+        componentAnchors[biggest] += countAnchors(tile);
+    }
+
+    /**
+     * Method updates the components after a tile has been removed from the grid.
+     * Tiles that no longer are connected to an indestructible block are forgotten by this class and can be read
+     * with getUnsupportedTile until the next call, they are NOT removed from the grid.
+     *
+     * @param tile index of the tile that was removed
+     * @return amount of tiles that became unsupported because of the removal
+     */
+    int tileRemoved(int tile) {
+        markRemoved(tile);
+        return resolveRemovals();
+    }
+
+    /**
+     * Method registers a tile that has been removed from the grid without checking the components it affected.
+     * Call resolveRemovals once all tiles removed this frame have been marked.
+     *
+     * @param tile index of the tile that was removed
+     */
+    void markRemoved(int tile) {
+        int component = componentOf(tile);
+
+        if (component >= 0) {
+            componentOfTile[tile] = -1;
+            componentSize[component]--;
+            componentAnchors[component] -= countAnchors(tile);
+            affectedComponents.add(component);
+        }
+
+        for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+            int neighbour = grid.neighbourOf(tile, direction);
+            int neighbourComponent = componentOf(neighbour);
+            if (neighbourComponent >= 0) {
+                if (component < 0) componentAnchors[neighbourComponent]--;   // An indestructible block (or nothing) was removed, neighbours lose an anchor
+                affectedComponents.add(neighbourComponent);
+                seedTiles.add(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Method checks every component affected by the tiles marked as removed, one search per component no matter how
+     * many of its tiles were removed. Tiles that no longer are connected to an indestructible block are forgotten by
+     * this class and can be read with getUnsupportedTile until the next call, they are NOT removed from the grid.
+     *
+     * @return amount of tiles that became unsupported because of the removals
+     */
+    int resolveRemovals() {
+        unsupportedTiles.clear();
+        resolveStamp++;
+
+        for (int i = 0; i < affectedComponents.size(); i++) {
+            int component = affectedComponents.get(i);
+            if (componentResolved[component] == resolveStamp) continue;
+            componentResolved[component] = resolveStamp;
+            resolveComponent(component);
+        }
+
+        affectedComponents.clear();
+        seedTiles.clear();
+        return unsupportedTiles.size();
+    }
+
+    // Finds the pieces a component has split into and forgets the pieces that aren't anchored anymore
+    private void resolveComponent(int component) {
+        int remainingSize = componentSize[component];
+        int remainingAnchors = componentAnchors[component];
+
+        int searchCount = splitComponent(component);
+
+        int unfinishedTile = -1;
+        for (int i = 0; i < searchCount; i++) {
+            PieceSearch piece = searches.get(i);
+            if (piece.isMerged()) continue;
+            if (!piece.isFinished()) {    // The unfinished piece (at most one) keeps the old component id
+                unfinishedTile = piece.visited.get(0);
+                continue;
+            }
+
+            remainingAnchors -= piece.anchors;
+            remainingSize -= piece.visited.size();
+
+            if (piece.anchors <= 0) {
+                for (int j = 0; j < piece.visited.size(); j++) {
+                    componentOfTile[piece.visited.get(j)] = -1;
+                    unsupportedTiles.add(piece.visited.get(j));
+                }
+            } else {
+                int pieceComponent = newComponent();
+                for (int j = 0; j < piece.visited.size(); j++) componentOfTile[piece.visited.get(j)] = pieceComponent;
+                componentSize[pieceComponent] = piece.visited.size();
+                componentAnchors[pieceComponent] = piece.anchors;
+            }
+        }
+
+        componentSize[component] = remainingSize;
+        componentAnchors[component] = remainingAnchors;
+        if (remainingSize == 0) {
+            freeComponentIds.add(component);
+        } else if (remainingAnchors <= 0) {
+            forgetComponent(component, unfinishedTile);
+        }
+    }
+
+    /**
+     * Getter for the tiles found by the latest call to tileRemoved
+     *
+     * @param i number of the unsupported tile, from 0 to the value tileRemoved returned
+     * @return index of the unsupported tile
+     */
+    int getUnsupportedTile(int i) {
+        return unsupportedTiles.get(i);
+    }
+
+    /**
+     * Method updates the components after a tile has been added to the grid
+     *
+     * @param tile the tile that was added
+     */
+    void tileAdded(Coords tile) {
+        int index = grid.indexOf(tile);
+        if (index >= 0) tileAdded(index);
+    }
+
+    /**
+     * Method updates the components after a tile has been removed from the grid
+     *
+     * @param tile the tile that was removed
+     * @return the tiles that became unsupported because of the removal
+     */
+    Set<Coords> tileRemoved(Coords tile) {
+        Set<Coords> unsupported = new HashSet<>();
+        int index = grid.indexOf(tile);
+        if (index < 0) return unsupported;
+
+        int count = tileRemoved(index);
+        for (int i = 0; i < count; i++) unsupported.add(grid.toCoords(getUnsupportedTile(i)));
+        return unsupported;
+    }
+
+    /**
+     * Method checks if a tile is part of an anchored structure
+     *
+     * @param tile the tile to check
+     * @return true if the tile is indestructible or connected to an indestructible block
+     */
+    boolean isAnchored(Coords tile) {
+        int index = grid.indexOf(tile);
+        if (grid.isEmpty(index)) return false;
+        if (!isDestroyable(index)) return true;
+
+        int component = componentOf(index);
+        return component >= 0 && componentAnchors[component] > 0;
+    }
+
+    /**
+     * Getter for the component id of a destroyable tile
+     *
+     * @param tile the tile
+     * @return component id or -1 if the tile isn't a destroyable tile
+     */
+    int getComponentId(Coords tile) {
+        return componentOf(grid.indexOf(tile));
+    }
+
+    /* Searches the pieces a component may have split into after tiles were removed. One search starts from every
+    seed tile (neighbour of a removed tile) in the component and the searches take turns exploring one tile each.
+    Searches that meet are merged, and once only one search is left unfinished the rest of the component can't have
+    changed. Returns the amount of searches used. */
+    private int splitComponent(int component) {
+        stamp++;
+        int searchCount = 0;
+
+        for (int i = 0; i < seedTiles.size(); i++) {
+            int seed = seedTiles.get(i);
+            if (componentOf(seed) == component && claimStamp[seed] != stamp) {
+                if (searchCount == searches.size()) searches.add(new PieceSearch());
+                searches.get(searchCount).reset();
+                claim(seed, searchCount);
+                searchCount++;
+            }
+        }
+
+        while (countUnfinished(searchCount) > 1) {
+            for (int s = 0; s < searchCount; s++) {
+                PieceSearch search = searches.get(s);
+                if (search.isMerged() || search.isFinished()) continue;
+
+                int tile = search.frontier.poll();
+                for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                    int neighbour = grid.neighbourOf(tile, direction);
+                    if (componentOf(neighbour) != component) continue;
+
+                    if (claimStamp[neighbour] != stamp) {
+                        claim(neighbour, s);
+                    } else {
+                        int owner = root(claimOwner[neighbour]);
+                        if (owner != s) {
+                            search.frontier.addFirst(tile);    // Rest of the neighbours get explored by the merged search
+                            searches.get(owner).absorb(search, owner);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        return searchCount;
+    }
+
+    private void claim(int tile, int search) {
+        claimStamp[tile] = stamp;
+        claimOwner[tile] = search;
+        searches.get(search).claim(tile, countAnchors(tile));
+    }
+
+    private int root(int search) {
+        while (searches.get(search).mergedInto >= 0) search = searches.get(search).mergedInto;
+        return search;
+    }
+
+    private int countUnfinished(int searchCount) {
+        int unfinished = 0;
+        for (int s = 0; s < searchCount; s++) {
+            if (!searches.get(s).isMerged() && !searches.get(s).isFinished()) unfinished++;
+        }
+        return unfinished;
+    }
+
+    private void floodComponent(int start, int component) {
+        int size = 0;
+        int anchors = 0;
+        floodQueue.clear();
+        floodQueue.add(start);
+        componentOfTile[start] = component;
+
+        while (!floodQueue.isEmpty()) {
+            int tile = floodQueue.poll();
+            size++;
+            anchors += countAnchors(tile);
+
+            for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                int neighbour = grid.neighbourOf(tile, direction);
+                if (isDestroyable(neighbour) && componentOfTile[neighbour] < 0) {
+                    componentOfTile[neighbour] = component;
+                    floodQueue.add(neighbour);
+                }
+            }
+        }
+
+        componentSize[component] = size;
+        componentAnchors[component] = anchors;
+    }
+
+    // Moves all tiles of a component to another component, start is any tile in the component being moved
+    private void mergeComponents(int from, int into, int start) {
+        relabel(start, from, into);
+        componentSize[into] += componentSize[from];
+        componentAnchors[into] += componentAnchors[from];
+        freeComponentIds.add(from);
+    }
+
+    // Removes a component and adds its tiles to unsupportedTiles, start is any tile in the component
+    private void forgetComponent(int component, int start) {
+        relabel(start, component, -1);
+        freeComponentIds.add(component);
+    }
+
+    private void relabel(int start, int from, int to) {
+        floodQueue.clear();
+        floodQueue.add(start);
+        componentOfTile[start] = to;
+
+        while (!floodQueue.isEmpty()) {
+            int tile = floodQueue.poll();
+            if (to < 0) unsupportedTiles.add(tile);
+
+            for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                int neighbour = grid.neighbourOf(tile, direction);
+                if (componentOf(neighbour) == from) {
+                    componentOfTile[neighbour] = to;
+                    floodQueue.add(neighbour);
+                }
+            }
+        }
+    }
+
+    private int newComponent() {
+        int component = freeComponentIds.size() > 0 ? freeComponentIds.removeLast() : nextComponentId++;
+        if (component >= componentSize.length) {
+            componentSize = Arrays.copyOf(componentSize, componentSize.length * 2);
+            componentAnchors = Arrays.copyOf(componentAnchors, componentAnchors.length * 2);
+            componentResolved = Arrays.copyOf(componentResolved, componentResolved.length * 2);
+        }
+        componentSize[component] = 0;
+        componentAnchors[component] = 0;
+        return component;
+    }
+
+    private int componentOf(int tile) {
+        return tile < 0 ? -1 : componentOfTile[tile];
+    }
+
+    // Counts how many indestructible blocks are next to a tile
+    private int countAnchors(int tile) {
+        int anchors = 0;
+        for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+            IBlock block = grid.get(grid.neighbourOf(tile, direction));
+            if (block != null && !block.canBeDestroyed()) anchors++;
+        }
+        return anchors;
+    }
+
+    private boolean isDestroyable(int tile) {
+        IBlock block = grid.get(tile);
+        return block != null && block.canBeDestroyed();
+    }
+
+    /* One breadth first search through a piece of a split component */
+    private static class PieceSearch {
+        private final IntQueue frontier = new IntQueue();
+        private final IntList visited = new IntList();
+        private int anchors;
+        private int mergedInto;
+
+        void reset() {
+            frontier.clear();
+            visited.clear();
+            anchors = 0;
+            mergedInto = -1;
+        }
+
+        void claim(int tile, int tileAnchors) {
+            frontier.add(tile);
+            visited.add(tile);
+            anchors += tileAnchors;
+        }
+
+        void absorb(PieceSearch other, int id) {
+            while (!other.frontier.isEmpty()) frontier.add(other.frontier.poll());
+            for (int i = 0; i < other.visited.size(); i++) visited.add(other.visited.get(i));
+            anchors += other.anchors;
+            other.mergedInto = id;
+        }
+
+        boolean isMerged() {
+            return mergedInto >= 0;
+        }
+
+        boolean isFinished() {
+            return frontier.isEmpty();
+        }
+    }
+
+    /* Growable list of ints */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /* Growable ring buffer of ints that can be added to at both ends */
+    private static class IntQueue {
+        private int[] values = new int[16];
+        private int head = 0;
+        private int size = 0;
+
+        void add(int value) {
+            grow();
+            values[(head + size) & (values.length - 1)] = value;
+            size++;
+        }
+
+        void addFirst(int value) {
+            grow();
+            head = (head - 1) & (values.length - 1);
+            values[head] = value;
+            size++;
+        }
+
+        int poll() {
+            int value = values[head];
+            head = (head + 1) & (values.length - 1);
+            size--;
+            return value;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        // Length is always a power of two so indexes can wrap with a mask
+        private void grow() {
+            if (size < values.length) return;
+            int[] grown = new int[values.length * 2];
+            for (int i = 0; i < size; i++) grown[i] = values[(head + i) & (values.length - 1)];
+            values = grown;
+            head = 0;
+        }
+    }
+}
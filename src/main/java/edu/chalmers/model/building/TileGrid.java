@@ -0,0 +1,311 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.services.Coords;
+
+import java.util.*;
+
+/**
+ * Dense grid of the blocks on a map. A tile is stored at the index y * width + x, looking up a tile or
+ * its neighbours by index doesn't allocate anything. Tiles outside of the grid are always empty.
+ */
+public class TileGrid {
+    /**
+     * Amount of neighbours of a tile, directions are 0 = above, 1 = right, 2 = below, 3 = left.
+     */
+    public static final int NEIGHBOURS = 4;
+
+    private final int width;
+    private final int height;
+    private final IBlock[] blocks;
+    private int blockCount = 0;
+    private int revision = 0;     // Increased every time a tile changes
+    private final Map<Coords, IBlock> mapView = new MapView();
+
+    public TileGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.blocks = new IBlock[width * height];
+    }
+
+    /**
+     * Getter for the width of the grid
+     *
+     * @return width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for the height of the grid
+     *
+     * @return height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Getter for the amount of tiles in the grid (populated or not)
+     *
+     * @return width * height
+     */
+    public int getTileCount() {
+        return blocks.length;
+    }
+
+    /**
+     * Getter for the amount of populated tiles
+     *
+     * @return amount of blocks in the grid
+     */
+    public int size() {
+        return blockCount;
+    }
+
+    /**
+     * Getter for the revision of the grid, the revision changes every time a tile changes
+     *
+     * @return revision counter
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Method checks if a tile is inside the grid
+     *
+     * @param x x value of tile
+     * @param y y value of tile
+     * @return boolean
+     */
+    public boolean isInside(int x, int y) {
+        return 0 <= x && x < width && 0 <= y && y < height;
+    }
+
+    /**
+     * Method gets the index of a tile
+     *
+     * @param x x value of tile
+     * @param y y value of tile
+     * @return index of tile or -1 if it is outside of the grid
+     */
+    public int indexOf(int x, int y) {
+        return isInside(x, y) ? y * width + x : -1;
+    }
+
+    /**
+     * Method gets the index of a tile
+     *
+     * @param tile the tile
+     * @return index of tile or -1 if it is outside of the grid
+     */
+    public int indexOf(Coords tile) {
+        return indexOf(tile.getX(), tile.getY());
+    }
+
+    /**
+     * Method gets the x value of a tile index
+     *
+     * @param index index of tile
+     * @return x value
+     */
+    public int getX(int index) {
+        return index % width;
+    }
+
+    /**
+     * Method gets the y value of a tile index
+     *
+     * @param index index of tile
+     * @return y value
+     */
+    public int getY(int index) {
+        return index / width;
+    }
+
+    /**
+     * Method creates Coords from a tile index
+     *
+     * @param index index of tile
+     * @return Coords of tile
+     */
+    public Coords toCoords(int index) {
+        return new Coords(getX(index), getY(index));
+    }
+
+    /**
+     * Method gets the index of a neighbour of a tile
+     *
+     * @param index     index of tile
+     * @param direction 0 = above, 1 = right, 2 = below, 3 = left
+     * @return index of neighbour or -1 if it is outside of the grid
+     */
+    public int neighbourOf(int index, int direction) {
+        switch (direction) {
+            case 0:
+                return index >= width ? index - width : -1;
+            case 1:
+                return index % width != width - 1 ? index + 1 : -1;
+            case 2:
+                return index < blocks.length - width ? index + width : -1;
+            case 3:
+                return index % width != 0 ? index - 1 : -1;
+            default:
+                throw new IllegalArgumentException("Direction must be between 0 and " + (NEIGHBOURS - 1));
+        }
+    }
+
+    /**
+     * Method gets the block on a tile
+     *
+     * @param index index of tile, -1 is treated as an empty tile outside of the grid
+     * @return block on the tile or null if empty
+     */
+    public IBlock get(int index) {
+        return index < 0 ? null : blocks[index];
+    }
+
+    /**
+     * Method gets the block on a tile
+     *
+     * @param x x value of tile
+     * @param y y value of tile
+     * @return block on the tile or null if empty
+     */
+    public IBlock get(int x, int y) {
+        return get(indexOf(x, y));
+    }
+
+    /**
+     * Method gets the block on a tile
+     *
+     * @param tile the tile
+     * @return block on the tile or null if empty
+     */
+    public IBlock get(Coords tile) {
+        return get(indexOf(tile));
+    }
+
+    /**
+     * Method checks if a tile is empty
+     *
+     * @param index index of tile
+     * @return boolean
+     */
+    public boolean isEmpty(int index) {
+        return get(index) == null;
+    }
+
+    /**
+     * Method places a block on a tile, replacing the previous block
+     *
+     * @param index index of tile
+     * @param block block to place, null empties the tile
+     * @return the previous block on the tile or null
+     */
+    public IBlock set(int index, IBlock block) {
+        if (index < 0 || index >= blocks.length) {
+            throw new IndexOutOfBoundsException("Tile index " + index + " is outside of the " + width + "x" + height + " grid");
+        }
+        IBlock previous = blocks[index];
+        blocks[index] = block;
+        if (previous == null && block != null) blockCount++;
+        if (previous != null && block == null) blockCount--;
+        if (previous != block) revision++;
+        return previous;
+    }
+
+    /**
+     * Method places a block on a tile, replacing the previous block
+     *
+     * @param tile  the tile
+     * @param block block to place
+     * @return the previous block on the tile or null
+     */
+    public IBlock put(Coords tile, IBlock block) {
+        return set(indexOf(tile), block);
+    }
+
+    /**
+     * Method removes the block on a tile
+     *
+     * @param index index of tile
+     * @return the removed block or null
+     */
+    public IBlock remove(int index) {
+        return index < 0 ? null : set(index, null);
+    }
+
+    /**
+     * Method removes the block on a tile
+     *
+     * @param tile the tile
+     * @return the removed block or null
+     */
+    public IBlock remove(Coords tile) {
+        return remove(indexOf(tile));
+    }
+
+    /**
+     * Read only Map view of the grid, used where a Map of the populated tiles is needed
+     *
+     * @return map from tile to block for every populated tile
+     */
+    public Map<Coords, IBlock> asMap() {
+        return mapView;
+    }
+
+    /* Read only Map backed by the grid, lookups go straight to the array */
+    private class MapView extends AbstractMap<Coords, IBlock> {
+        @Override
+        public IBlock get(Object key) {
+            return key instanceof Coords ? TileGrid.this.get((Coords) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return blockCount;
+        }
+
+        @Override
+        public Set<Entry<Coords, IBlock>> entrySet() {
+            return new AbstractSet<Entry<Coords, IBlock>>() {
+                @Override
+                public Iterator<Entry<Coords, IBlock>> iterator() {
+                    return new Iterator<Entry<Coords, IBlock>>() {
+                        private int next = findNext(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < blocks.length;
+                        }
+
+                        @Override
+                        public Entry<Coords, IBlock> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            Entry<Coords, IBlock> entry = new SimpleImmutableEntry<>(toCoords(next), blocks[next]);
+                            next = findNext(next + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return blockCount;
+                }
+            };
+        }
+
+        private int findNext(int from) {
+            while (from < blocks.length && blocks[from] == null) from++;
+            return from;
+        }
+    }
+}
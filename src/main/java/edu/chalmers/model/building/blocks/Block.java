@@ -2,51 +2,69 @@ package edu.chalmers.model.building.blocks;
 
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.EntityBuilder;
 import com.almasb.fxgl.entity.components.CollidableComponent;
 import com.almasb.fxgl.physics.PhysicsComponent;
 import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
 import com.almasb.fxgl.physics.box2d.dynamics.FixtureDef;
-import com.almasb.fxgl.time.TimerAction;
+import com.almasb.fxgl.texture.Texture;
 import edu.chalmers.model.EntityType;
+import edu.chalmers.model.ObserverList;
+import edu.chalmers.model.building.BlockDamageScheduler;
 import edu.chalmers.model.building.IBlock;
 import edu.chalmers.model.building.IBlockObservable;
+import edu.chalmers.model.building.IDamageable;
 import edu.chalmers.model.building.IMapObserver;
+import edu.chalmers.services.Coords;
+import edu.chalmers.utilities.Constants;
 import edu.chalmers.utilities.CoordsCalculations;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
-
-import static com.almasb.fxgl.dsl.FXGL.runOnce;
 
 /**
  * @author Malte Åkvist, Sam Salek
  * <p>
  * A class for Blocks that the player can build.
  */
-public class Block implements IBlock, IBlockObservable {
+public class Block implements IBlock, IBlockObservable, IDamageable {
 
     private Entity currentBlock;
+    private final Coords tile;
+    private Texture texture;        // View of the block, its image is swapped when the damage stage changes
+    private int damageStage = 0;
 
     private boolean testing = false; //Boolean used for testing
 
-    private int health = 100;
-    private TimerAction damageDelayTimer;
+    private int health = Constants.BLOCK_HEALTH;
+    private boolean dead = false;       // Collapsed and waiting to be removed
+    private BlockDamageScheduler damageScheduler;  // Handles the damage delay, damage is applied right away without one
+    private final ObserverList<IMapObserver> mapObservers = new ObserverList<>();
 
     public Block(Point2D mousePos) {
+        this(mousePos, true);
+    }
+
+    /**
+     * @param mousePos     position of the tile to place the block on
+     * @param hasCollision false if the block's collision is handled by a BlockCollisionMesh instead of its own body
+     */
+    public Block(Point2D mousePos, boolean hasCollision) {
         Point2D blockPosition = CoordsCalculations.posToTilePos(mousePos);
+        tile = CoordsCalculations.posToTile(mousePos);
+        texture = new Texture(BlockTextures.getInstance().getImage(damageStage));
 
-        PhysicsComponent physics = new PhysicsComponent();
-        physics.setBodyType(BodyType.STATIC);
-        physics.setFixtureDef(new FixtureDef().friction(0.0f));
-        currentBlock = FXGL.entityBuilder()
+        EntityBuilder builder = FXGL.entityBuilder()
                 .type(EntityType.BLOCK)
                 .at(((int) blockPosition.getX()), ((int) blockPosition.getY()))
-                .viewWithBBox(FXGL.getAssetLoader().loadTexture("BuildingBlock.png"))
-                .with(physics)
-                .with(new CollidableComponent(true))
-                .with("this", this)         // Adds a property with value of this class and the key String "this". Can be used to reach Block class when simply working with Entity's.
-                .buildAndAttach();
-
-        initDamageDelayTimer();
+                .viewWithBBox(texture)
+                .with("this", this);        // Adds a property with value of this class and the key String "this". Can be used to reach Block class when simply working with Entity's.
+
+        if (hasCollision) {
+            PhysicsComponent physics = new PhysicsComponent();
+            physics.setBodyType(BodyType.STATIC);
+            physics.setFixtureDef(new FixtureDef().friction(0.0f));
+            builder.with(physics).with(new CollidableComponent(true));
+        }
+        currentBlock = builder.buildAndAttach();
     }
 
     /**
@@ -64,8 +82,9 @@ public class Block implements IBlock, IBlockObservable {
      */
     @Override
     public void remove() {
-        if (canBeDestroyed()) {
+        if (canBeDestroyed() && currentBlock.isActive()) {     // Entity may already be gone if the block died while waiting to collapse
             FXGL.getGameWorld().removeEntity(currentBlock);
+            mapObservers.clear();
         }
     }
 
@@ -75,17 +94,53 @@ public class Block implements IBlock, IBlockObservable {
      * @param damage Amount of health points to be inflicted to the Block.
      */
     public void inflictDamage(int damage) {
-        if(!testing) {
-            if (damageDelayTimer.isExpired()) {
-                int damageDelayMilliseconds = 500;   // How often it can be inflicted damage
-                damageDelayTimer = runOnce(() -> health -= damage, Duration.millis(damageDelayMilliseconds));
-            }
+        if (dead) return;
+
+        if (!testing && damageScheduler != null) {
+            damageScheduler.inflictDamage(this, tile, damage);     // Applied through applyDamage after the damage delay
+        } else {
+            applyDamage(damage);
         }
-        else {
-            health-= damage;
+    }
+
+    /**
+     * Lower Block health with damage right away.
+     *
+     * @param damage Amount of health points to be removed from the Block.
+     */
+    @Override
+    public void applyDamage(int damage) {
+        if (!dead && currentBlock.isActive()) {     // Block may have been removed while the damage was pending
+            health -= damage;
+            checkHealth();
         }
+    }
+
+    /**
+     * Marks the Block as dead, it takes no more damage and never notifies its observers.
+     */
+    @Override
+    public void markDead() {
+        dead = true;
+        mapObservers.clear();
+    }
 
-        checkHealth();
+    /**
+     * Getter for if the Block is dead, a dead Block has collapsed and is waiting to be removed.
+     *
+     * @return boolean
+     */
+    public boolean isDead() {
+        return dead;
+    }
+
+    /**
+     * Setter for the damageScheduler that handles how often the Block can take damage.
+     *
+     * @param damageScheduler the map's damage scheduler.
+     */
+    public void setDamageScheduler(BlockDamageScheduler damageScheduler) {
+        this.damageScheduler = damageScheduler;
     }
 
     /**
@@ -102,9 +157,7 @@ public class Block implements IBlock, IBlockObservable {
      */
     @Override
     public void notifyObservers() {
-        for (IMapObserver IMapObserver : IMapObservers) {
-            IMapObserver.update(CoordsCalculations.posToTile(currentBlock.getPosition()));
-        }
+        mapObservers.notifyEach(IMapObserver::update, tile);
     }
 
     /**
@@ -114,7 +167,27 @@ public class Block implements IBlock, IBlockObservable {
      */
     @Override
     public void addObserver(IMapObserver IMapObserver) {
-        IMapObservers.add(IMapObserver);
+        mapObservers.add(IMapObserver);
+    }
+
+    /**
+     * Removes an observer from the mapObserver list
+     *
+     * @param IMapObserver a mapObserver
+     */
+    @Override
+    public void removeObserver(IMapObserver IMapObserver) {
+        mapObservers.remove(IMapObserver);
+    }
+
+    /**
+     * Getter for the amount of mapObservers
+     *
+     * @return amount of mapObservers
+     */
+    @Override
+    public int getObserverCount() {
+        return mapObservers.size();
     }
 
     //Method checks the block's health and takes appropriate course of action based on health left.
@@ -122,10 +195,8 @@ public class Block implements IBlock, IBlockObservable {
         // Remove block if its health becomes 0 or lower
         if (health <= 0) {
             destroyAndNotify();
-        } else if (health <= 30) {
-            changeTexture("BuildingBlockDamageStage2.png");
-        } else if (health <= 70) {
-            changeTexture("BuildingBlockDamageStage1.png");
+        } else {
+            setDamageStage(BlockTextures.getDamageStage(health));
         }
     }
 
@@ -133,19 +204,25 @@ public class Block implements IBlock, IBlockObservable {
     private void destroyAndNotify() {
         FXGL.getGameWorld().removeEntity(currentBlock);
         notifyObservers();
+        mapObservers.clear();
     }
 
-    //Method changes the block's texture to a texture file with the given name.
-    //@param textureName Name of texture file
-    private void changeTexture(String textureName) {
-        currentBlock.getViewComponent().clearChildren();
-        currentBlock.getViewComponent().addChild(FXGL.getAssetLoader().loadTexture(textureName));
+    //Method swaps the image of the block's view if the damage stage has changed.
+    //@param damageStage the new damage stage
+    private void setDamageStage(int damageStage) {
+        if (this.damageStage != damageStage) {
+            this.damageStage = damageStage;
+            texture.setImage(BlockTextures.getInstance().getImage(damageStage));
+        }
     }
 
-    //Method initiates damage delay timer.
-    private void initDamageDelayTimer() {
-        damageDelayTimer = runOnce(() -> {
-        }, Duration.seconds(0));
+    /**
+     * Getter for the damage stage the block is drawn with.
+     *
+     * @return 0 if undamaged, 1 or 2 for the damaged textures.
+     */
+    public int getDamageStage() {
+        return damageStage;
     }
 
     /**
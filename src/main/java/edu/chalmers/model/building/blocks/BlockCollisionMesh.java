@@ -0,0 +1,95 @@
+package edu.chalmers.model.building.blocks;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import com.almasb.fxgl.physics.PhysicsComponent;
+import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
+import com.almasb.fxgl.physics.box2d.dynamics.FixtureDef;
+import edu.chalmers.model.EntityType;
+import edu.chalmers.model.building.BlockMesh;
+import edu.chalmers.model.building.IBlock;
+import edu.chalmers.model.building.IBlockMeshObserver;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.utilities.CoordsCalculations;
+import edu.chalmers.utilities.EntityPos;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collision bodies for player built blocks when they are merged by a BlockMesh. Every rectangle of the mesh is one
+ * static entity of type BLOCK, the blocks themselves only have a view. Contacts with a rectangle are mapped back to
+ * the block on the touched tile so every block keeps its own health.
+ */
+public class BlockCollisionMesh implements IBlockMeshObserver {
+    private final TileGrid grid;
+    private final Map<BlockMesh.Rect, Entity> bodies = new HashMap<>();
+
+    public BlockCollisionMesh(TileGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Removes the bodies of removed rectangles and creates bodies for the added ones
+     *
+     * @param removedRects rectangles that are no longer part of the mesh
+     * @param addedRects   rectangles that were added to the mesh
+     */
+    @Override
+    public void update(List<BlockMesh.Rect> removedRects, List<BlockMesh.Rect> addedRects) {
+        for (int i = 0; i < removedRects.size(); i++) {
+            Entity body = bodies.remove(removedRects.get(i));
+            if (body != null && body.isActive()) FXGL.getGameWorld().removeEntity(body);
+        }
+        for (int i = 0; i < addedRects.size(); i++) {
+            bodies.put(addedRects.get(i), createBody(addedRects.get(i)));
+        }
+    }
+
+    /**
+     * Method finds the block a colliding entity is touching, the closest tile of the rectangle to the entity's middle
+     *
+     * @param other the entity colliding with the rectangle
+     * @param body  the entity of the rectangle
+     * @return the touched block or null if the tile has no Block
+     */
+    public Block getContactBlock(Entity other, Entity body) {
+        double contactX = clamp(EntityPos.getMiddleX(other), body.getX(), body.getRightX() - 1);
+        double contactY = clamp(EntityPos.getMiddleY(other), body.getY(), body.getBottomY() - 1);
+
+        IBlock block = grid.get(CoordsCalculations.posToTileX(contactX), CoordsCalculations.posToTileY(contactY));
+        return block instanceof Block ? (Block) block : null;
+    }
+
+    /**
+     * Getter for the amount of collision bodies
+     *
+     * @return amount of bodies
+     */
+    public int getBodyCount() {
+        return bodies.size();
+    }
+
+    private Entity createBody(BlockMesh.Rect rect) {
+        PhysicsComponent physics = new PhysicsComponent();
+        physics.setBodyType(BodyType.STATIC);
+        physics.setFixtureDef(new FixtureDef().friction(0.0f));
+
+        return FXGL.entityBuilder()
+                .type(EntityType.BLOCK)
+                .at(CoordsCalculations.tilesToLength(rect.getX()), CoordsCalculations.tilesToLength(rect.getY()))
+                .bbox(new HitBox(BoundingShape.box(CoordsCalculations.tilesToLength(rect.getWidth()), CoordsCalculations.tilesToLength(rect.getHeight()))))
+                .with(physics)
+                .with(new CollidableComponent(true))
+                .with("mesh", this)         // Used to map a contact back to a Block, see getContactBlock
+                .buildAndAttach();
+    }
+
+    private double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
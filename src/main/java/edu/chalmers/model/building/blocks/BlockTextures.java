@@ -0,0 +1,60 @@
+package edu.chalmers.model.building.blocks;
+
+import com.almasb.fxgl.dsl.FXGL;
+import javafx.scene.image.Image;
+
+/**
+ * Singleton cache of the images of a Block's damage stages. Every image is decoded once and shared by all blocks,
+ * a block changing damage stage only swaps the image of its existing view.
+ */
+public class BlockTextures {
+    private static BlockTextures instance;
+
+    private static final String[] STAGE_TEXTURES = {"BuildingBlock.png", "BuildingBlockDamageStage1.png", "BuildingBlockDamageStage2.png"};
+    private final Image[] stageImages = new Image[STAGE_TEXTURES.length];
+
+    // Use 'getInstance' to get access
+    private BlockTextures() {
+    }
+
+    /**
+     * Singleton. Gets instance of this class, and creates one if instance doesn't already exist.
+     *
+     * @return Returns the singleton instance of the class.
+     */
+    public static BlockTextures getInstance() {
+        if (instance == null) {
+            instance = new BlockTextures();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Method gets the damage stage of a block with a certain health
+     *
+     * @param health health of the block
+     * @return 0 if undamaged, 1 if health is 70 or lower and 2 if health is 30 or lower
+     */
+    public static int getDamageStage(int health) {
+        if (health <= 30) {
+            return 2;
+        } else if (health <= 70) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Getter for the image of a damage stage, the image is loaded the first time it is needed
+     *
+     * @param damageStage the damage stage
+     * @return the shared image
+     */
+    public Image getImage(int damageStage) {
+        if (stageImages[damageStage] == null) {
+            stageImages[damageStage] = FXGL.getAssetLoader().loadImage(STAGE_TEXTURES[damageStage]);
+        }
+        return stageImages[damageStage];
+    }
+}
@@ -19,16 +19,19 @@ public class EnemyComponent extends Component {
     private final int AMOUNT_OF_JUMPS = 1;
     private IEnemyType enemyType;
     private PhysicsComponent physics;
-    private int jumps = 0;
-    private boolean onGround = false;
-    private boolean isAirborne = false;
 
-    // STATS
+    // STATS, jumps and flags are stored in the EnemyCore while the component is added to an Entity, in the fields otherwise
+    private EnemyCore core;
+    private int slot = -1;
+    private int profile;        // Ordinal of the Enemy type in the EnemyProfileRegistry
     private int health;
     private int damage;
     private int blockDamage;
     private int moveSpeed;
     private int jumpHeight;
+    private int jumps = 0;
+    private boolean onGround = false;
+    private boolean isAirborne = false;
 
     public EnemyComponent(IEnemyType enemyType, StatMultiplier statMultiplier) {
         this.enemyType = enemyType;
@@ -42,13 +45,70 @@ public class EnemyComponent extends Component {
         this.blockDamage = enemyType.getBlockDamage();
         this.moveSpeed = (int) Math.round(enemyType.getMoveSpeed() * statMultiplier.getSpeedMultiplier());
         this.jumpHeight = (int) Math.round(enemyType.getJumpHeight() * statMultiplier.getJmpHeightMultiplier());
+        profile = EnemyProfileRegistry.getInstance().getOrdinal(enemyType);
+    }
+
+    /**
+     * Method moves the Enemy's state into a slot of the shared EnemyCore.
+     */
+    @Override
+    public void onAdded() {
+        core = EnemyCore.getInstance();
+        slot = core.add(this);
+        core.setHealth(slot, health);
+        core.setDamage(slot, damage);
+        core.setBlockDamage(slot, blockDamage);
+        core.setMoveSpeed(slot, moveSpeed);
+        core.setJumpHeight(slot, jumpHeight);
+        core.setJumps(slot, jumps);
+        core.setOnGround(slot, onGround);
+        core.setAirborne(slot, isAirborne);
+    }
+
+    /**
+     * Method moves the Enemy's state out of the shared EnemyCore when it is removed, so the component keeps working
+     * without taking up a slot.
+     */
+    @Override
+    public void onRemoved() {
+        if (slot < 0) {
+            return;
+        }
+        health = core.getHealth(slot);
+        damage = core.getDamage(slot);
+        blockDamage = core.getBlockDamage(slot);
+        moveSpeed = core.getMoveSpeed(slot);
+        jumpHeight = core.getJumpHeight(slot);
+        jumps = core.getJumps(slot);
+        onGround = core.isOnGround(slot);
+        isAirborne = core.isAirborne(slot);
+        core.remove(slot);
+        slot = -1;
+    }
+
+    /**
+     * Setter for the slot, called by the EnemyCore when it moves the Enemy to another slot.
+     *
+     * @param slot The new slot.
+     */
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Getter for the Enemy's slot in the EnemyCore.
+     *
+     * @return The slot, or -1 if the component isn't added to an Entity.
+     */
+    public int getSlot() {
+        return slot;
     }
 
     /**
      * Method moves enemy Entity left (negative x).
      */
     public void moveLeft() {
-        physics.setVelocityX(-moveSpeed);
+        physics.setVelocityX(-getMoveSpeed());
         if (entity.hasComponent(AnimationComponent.class)) {
             entity.getComponent(AnimationComponent.class).moveLeft();
         }
@@ -58,7 +118,7 @@ public class EnemyComponent extends Component {
      * Method moves enemy Entity right (positive x).
      */
     public void moveRight() {
-        physics.setVelocityX(moveSpeed);
+        physics.setVelocityX(getMoveSpeed());
         if (entity.hasComponent(AnimationComponent.class)) {
             entity.getComponent(AnimationComponent.class).moveRight();
         }
@@ -68,10 +128,10 @@ public class EnemyComponent extends Component {
      * Method moves enemy Entity up (negative y).
      */
     public void jump() {
-        if (jumps != 0) {
-            physics.setVelocityY(-jumpHeight);
+        if (getJumps() != 0) {
+            physics.setVelocityY(-getJumpHeight());
             entity.getComponent(AnimationComponent.class).jump();
-            jumps--;
+            setJumps(getJumps() - 1);
         }
     }
 
@@ -102,7 +162,7 @@ public class EnemyComponent extends Component {
      * Resets enemy's jumps to be equal to amountOfJumps variable.
      */
     public void resetJumpAmounts() {
-        jumps = AMOUNT_OF_JUMPS;
+        setJumps(AMOUNT_OF_JUMPS);
     }
 
     /**
@@ -111,7 +171,11 @@ public class EnemyComponent extends Component {
      * @param damage The amount of incoming damage.
      */
     public void inflictDamage(int damage) {
-        health -= damage;
+        if (slot < 0) {
+            health -= damage;
+        } else {
+            core.setHealth(slot, core.getHealth(slot) - damage);
+        }
         checkHealth();
     }
 
@@ -119,7 +183,7 @@ public class EnemyComponent extends Component {
      * Kills Enemy if its health becomes 0 or lower.
      */
     private void checkHealth() {
-        if (health <= 0) {
+        if (getHealth() <= 0) {
             die();
         }
     }
@@ -186,7 +250,7 @@ public class EnemyComponent extends Component {
      * @return The amount of damage the enemy can inflict on an other Entity.
      */
     public int getDamage() {
-        return damage;
+        return slot < 0 ? damage : core.getDamage(slot);
     }
 
     /**
@@ -195,7 +259,7 @@ public class EnemyComponent extends Component {
      * @return The amount of damage the enemy can inflict on Block.
      */
     public int getBlockDamage() {
-        return blockDamage;
+        return slot < 0 ? blockDamage : core.getBlockDamage(slot);
     }
 
     /**
@@ -204,7 +268,7 @@ public class EnemyComponent extends Component {
      * @return The health of the Enemy.
      */
     public int getHealth() {
-        return health;
+        return slot < 0 ? health : core.getHealth(slot);
     }
 
     /**
@@ -213,7 +277,7 @@ public class EnemyComponent extends Component {
      * @return The move speed of the Enemy.
      */
     public int getMoveSpeed() {
-        return moveSpeed;
+        return slot < 0 ? moveSpeed : core.getMoveSpeed(slot);
     }
 
     /**
@@ -222,7 +286,7 @@ public class EnemyComponent extends Component {
      * @return The jump height of the Enemy.
      */
     public int getJumpHeight() {
-        return jumpHeight;
+        return slot < 0 ? jumpHeight : core.getJumpHeight(slot);
     }
 
     /**
@@ -231,7 +295,7 @@ public class EnemyComponent extends Component {
      * @return The amount og jumps left.
      */
     public int getJumps() {
-        return jumps;
+        return slot < 0 ? jumps : core.getJumps(slot);
     }
 
     /**
@@ -240,7 +304,7 @@ public class EnemyComponent extends Component {
      * @return True (Enemy is on the ground *or* has most recently not touched a platform) or False (Enemy has not touched the ground since touching a platform).
      */
     public boolean isOnGround() {
-        return onGround;
+        return slot < 0 ? onGround : core.isOnGround(slot);
     }
 
     /**
@@ -249,7 +313,11 @@ public class EnemyComponent extends Component {
      * @param onGround True or False.
      */
     public void setOnGround(boolean onGround) {
-        this.onGround = onGround;
+        if (slot < 0) {
+            this.onGround = onGround;
+        } else {
+            core.setOnGround(slot, onGround);
+        }
     }
 
     // -------- SETTERS -------- //
@@ -260,7 +328,7 @@ public class EnemyComponent extends Component {
      * @return True (Enemy is in the air) or False (Enemy is on platform or ground).
      */
     public boolean isAirborne() {
-        return isAirborne;
+        return slot < 0 ? isAirborne : core.isAirborne(slot);
     }
 
     /**
@@ -269,7 +337,11 @@ public class EnemyComponent extends Component {
      * @param airborne True or False.
      */
     public void setAirborne(boolean airborne) {
-        isAirborne = airborne;
+        if (slot < 0) {
+            isAirborne = airborne;
+        } else {
+            core.setAirborne(slot, airborne);
+        }
     }
 
     /**
@@ -278,7 +350,7 @@ public class EnemyComponent extends Component {
      * @param moveSpeedMultiplier Move speed multiplier.
      */
     public void setMoveSpeedMultiplier(double moveSpeedMultiplier) {
-        moveSpeed = (int) Math.round(enemyType.getMoveSpeed() * moveSpeedMultiplier);
+        setMoveSpeed((int) Math.round(enemyType.getMoveSpeed() * moveSpeedMultiplier));
     }
 
     /**
@@ -287,6 +359,51 @@ public class EnemyComponent extends Component {
      * @param jumpHeightMultiplier Jump height multiplier.
      */
     public void setJumpHeightMultiplier(double jumpHeightMultiplier) {
-        jumpHeight = (int) Math.round(enemyType.getJumpHeight() * jumpHeightMultiplier);
+        setJumpHeight((int) Math.round(enemyType.getJumpHeight() * jumpHeightMultiplier));
+    }
+
+    /**
+     * Sets Enemy's move speed and jump height to those of its type with a stat boost, read from the
+     * EnemyProfileRegistry's table.
+     *
+     * @param boost The boost, NONE for the type's original values.
+     */
+    public void setStatBoost(EnemyProfileRegistry.Boost boost) {
+        EnemyProfileRegistry registry = EnemyProfileRegistry.getInstance();
+        setMoveSpeed(registry.getMoveSpeed(profile, boost));
+        setJumpHeight(registry.getJumpHeight(profile, boost));
+    }
+
+    /**
+     * Getter for the ordinal of the Enemy's type in the EnemyProfileRegistry.
+     *
+     * @return The ordinal.
+     */
+    public int getProfileOrdinal() {
+        return profile;
+    }
+
+    private void setMoveSpeed(int value) {
+        if (slot < 0) {
+            moveSpeed = value;
+        } else {
+            core.setMoveSpeed(slot, value);
+        }
+    }
+
+    private void setJumpHeight(int value) {
+        if (slot < 0) {
+            jumpHeight = value;
+        } else {
+            core.setJumpHeight(slot, value);
+        }
+    }
+
+    private void setJumps(int value) {
+        if (slot < 0) {
+            jumps = value;
+        } else {
+            core.setJumps(slot, value);
+        }
     }
 }
@@ -0,0 +1,191 @@
+package edu.chalmers.model.enemy;
+
+import java.util.Arrays;
+
+/**
+ * EnemyCore. Stores the state of every Enemy in parallel arrays, one slot per Enemy, so a stage that touches every
+ * Enemy is a loop over arrays instead of a walk over objects. EnemyComponent is a view onto its slot while it is added
+ * to an Entity. Slots are kept dense: when an Enemy is removed the last Enemy is moved into its slot and its view is
+ * told about the new slot. Only the decision stage loops over the core, the decisions are applied through each
+ * EnemyComponent since applying one also sets the velocity of the Enemy's PhysicsComponent.
+ */
+public final class EnemyCore {
+
+    private static EnemyCore instance;
+
+    private static final int ON_GROUND = 1;
+    private static final int AIRBORNE = 2;
+
+    private int size = 0;
+    private EnemyComponent[] views = new EnemyComponent[64];
+    private int[] health = new int[64];
+    private int[] damage = new int[64];
+    private int[] blockDamage = new int[64];
+    private int[] moveSpeed = new int[64];
+    private int[] jumpHeight = new int[64];
+    private int[] jumps = new int[64];
+    private int[] flags = new int[64];           // ON_GROUND and AIRBORNE bits
+
+    private EnemyCore() {
+    }
+
+    /**
+     * Singleton. Gets instance of this class, and creates one if instance doesn't already exist.
+     *
+     * @return Returns the singleton instance of the class.
+     */
+    public static EnemyCore getInstance() {
+        if (instance == null) {
+            instance = new EnemyCore();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Method gives an Enemy a slot.
+     *
+     * @param view The EnemyComponent viewing the slot.
+     * @return The slot.
+     */
+    int add(EnemyComponent view) {
+        if (size == views.length) {
+            grow();
+        }
+
+        int slot = size++;
+        views[slot] = view;
+        health[slot] = 0;
+        damage[slot] = 0;
+        blockDamage[slot] = 0;
+        moveSpeed[slot] = 0;
+        jumpHeight[slot] = 0;
+        jumps[slot] = 0;
+        flags[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * Method frees the slot of a removed Enemy, the last Enemy is moved into it.
+     *
+     * @param slot The slot.
+     */
+    void remove(int slot) {
+        int last = --size;
+        if (slot != last) {
+            views[slot] = views[last];
+            health[slot] = health[last];
+            damage[slot] = damage[last];
+            blockDamage[slot] = blockDamage[last];
+            moveSpeed[slot] = moveSpeed[last];
+            jumpHeight[slot] = jumpHeight[last];
+            jumps[slot] = jumps[last];
+            flags[slot] = flags[last];
+            views[slot].setSlot(slot);
+        }
+        views[last] = null;     // Don't keep removed enemies alive
+    }
+
+    /**
+     * Getter for the amount of enemies in the core.
+     *
+     * @return Amount of enemies.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the EnemyComponent of a slot.
+     *
+     * @param slot The slot.
+     * @return The EnemyComponent.
+     */
+    public EnemyComponent getView(int slot) {
+        return views[slot];
+    }
+
+    // ---------- STATE OF A SLOT ---------- //
+
+    int getHealth(int slot) {
+        return health[slot];
+    }
+
+    void setHealth(int slot, int value) {
+        health[slot] = value;
+    }
+
+    int getDamage(int slot) {
+        return damage[slot];
+    }
+
+    void setDamage(int slot, int value) {
+        damage[slot] = value;
+    }
+
+    int getBlockDamage(int slot) {
+        return blockDamage[slot];
+    }
+
+    void setBlockDamage(int slot, int value) {
+        blockDamage[slot] = value;
+    }
+
+    int getMoveSpeed(int slot) {
+        return moveSpeed[slot];
+    }
+
+    void setMoveSpeed(int slot, int value) {
+        moveSpeed[slot] = value;
+    }
+
+    int getJumpHeight(int slot) {
+        return jumpHeight[slot];
+    }
+
+    void setJumpHeight(int slot, int value) {
+        jumpHeight[slot] = value;
+    }
+
+    int getJumps(int slot) {
+        return jumps[slot];
+    }
+
+    void setJumps(int slot, int value) {
+        jumps[slot] = value;
+    }
+
+    boolean isOnGround(int slot) {
+        return (flags[slot] & ON_GROUND) != 0;
+    }
+
+    void setOnGround(int slot, boolean value) {
+        flags[slot] = value ? flags[slot] | ON_GROUND : flags[slot] & ~ON_GROUND;
+    }
+
+    /**
+     * Getter for the airborne flag of a slot, read by the DecisionColumns.
+     *
+     * @param slot The slot.
+     * @return True or False.
+     */
+    public boolean isAirborne(int slot) {
+        return (flags[slot] & AIRBORNE) != 0;
+    }
+
+    void setAirborne(int slot, boolean value) {
+        flags[slot] = value ? flags[slot] | AIRBORNE : flags[slot] & ~AIRBORNE;
+    }
+
+    private void grow() {
+        int length = views.length * 2;
+        views = Arrays.copyOf(views, length);
+        health = Arrays.copyOf(health, length);
+        damage = Arrays.copyOf(damage, length);
+        blockDamage = Arrays.copyOf(blockDamage, length);
+        moveSpeed = Arrays.copyOf(moveSpeed, length);
+        jumpHeight = Arrays.copyOf(jumpHeight, length);
+        jumps = Arrays.copyOf(jumps, length);
+        flags = Arrays.copyOf(flags, length);
+    }
+}
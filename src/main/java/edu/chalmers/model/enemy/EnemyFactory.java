@@ -9,6 +9,7 @@ import edu.chalmers.model.AnimationComponent;
 import edu.chalmers.model.EntityType;
 import edu.chalmers.model.enemy.ai.EnemyAIComponent;
 import edu.chalmers.model.enemy.enemytypes.Blob;
+import edu.chalmers.model.enemy.enemytypes.IEnemyType;
 import edu.chalmers.model.enemy.enemytypes.Rex;
 import edu.chalmers.model.enemy.enemytypes.Zombie;
 
@@ -71,6 +72,15 @@ public class EnemyFactory {
             return blob;
         }
 
+        // Types defined only in the enemy profile file
+        IEnemyType dataType = EnemyProfileRegistry.getInstance().getDataType(enemyName);
+        if (dataType != null) {
+            EnemyComponent enemyComponent = new EnemyComponent(dataType, statMultiplier);
+            Entity enemy = buildEnemy(enemyComponent, x, y, player);
+            getGameWorld().addEntity(enemy);
+            return enemy;
+        }
+
         // Return null if String "enemyName" doesn't match any known type of Enemy.
         return null;
     }
@@ -0,0 +1,115 @@
+package edu.chalmers.model.enemy;
+
+import edu.chalmers.model.enemy.enemytypes.DataEnemyType;
+import edu.chalmers.model.enemy.enemytypes.IEnemyType;
+
+import java.util.Properties;
+
+/**
+ * EnemyProfile class. The stat improvement multipliers of an Enemy type, and the stats of a type that is only
+ * defined in the enemy profile file. Read from the file by EnemyProfileRegistry.
+ */
+public final class EnemyProfile {
+
+    private final String name;
+    private final double groundToPlatformSpeed;
+    private final double groundToPlatformJump;
+    private final double platformToPlatformSpeed;
+    private final double platformToPlatformJump;
+    private final IEnemyType dataType;          // Null if the type has a class of its own
+
+    EnemyProfile(String name, double groundToPlatformSpeed, double groundToPlatformJump,
+                 double platformToPlatformSpeed, double platformToPlatformJump, IEnemyType dataType) {
+        this.name = name;
+        this.groundToPlatformSpeed = groundToPlatformSpeed;
+        this.groundToPlatformJump = groundToPlatformJump;
+        this.platformToPlatformSpeed = platformToPlatformSpeed;
+        this.platformToPlatformJump = platformToPlatformJump;
+        this.dataType = dataType;
+    }
+
+    /**
+     * Method reads the profile of a type from the enemy profile file.
+     *
+     * @param name       Name of the type, as written in the file.
+     * @param properties The file.
+     * @return The profile.
+     */
+    static EnemyProfile fromProperties(String name, Properties properties) {
+        IEnemyType dataType = null;
+        if (properties.getProperty(name + ".health") != null) {
+            dataType = new DataEnemyType(name,
+                    getInt(properties, name, "health"),
+                    getInt(properties, name, "damage"),
+                    getInt(properties, name, "blockDamage"),
+                    getInt(properties, name, "moveSpeed"),
+                    getInt(properties, name, "jumpHeight"),
+                    getString(properties, name, "textureIdle"),
+                    getString(properties, name, "textureWalk"),
+                    getString(properties, name, "textureJump"));
+        }
+
+        return new EnemyProfile(name,
+                getMultiplier(properties, name, "groundToPlatformSpeed"),
+                getMultiplier(properties, name, "groundToPlatformJump"),
+                getMultiplier(properties, name, "platformToPlatformSpeed"),
+                getMultiplier(properties, name, "platformToPlatformJump"),
+                dataType);
+    }
+
+    /**
+     * Method creates a profile without any stat improvements, used for types missing from the file.
+     *
+     * @param name Name of the type.
+     * @return The profile.
+     */
+    static EnemyProfile withoutImprovements(String name) {
+        return new EnemyProfile(name, 1, 1, 1, 1, null);
+    }
+
+    private static double getMultiplier(Properties properties, String name, String key) {
+        String value = properties.getProperty(name + "." + key);
+        return value == null ? 1 : Double.parseDouble(value.trim());
+    }
+
+    private static int getInt(Properties properties, String name, String key) {
+        return Integer.parseInt(getString(properties, name, key));
+    }
+
+    private static String getString(Properties properties, String name, String key) {
+        String value = properties.getProperty(name + "." + key);
+        if (value == null) {
+            throw new IllegalArgumentException("Enemy profile " + name + " is missing " + key);
+        }
+        return value.trim();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getGroundToPlatformSpeed() {
+        return groundToPlatformSpeed;
+    }
+
+    public double getGroundToPlatformJump() {
+        return groundToPlatformJump;
+    }
+
+    public double getPlatformToPlatformSpeed() {
+        return platformToPlatformSpeed;
+    }
+
+    public double getPlatformToPlatformJump() {
+        return platformToPlatformJump;
+    }
+
+    /**
+     * Getter for the type defined in the file.
+     *
+     * @return The type, or null if the type has a class of its own.
+     */
+    public IEnemyType getDataType() {
+        return dataType;
+    }
+}
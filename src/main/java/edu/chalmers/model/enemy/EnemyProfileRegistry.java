@@ -0,0 +1,174 @@
+package edu.chalmers.model.enemy;
+
+import edu.chalmers.model.enemy.enemytypes.IEnemyType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * EnemyProfileRegistry. Loads the enemy profiles from the enemy profile file once and gives every Enemy type an
+ * ordinal. The first time a type is seen, its move speed and jump height are computed for every stat boost and put
+ * in a table at that ordinal, so switching an Enemy's stats is an array read. New types are added to the file, not
+ * to the AI.
+ */
+public final class EnemyProfileRegistry {
+
+    private static final String PROFILE_FILE = "/assets/enemies/enemyprofiles.properties";
+
+    private static EnemyProfileRegistry instance;
+
+    /**
+     * Stat boosts an Enemy can have, the AI picks one before a jump and goes back to NONE on the ground.
+     */
+    public enum Boost {NONE, GROUND_TO_PLATFORM, PLATFORM_TO_PLATFORM}
+
+    private static final int BOOSTS = Boost.values().length;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();     // Lower case type name -> ordinal
+    private final List<EnemyProfile> profiles = new ArrayList<>();     // Indexed by ordinal
+    private boolean[] computed = new boolean[8];                       // True if the ordinal's row is filled in
+    private int[] moveSpeeds = new int[8 * BOOSTS];                    // Indexed by ordinal * BOOSTS + boost
+    private int[] jumpHeights = new int[8 * BOOSTS];
+
+    // Use 'getInstance' to get access
+    EnemyProfileRegistry(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot < 0) {
+                continue;
+            }
+            String name = key.substring(0, dot);
+            if (!ordinals.containsKey(name.toLowerCase(Locale.ROOT))) {
+                addProfile(EnemyProfile.fromProperties(name, properties));
+            }
+        }
+    }
+
+    /**
+     * Singleton. Gets instance of this class, and creates one if instance doesn't already exist.
+     *
+     * @return Returns the singleton instance of the class.
+     */
+    public static EnemyProfileRegistry getInstance() {
+        if (instance == null) {
+            instance = new EnemyProfileRegistry(loadProperties());
+        }
+
+        return instance;
+    }
+
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
+        try (InputStream in = EnemyProfileRegistry.class.getResourceAsStream(PROFILE_FILE)) {
+            if (in == null) {
+                throw new IllegalStateException("Enemy profile file " + PROFILE_FILE + " not found");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read enemy profile file " + PROFILE_FILE, e);
+        }
+        return properties;
+    }
+
+    /**
+     * Method gets the ordinal of an Enemy type, and fills in its row of the stat table the first time the type is
+     * seen. Types missing from the file get a profile without improvements.
+     *
+     * @param enemyType The type.
+     * @return The ordinal.
+     */
+    public int getOrdinal(IEnemyType enemyType) {
+        Integer ordinal = ordinals.get(enemyType.getName().toLowerCase(Locale.ROOT));
+        if (ordinal == null) {
+            ordinal = addProfile(EnemyProfile.withoutImprovements(enemyType.getName()));
+        }
+
+        if (!computed[ordinal]) {
+            EnemyProfile profile = profiles.get(ordinal);
+            setRow(ordinal, Boost.NONE, enemyType, 1, 1);
+            setRow(ordinal, Boost.GROUND_TO_PLATFORM, enemyType, profile.getGroundToPlatformSpeed(), profile.getGroundToPlatformJump());
+            setRow(ordinal, Boost.PLATFORM_TO_PLATFORM, enemyType, profile.getPlatformToPlatformSpeed(), profile.getPlatformToPlatformJump());
+            computed[ordinal] = true;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Getter for the move speed of a type with a boost.
+     *
+     * @param ordinal Ordinal of the type.
+     * @param boost   The boost.
+     * @return Move speed.
+     */
+    public int getMoveSpeed(int ordinal, Boost boost) {
+        return moveSpeeds[ordinal * BOOSTS + boost.ordinal()];
+    }
+
+    /**
+     * Getter for the jump height of a type with a boost.
+     *
+     * @param ordinal Ordinal of the type.
+     * @param boost   The boost.
+     * @return Jump height.
+     */
+    public int getJumpHeight(int ordinal, Boost boost) {
+        return jumpHeights[ordinal * BOOSTS + boost.ordinal()];
+    }
+
+    /**
+     * Getter for the profile at an ordinal.
+     *
+     * @param ordinal Ordinal of the type.
+     * @return The profile.
+     */
+    public EnemyProfile getProfile(int ordinal) {
+        return profiles.get(ordinal);
+    }
+
+    /**
+     * Getter for the profile of a type by name.
+     *
+     * @param name Name of the type, case-insensitive.
+     * @return The profile, or a profile without improvements if the type isn't in the file.
+     */
+    public EnemyProfile getProfile(String name) {
+        Integer ordinal = ordinals.get(name.toLowerCase(Locale.ROOT));
+        return ordinal == null ? EnemyProfile.withoutImprovements(name) : profiles.get(ordinal);
+    }
+
+    /**
+     * Method gets a type that is only defined in the enemy profile file.
+     *
+     * @param name Name of the type, case-insensitive.
+     * @return The type, or null if there is no such type in the file.
+     */
+    public IEnemyType getDataType(String name) {
+        Integer ordinal = ordinals.get(name.toLowerCase(Locale.ROOT));
+        return ordinal == null ? null : profiles.get(ordinal).getDataType();
+    }
+
+    private int addProfile(EnemyProfile profile) {
+        int ordinal = profiles.size();
+        profiles.add(profile);
+        ordinals.put(profile.getName().toLowerCase(Locale.ROOT), ordinal);
+
+        if (ordinal == computed.length) {
+            computed = Arrays.copyOf(computed, ordinal * 2);
+            moveSpeeds = Arrays.copyOf(moveSpeeds, ordinal * 2 * BOOSTS);
+            jumpHeights = Arrays.copyOf(jumpHeights, ordinal * 2 * BOOSTS);
+        }
+        return ordinal;
+    }
+
+    private void setRow(int ordinal, Boost boost, IEnemyType enemyType, double speedMultiplier, double jumpMultiplier) {
+        moveSpeeds[ordinal * BOOSTS + boost.ordinal()] = (int) Math.round(enemyType.getMoveSpeed() * speedMultiplier);
+        jumpHeights[ordinal * BOOSTS + boost.ordinal()] = (int) Math.round(enemyType.getJumpHeight() * jumpMultiplier);
+    }
+}
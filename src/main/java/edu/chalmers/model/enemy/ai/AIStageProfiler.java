@@ -0,0 +1,63 @@
+package edu.chalmers.model.enemy.ai;
+
+/**
+ * AIStageProfiler. Adds up the time the Enemy AI spends in each stage of a frame, from the shared work the
+ * EnemyAIManager does when a frame starts to the decisions of the enemies. Used to see where the AI's time goes,
+ * for example by the enemy AI simulation.
+ */
+public final class AIStageProfiler {
+
+    /**
+     * The stages of an Enemy AI frame, in the order they run.
+     */
+    public enum Stage {PLAYER_SAMPLE, FLOW_FIELDS, SCHEDULE, RAYCASTS, SPATIAL_HASH, DECIDE_AHEAD, DECISIONS}
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final long[] nanos = new long[STAGES.length];
+    private static final long[] counts = new long[STAGES.length];
+
+    private AIStageProfiler() {
+    }
+
+    /**
+     * Method adds time spent in a stage.
+     *
+     * @param stage The stage.
+     * @param time  Time spent in nanoseconds.
+     */
+    static void add(Stage stage, long time) {
+        nanos[stage.ordinal()] += time;
+        counts[stage.ordinal()]++;
+    }
+
+    /**
+     * Getter for the total time spent in a stage since the last reset.
+     *
+     * @param stage The stage.
+     * @return Time in nanoseconds.
+     */
+    public static long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    /**
+     * Getter for how many times a stage has run since the last reset. DECISIONS runs once for every Enemy decision,
+     * the other stages once every frame.
+     *
+     * @param stage The stage.
+     * @return Amount of times.
+     */
+    public static long getCount(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    /**
+     * Method resets all times.
+     */
+    public static void reset() {
+        for (int i = 0; i < STAGES.length; i++) {
+            nanos[i] = 0;
+            counts[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.EntityType;
+import edu.chalmers.model.enemy.EnemyCore;
+import edu.chalmers.utilities.RaycastCalculations;
+
+import java.util.Arrays;
+
+/**
+ * DecisionColumns. The inputs of the DecisionPhase for many enemies stored in parallel arrays, one row per Enemy,
+ * instead of one EnemySnapshot object each. The booleans of a row are packed into one int and the raycast hits are
+ * stored as EntityType ordinals, so deciding a whole wave is a loop over a few primitive arrays that allocates
+ * nothing. Rows filled from an Enemy keep its slot in the EnemyCore, and the Enemy's own state is read from the
+ * core's arrays when the rows are decided. The decisions are the same as DecisionPhase.decide makes.
+ */
+final class DecisionColumns {
+
+    // Bits of the flags column
+    private static final int PATHFINDING_OVERRIDE = 1;
+    private static final int TARGET_TO_LEFT = 1 << 1;
+    private static final int TARGET_TO_RIGHT = 1 << 2;
+    private static final int PLAYER_REACHED = 1 << 3;
+    private static final int NEARBY_ENEMY_PLAYER_REACHED = 1 << 4;
+    private static final int FOLLOW_FLOW_FIELD = 1 << 5;
+    private static final int FLOW_FIELD_JUMP = 1 << 6;
+    private static final int JUMP_ALLOWED = 1 << 7;
+    private static final int AIRBORNE = 1 << 8;
+    private static final int HAS_JUMP_RAYCASTS = 1 << 9;
+    private static final int PLAYER_MIDDLE_Y_ABOVE = 1 << 10;
+    private static final int PLAYER_ON_GROUND = 1 << 11;
+    private static final int HAS_ENTITY_RAYCAST = 1 << 12;
+
+    // Raycast hits are stored as the ordinal of the EntityType + 1, NO_HIT if the ray hit nothing
+    private static final byte NO_HIT = 0;
+    private static final byte PLATFORM = hit(EntityType.PLATFORM);
+    private static final byte BLOCK = hit(EntityType.BLOCK);
+    private static final byte PLAYER = hit(EntityType.PLAYER);
+
+    private int[] flags = new int[64];
+    private int[] slots = new int[64];          // Slot of the row's Enemy in the EnemyCore, -1 for a row filled from a snapshot
+    private byte[] flowFieldMoveX = new byte[64];
+    private byte[] higherHorizontalHit = new byte[64];
+    private byte[] horizontalHit = new byte[64];
+    private byte[] activeDownwardHit = new byte[64];
+    private byte[] entityHit = new byte[64];
+
+    /**
+     * Method fills a row from an Enemy. Must be called on the game thread, after the Enemy's raycasts have been
+     * updated for the frame. Reads the same values as EnemySnapshot.of, the airborne flag of an Enemy in the
+     * EnemyCore is read from the core in decideAll.
+     *
+     * @param row The row.
+     * @param AI  The Enemy AI.
+     */
+    void set(int row, EnemyAIComponent AI) {
+        ensureCapacity(row + 1);
+
+        RaycastAI raycastAI = AI.getRaycastAI();
+        MovementAI movementAI = AI.getMovementAI();
+        FlowField flowField = AI.getFlowField();
+        int tileX = movementAI.getTileX();
+        int tileY = movementAI.getTileY();
+        int slot = AI.getThisEnemy().getSlot();
+
+        flags[row] = flag(AI.isPathfindingOverride(), PATHFINDING_OVERRIDE) |
+                flag(AI.isEntityMiddleToLeft(AI.getTarget()), TARGET_TO_LEFT) |
+                flag(AI.isEntityMiddleToRight(AI.getTarget()), TARGET_TO_RIGHT) |
+                flag(AI.isPlayerReached(), PLAYER_REACHED) |
+                flag(AI.isQueuePlayerReached(), NEARBY_ENEMY_PLAYER_REACHED) |
+                flag(flowField != null, FOLLOW_FLOW_FIELD) |
+                flag(flowField != null && flowField.isJump(tileX, tileY), FLOW_FIELD_JUMP) |
+                flag(movementAI.isJumpAllowed(), JUMP_ALLOWED) |
+                flag(slot < 0 && AI.getThisEnemy().isAirborne(), AIRBORNE) |
+                flag(raycastAI.getHigherHorizontalRaycast() != null && raycastAI.getHorizontalRaycast() != null && raycastAI.getActiveDownwardRaycast() != null, HAS_JUMP_RAYCASTS) |
+                flag(AI.isEntityMiddleYAbove(AI.getPlayer()), PLAYER_MIDDLE_Y_ABOVE) |
+                flag(AI.getPlayerComponent().isOnGround(), PLAYER_ON_GROUND) |
+                flag(raycastAI.getEntityRaycast() != null, HAS_ENTITY_RAYCAST);
+        slots[row] = slot;
+        flowFieldMoveX[row] = (byte) (flowField == null ? 0 : flowField.getMoveX(tileX, tileY));
+        higherHorizontalHit[row] = hit(RaycastCalculations.getRaycastHitType(raycastAI.getHigherHorizontalRaycast()));
+        horizontalHit[row] = hit(RaycastCalculations.getRaycastHitType(raycastAI.getHorizontalRaycast()));
+        activeDownwardHit[row] = hit(RaycastCalculations.getRaycastHitType(raycastAI.getActiveDownwardRaycast()));
+        entityHit[row] = hit(RaycastCalculations.getRaycastHitType(raycastAI.getEntityRaycast()));
+    }
+
+    /**
+     * Method fills a row from a snapshot.
+     *
+     * @param row      The row.
+     * @param snapshot Snapshot of the Enemy.
+     */
+    void set(int row, EnemySnapshot snapshot) {
+        ensureCapacity(row + 1);
+        snapshot.read();
+
+        flags[row] = flag(snapshot.isPathfindingOverride(), PATHFINDING_OVERRIDE) |
+                flag(snapshot.isTargetToLeft(), TARGET_TO_LEFT) |
+                flag(snapshot.isTargetToRight(), TARGET_TO_RIGHT) |
+                flag(snapshot.isPlayerReached(), PLAYER_REACHED) |
+                flag(snapshot.isNearbyEnemyPlayerReached(), NEARBY_ENEMY_PLAYER_REACHED) |
+                flag(snapshot.isFollowFlowField(), FOLLOW_FLOW_FIELD) |
+                flag(snapshot.isFlowFieldJump(), FLOW_FIELD_JUMP) |
+                flag(snapshot.isJumpAllowed(), JUMP_ALLOWED) |
+                flag(snapshot.isAirborne(), AIRBORNE) |
+                flag(snapshot.hasJumpRaycasts(), HAS_JUMP_RAYCASTS) |
+                flag(snapshot.isPlayerMiddleYAbove(), PLAYER_MIDDLE_Y_ABOVE) |
+                flag(snapshot.isPlayerOnGround(), PLAYER_ON_GROUND) |
+                flag(snapshot.hasEntityRaycast(), HAS_ENTITY_RAYCAST);
+        slots[row] = -1;
+        flowFieldMoveX[row] = (byte) snapshot.getFlowFieldMoveX();
+        higherHorizontalHit[row] = hit(snapshot.getHigherHorizontalHit());
+        horizontalHit[row] = hit(snapshot.getHorizontalHit());
+        activeDownwardHit[row] = hit(snapshot.getActiveDownwardHit());
+        entityHit[row] = hit(snapshot.getEntityHit());
+    }
+
+    /**
+     * Method makes the decisions of the first rows.
+     *
+     * @param decisions Array the decisions are put in, at the same index as their row.
+     * @param count     Amount of rows, from row 0.
+     */
+    void decideAll(EnemyDecision[] decisions, int count) {
+        readEnemyCore(EnemyCore.getInstance(), count);
+
+        for (int row = 0; row < count; row++) {
+            int f = flags[row];
+            int moveX = flowFieldMoveX[row];
+            boolean reached = (f & (PLAYER_REACHED | NEARBY_ENEMY_PLAYER_REACHED)) != 0;
+
+            // Movement, see DecisionPhase.decideTargetMove and decideFlowFieldMove
+            EnemyDecision.Move move = EnemyDecision.Move.NONE;
+            boolean flowFieldJump = false;
+            if ((f & PATHFINDING_OVERRIDE) == 0) {
+                if ((f & FOLLOW_FLOW_FIELD) != 0 && moveX != 0) {
+                    move = reached ? EnemyDecision.Move.STOP : moveX < 0 ? EnemyDecision.Move.LEFT : EnemyDecision.Move.RIGHT;
+                    flowFieldJump = !reached && (f & (JUMP_ALLOWED | AIRBORNE | FLOW_FIELD_JUMP)) == (JUMP_ALLOWED | FLOW_FIELD_JUMP);
+                } else if ((f & TARGET_TO_LEFT) != 0 && !reached) {
+                    move = EnemyDecision.Move.LEFT;
+                } else if ((f & TARGET_TO_RIGHT) != 0 && !reached) {
+                    move = EnemyDecision.Move.RIGHT;
+                } else {
+                    move = EnemyDecision.Move.STOP;
+                }
+            }
+
+            // Jump, see DecisionPhase.decideJump
+            EnemyDecision.Jump jump = EnemyDecision.Jump.NONE;
+            if ((f & (HAS_JUMP_RAYCASTS | JUMP_ALLOWED)) == (HAS_JUMP_RAYCASTS | JUMP_ALLOWED)) {
+                byte downward = activeDownwardHit[row];
+                byte horizontal = horizontalHit[row];
+                if ((f & (PLAYER_MIDDLE_Y_ABOVE | PLAYER_ON_GROUND)) == PLAYER_MIDDLE_Y_ABOVE && higherHorizontalHit[row] == PLATFORM) {
+                    jump = EnemyDecision.Jump.GROUND_TO_PLATFORM;
+                } else if (downward != PLATFORM && downward != BLOCK && (f & AIRBORNE) == 0) {
+                    jump = EnemyDecision.Jump.PLATFORM_TO_PLATFORM;
+                } else if (horizontal == BLOCK || horizontal == PLATFORM) {
+                    jump = EnemyDecision.Jump.OBSTACLE;
+                }
+            }
+
+            decisions[row] = EnemyDecision.of(move, flowFieldJump, jump, (f & HAS_ENTITY_RAYCAST) != 0, entityHit[row] == PLAYER);
+        }
+    }
+
+    // Sets the airborne flag of the rows filled from an Enemy, in one loop over the core's arrays
+    private void readEnemyCore(EnemyCore core, int count) {
+        for (int row = 0; row < count; row++) {
+            int slot = slots[row];
+            if (slot >= 0) {
+                flags[row] = core.isAirborne(slot) ? flags[row] | AIRBORNE : flags[row] & ~AIRBORNE;
+            }
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= flags.length) {
+            return;
+        }
+
+        int size = Math.max(rows, flags.length * 2);
+        flags = Arrays.copyOf(flags, size);
+        slots = Arrays.copyOf(slots, size);
+        flowFieldMoveX = Arrays.copyOf(flowFieldMoveX, size);
+        higherHorizontalHit = Arrays.copyOf(higherHorizontalHit, size);
+        horizontalHit = Arrays.copyOf(horizontalHit, size);
+        activeDownwardHit = Arrays.copyOf(activeDownwardHit, size);
+        entityHit = Arrays.copyOf(entityHit, size);
+    }
+
+    private static int flag(boolean value, int bit) {
+        return value ? bit : 0;
+    }
+
+    private static byte hit(EntityType type) {
+        return type == null ? NO_HIT : (byte) (type.ordinal() + 1);
+    }
+}
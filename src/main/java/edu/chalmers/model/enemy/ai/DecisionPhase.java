@@ -0,0 +1,153 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.EntityType;
+
+/**
+ * DecisionPhase. Makes the movement and jump decisions of enemies from their snapshots. Nothing but the snapshot, its
+ * raycast results and its flow field is read and nothing but the snapshot is written, so a decision comes out the
+ * same whether it is made in the Enemy's onUpdate or ahead for the whole wave. The decisions are applied to the
+ * enemies on the game thread.
+ */
+final class DecisionPhase {
+
+    private DecisionPhase() {
+    }
+
+    /**
+     * Method makes every decision of an Enemy for one frame.
+     *
+     * @param snapshot Snapshot of the Enemy.
+     * @return The decision.
+     */
+    static EnemyDecision decide(EnemySnapshot snapshot) {
+        snapshot.read();
+        EnemyDecision.Move move = EnemyDecision.Move.NONE;
+        boolean flowFieldJump = false;
+
+        // Move towards Player if pathfinding haven't been overridden.
+        if (!snapshot.isPathfindingOverride()) {
+            if (snapshot.isFollowFlowField()) {
+                move = decideFlowFieldMove(snapshot);
+                flowFieldJump = decideFlowFieldJump(snapshot);
+            } else {
+                move = decideTargetMove(snapshot);
+            }
+        }
+
+        return EnemyDecision.of(move, flowFieldJump, decideJump(snapshot),
+                snapshot.hasEntityRaycast(), snapshot.getEntityHit() == EntityType.PLAYER);
+    }
+
+    /**
+     * Method makes the decisions of several enemies.
+     *
+     * @param snapshots Snapshots of the enemies.
+     * @param decisions Array the decisions are put in, at the same index as their snapshot.
+     * @param count     Amount of enemies, from index 0.
+     */
+    static void decideAll(EnemySnapshot[] snapshots, EnemyDecision[] decisions, int count) {
+        for (int i = 0; i < count; i++) {
+            decisions[i] = decide(snapshots[i]);
+        }
+    }
+
+    /**
+     * Method decides how the Enemy moves towards its target.
+     *
+     * @param snapshot Snapshot of the Enemy.
+     * @return LEFT or RIGHT towards the target, STOP if the Player has been reached by the Enemy or a nearby Enemy.
+     */
+    static EnemyDecision.Move decideTargetMove(EnemySnapshot snapshot) {
+        boolean reached = snapshot.isPlayerReached() || snapshot.isNearbyEnemyPlayerReached();
+
+        // Is Enemy to the right of target AND Player is not reached by Enemy or nearby Enemy?
+        if (snapshot.isTargetToLeft() && !reached) {
+            return EnemyDecision.Move.LEFT;
+        }
+
+        // Is Enemy to the left of target AND Player is not reached by Enemy or nearby Enemy?
+        else if (snapshot.isTargetToRight() && !reached) {
+            return EnemyDecision.Move.RIGHT;
+        }
+
+        // Player has been reached; stop moving.
+        return EnemyDecision.Move.STOP;
+    }
+
+    /**
+     * Method decides how the Enemy moves along the flow field. Moves towards the target instead on the Player's tile,
+     * or if the field can't reach the Player.
+     *
+     * @param snapshot Snapshot of the Enemy.
+     * @return The way the flow field points, STOP if the Player has been reached by the Enemy or a nearby Enemy.
+     */
+    static EnemyDecision.Move decideFlowFieldMove(EnemySnapshot snapshot) {
+        if (snapshot.getFlowFieldMoveX() == 0) {
+            return decideTargetMove(snapshot);
+        }
+
+        // Player has been reached by Enemy or nearby Enemy; stop moving.
+        if (snapshot.isPlayerReached() || snapshot.isNearbyEnemyPlayerReached()) {
+            return EnemyDecision.Move.STOP;
+        }
+
+        return snapshot.getFlowFieldMoveX() < 0 ? EnemyDecision.Move.LEFT : EnemyDecision.Move.RIGHT;
+    }
+
+    /**
+     * Method decides if the Enemy jumps because the flow field goes up from its tile.
+     *
+     * @param snapshot Snapshot of the Enemy.
+     * @return True or False.
+     */
+    static boolean decideFlowFieldJump(EnemySnapshot snapshot) {
+        return snapshot.getFlowFieldMoveX() != 0 &&
+                !snapshot.isPlayerReached() &&
+                !snapshot.isNearbyEnemyPlayerReached() &&
+                snapshot.isJumpAllowed() &&
+                !snapshot.isAirborne() &&
+                snapshot.isFlowFieldJump();
+    }
+
+    /**
+     * Method decides if the Enemy needs to jump.
+     *
+     * @param snapshot Snapshot of the Enemy.
+     * @return The jump, NONE if the Enemy shouldn't jump.
+     */
+    static EnemyDecision.Jump decideJump(EnemySnapshot snapshot) {
+        // Raycasts not updated yet or jump isn't allowed.
+        if (!snapshot.hasJumpRaycasts() || !snapshot.isJumpAllowed()) {
+            return EnemyDecision.Jump.NONE;
+        }
+
+        // IF (jump up to platform from the ground):
+        // Players middle Y-pos is above Enemy *AND*
+        // Player most recently did not touch the world ground *AND*
+        // higherHorizontalRaycast hit a platform:
+        if (snapshot.isPlayerMiddleYAbove() &&
+                !snapshot.isPlayerOnGround() &&
+                snapshot.getHigherHorizontalHit() == EntityType.PLATFORM) {
+            return EnemyDecision.Jump.GROUND_TO_PLATFORM;
+        }
+
+        // IF (going to fall):
+        // activeDownwardRaycast did *not* hit a platform (Enemy is usually walking off a platform) *AND*
+        // activeDownwardRaycast did *not* hit a block *AND*
+        // Enemy is not airborne:
+        if (snapshot.getActiveDownwardHit() != EntityType.PLATFORM &&
+                snapshot.getActiveDownwardHit() != EntityType.BLOCK &&
+                !snapshot.isAirborne()) {
+            return EnemyDecision.Jump.PLATFORM_TO_PLATFORM;
+        }
+
+        // IF (hit a block or platform):
+        // horizontalRaycast hit a Block or a platform:
+        if (snapshot.getHorizontalHit() == EntityType.BLOCK ||
+                snapshot.getHorizontalHit() == EntityType.PLATFORM) {
+            return EnemyDecision.Jump.OBSTACLE;
+        }
+
+        return EnemyDecision.Jump.NONE;
+    }
+}
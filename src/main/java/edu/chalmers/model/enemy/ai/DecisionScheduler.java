@@ -0,0 +1,171 @@
+package edu.chalmers.model.enemy.ai;
+
+import java.util.List;
+
+/**
+ * DecisionScheduler decides which enemies make their AI decisions in a frame. Enemies far from the Player decide
+ * less often (level of detail), and the due enemies are picked round-robin until the frame budget is expected to be
+ * used up (at least MIN_DECISIONS enemies per frame), the rest decide in the next frames. An Enemy that doesn't
+ * decide keeps moving with the velocities of its latest decision.
+ */
+public class DecisionScheduler {
+
+    // Distances to the Player (in pixels) where enemies start deciding less often, and how often they decide
+    private static final double[] LOD_DISTANCES = {600, 1200};
+    private static final double[] LOD_INTERVALS = {0, 0.1, 0.25};      // Seconds between decisions
+    private static final int MIN_DECISIONS = 10;        // Small waves always decide every frame, whatever the estimate
+
+    private long frameBudgetNanos;
+    private long frameNumber = 0;
+    private int cursor = 0;                         // Index of the first Enemy to look at next frame
+    private double averageDecisionNanos = 0;        // Moving average of the time one decision takes
+
+    // Report of the current and the latest finished frame
+    private int updated = 0;
+    private int deferred = 0;
+    private long decisionNanos = 0;
+    private int updatedLastFrame = 0;
+    private int deferredLastFrame = 0;
+    private long decisionNanosLastFrame = 0;
+
+    public DecisionScheduler(double frameBudgetMillis) {
+        setFrameBudgetMillis(frameBudgetMillis);
+    }
+
+    /**
+     * Method starts a new frame and schedules the enemies that decide during it. Called once every frame.
+     *
+     * @param enemies     Every Enemy AI in the world.
+     * @param playerState Snapshot of the Player this frame.
+     * @param now         Current game time.
+     */
+    void schedule(List<EnemyAIComponent> enemies, PlayerState playerState, double now) {
+        frameNumber++;
+        updatedLastFrame = updated;
+        deferredLastFrame = deferred;
+        decisionNanosLastFrame = decisionNanos;
+        updated = 0;
+        deferred = 0;
+        decisionNanos = 0;
+
+        int enemyCount = enemies.size();
+        if (enemyCount == 0) {
+            return;
+        }
+
+        int maxDecisions = averageDecisionNanos > 0 ? Math.max(MIN_DECISIONS, (int) (frameBudgetNanos / averageDecisionNanos)) : enemyCount;
+        int scheduled = 0;
+        int start = cursor % enemyCount;
+        for (int i = 0; i < enemyCount; i++) {
+            int index = (start + i) % enemyCount;
+            EnemyAIComponent enemy = enemies.get(index);
+            if (now < enemy.getNextDecisionTime()) {
+                continue;
+            }
+
+            if (scheduled < maxDecisions) {
+                enemy.setScheduledFrame(frameNumber);
+                enemy.setNextDecisionTime(now + getDecisionInterval(enemy, playerState));
+                scheduled++;
+                cursor = index + 1;
+            } else {
+                deferred++;
+            }
+        }
+    }
+
+    /**
+     * Method lets an Enemy decide in the current frame, used for enemies added after the frame was scheduled.
+     *
+     * @param enemy The Enemy AI.
+     */
+    void scheduleNow(EnemyAIComponent enemy) {
+        enemy.setScheduledFrame(frameNumber);
+    }
+
+    /**
+     * Method checks if an Enemy should make its decisions this frame.
+     *
+     * @param enemy The Enemy AI.
+     * @return True or False.
+     */
+    boolean isScheduled(EnemyAIComponent enemy) {
+        return enemy.getScheduledFrame() == frameNumber;
+    }
+
+    /**
+     * Method is called after every decision, the time it took is used to estimate how many decisions fit in the
+     * frame budget.
+     *
+     * @param nanos Time the decision took in nanoseconds, including the part the EnemyAIManager made ahead.
+     */
+    void decisionMade(long nanos) {
+        updated++;
+        decisionNanos += nanos;
+        averageDecisionNanos = averageDecisionNanos == 0 ? nanos : averageDecisionNanos * 0.9 + nanos * 0.1;
+    }
+
+    // Seconds until the Enemy decides again, depends on its distance to the Player
+    private double getDecisionInterval(EnemyAIComponent enemy, PlayerState playerState) {
+        if (playerState.getPlayer() == null) {
+            return LOD_INTERVALS[0];
+        }
+
+        double dx = (enemy.getThisEnemy().getX() + enemy.getThisEnemy().getRightX()) / 2 - playerState.getMiddleX();
+        double dy = (enemy.getThisEnemy().getY() + enemy.getThisEnemy().getBottomY()) / 2 - playerState.getMiddleY();
+        double distanceSquared = dx * dx + dy * dy;
+
+        for (int i = 0; i < LOD_DISTANCES.length; i++) {
+            if (distanceSquared < LOD_DISTANCES[i] * LOD_DISTANCES[i]) {
+                return LOD_INTERVALS[i];
+            }
+        }
+        return LOD_INTERVALS[LOD_INTERVALS.length - 1];
+    }
+
+    /**
+     * Setter for how much time can be spent on enemy decisions every frame
+     *
+     * @param frameBudgetMillis budget in milliseconds
+     */
+    public void setFrameBudgetMillis(double frameBudgetMillis) {
+        this.frameBudgetNanos = (long) (frameBudgetMillis * 1_000_000);
+    }
+
+    /**
+     * Getter for the frame budget
+     *
+     * @return budget in milliseconds
+     */
+    public double getFrameBudgetMillis() {
+        return frameBudgetNanos / 1_000_000.0;
+    }
+
+    /**
+     * Getter for the amount of enemies that made their decisions in the latest finished frame
+     *
+     * @return amount of updated enemies
+     */
+    public int getUpdatedLastFrame() {
+        return updatedLastFrame;
+    }
+
+    /**
+     * Getter for the amount of enemies that were due to decide in the latest finished frame but didn't fit in the
+     * frame budget
+     *
+     * @return amount of deferred enemies
+     */
+    public int getDeferredLastFrame() {
+        return deferredLastFrame;
+    }
+
+    /**
+     * Getter for the time spent on decisions in the latest finished frame
+     *
+     * @return decision time in milliseconds
+     */
+    public double getDecisionMillisLastFrame() {
+        return decisionNanosLastFrame / 1_000_000.0;
+    }
+}
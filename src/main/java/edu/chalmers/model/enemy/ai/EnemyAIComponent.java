@@ -3,13 +3,9 @@ package edu.chalmers.model.enemy.ai;
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.component.Component;
-import edu.chalmers.model.EntityType;
 import edu.chalmers.model.PlayerComponent;
 import edu.chalmers.model.enemy.EnemyComponent;
 import edu.chalmers.utilities.EntityPos;
-import edu.chalmers.utilities.RaycastCalculations;
-
-import java.util.Optional;
 
 /**
  * @author Sam Salek
@@ -28,6 +24,22 @@ public class EnemyAIComponent extends Component {
 
     private boolean pathfindingOverride = false;
     private boolean playerReached = false;
+    private boolean queuePlayerReached = false;    // An Enemy ahead in the queue has reached the Player
+
+    // Nearby enemies are found in the EnemyAIManager's EnemySpatialHash
+    private static final int NEIGHBOUR_REACH = 10;      // Max gap to an Enemy in front, in pixels
+    private static final int ABOVE_REACH = 20;          // Same reach as the upward raycasts
+    private static final int BELOW_REACH = 75;          // Same reach as the downward raycasts
+    private int spatialIndex = -1;
+    private int managerIndex = -1;      // Index in the EnemyAIManager's list of enemies, -1 when removed
+
+    // Decision scheduling, set by the DecisionScheduler
+    private double nextDecisionTime = 0;
+    private long scheduledFrame = -1;
+    private EnemyDecision pendingDecision = null;      // Made ahead by the EnemyAIManager
+    private long pendingDecisionNanos = 0;              // Time the EnemyAIManager spent on the pending decision
+    private EnemyDecision lastDecision = null;          // Latest decision applied
+    private final EnemySnapshot snapshot = new EnemySnapshot();     // Taken again every decision
 
     public EnemyAIComponent(EnemyComponent thisEnemy, Entity player) {
         this.player = player;
@@ -42,12 +54,28 @@ public class EnemyAIComponent extends Component {
         platformAI = new PlatformAI(this);
         statImprovementAI = new StatImprovementAI(this);
 
-        platformAI.updatePlatforms();
+        EnemyAIManager.getInstance().addEnemy(this);
+    }
+
+    @Override
+    public void onRemoved() {
+        EnemyAIManager.getInstance().removeEnemy(this);
     }
 
     @Override
     public void onUpdate(double tpf) {
+        EnemyAIManager manager = EnemyAIManager.getInstance();
+        manager.startFrame(FXGL.getGameTimer().getNow());     // Samples the Player, schedules the decisions and casts the rays the first time it's called in a frame
+        updateFrame(manager);
+    }
 
+    /**
+     * Method runs this Enemy's part of a frame the EnemyAIManager has started, it makes and applies its decisions if
+     * it is scheduled to.
+     *
+     * @param manager The EnemyAIManager.
+     */
+    void updateFrame(EnemyAIManager manager) {
         // Fix issue when Player spawns without a PlayerComponent
         if (!this.player.hasComponent(PlayerComponent.class)) {
             FXGL.getGameWorld().removeEntity(entity);
@@ -56,49 +84,127 @@ public class EnemyAIComponent extends Component {
             return;
         }
 
+        // Enemy keeps the velocities of its latest decision until it is scheduled again.
+        if (!manager.isScheduled(this)) {
+            return;
+        }
+
+        long decideAheadTime = pendingDecisionNanos;
+        pendingDecisionNanos = 0;
+        long decisionStart = System.nanoTime();
+        makeDecisions();
+        long decisionTime = System.nanoTime() - decisionStart;
+        manager.getDecisionScheduler().decisionMade(decideAheadTime + decisionTime);
+        AIStageProfiler.add(AIStageProfiler.Stage.DECISIONS, decisionTime);
+    }
+
+    /**
+     * Method runs the whole decision pipeline of the Enemy: direction, movement, jumping and platform movement.
+     * The movement and jump decisions are made by the DecisionPhase, unless the EnemyAIManager already made them
+     * ahead for this frame.
+     */
+    private void makeDecisions() {
+        EnemyDecision decision = pendingDecision;
+        pendingDecision = null;
+        if (decision == null) {
+            prepareDecision();
+            decision = DecisionPhase.decide(takeSnapshot());
+        }
+        applyDecision(decision);
+        lastDecision = decision;
+
+        // The flow field already finds the way up the platforms.
+        if (getFlowField() == null) {
+            movementAI.enemyStuckUnderPlatformFix();
+            movementAI.doFloatingPlatformMovement();
+        }
+    }
+
+    /**
+     * Method updates the cooldowns, stats, target, moveDirection and raycasts that the Enemy's snapshot is taken
+     * from. Runs before the snapshot whether the decision is made in onUpdate or ahead by the EnemyAIManager, so
+     * both make the same decision.
+     */
+    void prepareDecision() {
+        movementAI.updateCooldowns(EnemyAIManager.getInstance().getFrameTime());
+
         // Reset move speed and jump height if Enemy is touching solid ground.
         if (!thisEnemy.isAirborne()) {
             statImprovementAI.resetSpeedAndJump();
         }
 
+        if (getFlowField() != null) {
+            target = player;                // The flow field leads to the Player, platforms aren't targeted
+            pathfindingOverride = false;    // Only set when stuck under a platform, which the flow field handles
+        }
+
         movementAI.updateMoveDirection();
         raycastAI.updateRaycastsDirection();
+    }
 
-        // Check most recent platform the player was in contact with
-        if (!getPlayerComponent().isAirborne()) {
-            getPlatformAI().playerRecentPlatformContactCheck();
-        }
+    /**
+     * Method takes a new snapshot of the Enemy into its snapshot object. Must be called on the game thread, after
+     * prepareDecision.
+     *
+     * @return The snapshot, to be read and decided on by the DecisionPhase.
+     */
+    EnemySnapshot takeSnapshot() {
+        snapshot.set(this);
+        return snapshot;
+    }
 
-        // Move towards Player if pathfinding haven't been overridden.
-        if (!pathfindingOverride) {
-            movementAI.moveTowardsTarget();
+    /**
+     * Method applies a decision to the Enemy. Must be called on the game thread.
+     *
+     * @param decision The decision made from the Enemy's snapshot.
+     */
+    private void applyDecision(EnemyDecision decision) {
+        movementAI.applyMove(decision.getMove());
+        if (decision.isFlowFieldJump()) {
+            thisEnemy.jump();
         }
 
-        enemyAboveOrBelowFix();        // Must be before doJump() (and multiplier reset?).
-        movementAI.doJump();
-        setPlayerReached();             // Must be after movement code.
-        movementAI.enemyStuckUnderPlatformFix();
+        enemyAboveOrBelowFix();        // Must be before the jump (and multiplier reset?).
+        movementAI.applyJump(decision.getJump());
 
-        // If number of platforms is 4 (map is level1): Activate floatingPlatformMovement.
-        if (platformAI.getPlatforms().size() == 4) {
-            movementAI.doFloatingPlatformMovement();
+        // Sets playerReached if the Player is hit by entityRaycast. Must be after movement code.
+        if (decision.isUpdatePlayerReached()) {
+            playerReached = decision.isPlayerReached();
         }
     }
 
     /**
-     * Method sets playerReached variable based on horizontalRaycast.
+     * Setter for the decision the EnemyAIManager made ahead for this Enemy, applied in the next onUpdate.
+     *
+     * @param pendingDecision      The decision.
+     * @param pendingDecisionNanos Time spent preparing and making the decision in nanoseconds.
      */
-    private void setPlayerReached() {
-        if (raycastAI.getEntityRaycast() == null) {
-            return;
-        }
+    void setPendingDecision(EnemyDecision pendingDecision, long pendingDecisionNanos) {
+        this.pendingDecision = pendingDecision;
+        this.pendingDecisionNanos = pendingDecisionNanos;
+    }
 
-        // Sets playerReached if the Player is hit by raycast.
-        if (RaycastCalculations.checkRaycastHit((raycastAI.getEntityRaycast()), EntityType.PLAYER)) {
-            playerReached = true;
-        } else {
-            playerReached = false;
+    /**
+     * Getter for the latest decision applied to the Enemy.
+     *
+     * @return The decision, or null if the Enemy hasn't decided yet.
+     */
+    EnemyDecision getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * Method adds the rays this Enemy needs this frame to the frame's RaycastBatch.
+     *
+     * @param raycastBatch The batch gathering this frame's rays.
+     */
+    void requestRaycasts(RaycastBatch raycastBatch) {
+        if (!this.player.hasComponent(PlayerComponent.class)) {
+            return;         // Is removed in onUpdate
         }
+
+        movementAI.updateMoveDirection();
+        raycastAI.requestRaycasts(raycastBatch);
     }
 
     /**
@@ -111,31 +217,38 @@ public class EnemyAIComponent extends Component {
     }
 
     /**
-     * Method checks if another Enemy is horizontally nearby.
+     * Method checks if another Enemy is horizontally nearby, in front of this Enemy in its moveDirection.
      *
      * @return Returns nearby enemy if it exists.
      */
     public EnemyAIComponent getNearbyEnemyAI() {
-        if (raycastAI.getEntityRaycast() == null) {
+        MovementAI.Direction direction = movementAI.getMoveDirection();
+        if (direction == null) {
             return null;
         }
 
-        // If entityRaycast hit an Enemy (Enemy is nearby).
-        if (RaycastCalculations.checkRaycastHit(raycastAI.getEntityRaycast(), EntityType.ENEMY)) {
+        double minX = direction == MovementAI.Direction.LEFT ? thisEnemy.getX() - NEIGHBOUR_REACH : thisEnemy.getRightX();
+        double maxX = direction == MovementAI.Direction.LEFT ? thisEnemy.getX() : thisEnemy.getRightX() + NEIGHBOUR_REACH;
+        return EnemyAIManager.getInstance().getSpatialHash().findFirst(minX, thisEnemy.getY() + 3, maxX, thisEnemy.getBottomY() - 3, this);
+    }
 
-            // If the Enemy hit is not thisEnemy:
-            if (!RaycastCalculations.getRaycastHit(raycastAI.getEntityRaycast()).equals(thisEnemy.getEntity())) {
-                Optional<Entity> optionalEntity = raycastAI.getEntityRaycast().getEntity(); // Get Enemy entity
-                return optionalEntity.get().getComponent(EnemyAIComponent.class);
-            }
+    // -------- GETTERS -------- //
 
-        }
+    double getNextDecisionTime() {
+        return nextDecisionTime;
+    }
 
-        // If no Enemy is nearby.
-        return null;
+    void setNextDecisionTime(double nextDecisionTime) {
+        this.nextDecisionTime = nextDecisionTime;
     }
 
-    // -------- GETTERS -------- //
+    long getScheduledFrame() {
+        return scheduledFrame;
+    }
+
+    void setScheduledFrame(long scheduledFrame) {
+        this.scheduledFrame = scheduledFrame;
+    }
 
     /**
      * Getter for movementAI variable.
@@ -173,6 +286,15 @@ public class EnemyAIComponent extends Component {
         return statImprovementAI;
     }
 
+    /**
+     * Getter for the flow field this Enemy follows.
+     *
+     * @return The flow field for this Enemy's block damage, or null if enemies don't follow flow fields.
+     */
+    public FlowField getFlowField() {
+        return EnemyAIManager.getInstance().getFlowField(thisEnemy.getBlockDamage());
+    }
+
     /**
      * Getter for thisEnemy variable.
      *
@@ -218,6 +340,44 @@ public class EnemyAIComponent extends Component {
         return playerReached;
     }
 
+    /**
+     * Getter for queuePlayerReached variable, set every frame by the EnemyAIManager.
+     *
+     * @return True if the Enemy in front of this Enemy, or one in front of that one, has reached the Player.
+     */
+    public boolean isQueuePlayerReached() {
+        return queuePlayerReached;
+    }
+
+    void setQueuePlayerReached(boolean queuePlayerReached) {
+        this.queuePlayerReached = queuePlayerReached;
+    }
+
+    int getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    void setSpatialIndex(int spatialIndex) {
+        this.spatialIndex = spatialIndex;
+    }
+
+    int getManagerIndex() {
+        return managerIndex;
+    }
+
+    void setManagerIndex(int managerIndex) {
+        this.managerIndex = managerIndex;
+    }
+
+    /**
+     * Getter for if the Enemy is still in the world.
+     *
+     * @return False once the Enemy has been removed.
+     */
+    boolean isActive() {
+        return managerIndex >= 0;
+    }
+
     /**
      * Getter for pathfindingOverride variable.
      *
@@ -313,21 +473,8 @@ public class EnemyAIComponent extends Component {
      * @return True or False.
      */
     public boolean enemyDirectlyAbove() {
-        if (RaycastCalculations.checkRaycastHit(raycastAI.getLeftUpwardRaycast(), EntityType.ENEMY)) {
-            // Is the Enemy hit not thisEnemy?
-            if (!RaycastCalculations.getRaycastHit(raycastAI.getLeftUpwardRaycast()).equals(thisEnemy.getEntity())) {
-                return true;
-            }
-        }
-
-        if (RaycastCalculations.checkRaycastHit(raycastAI.getRightUpwardRaycast(), EntityType.ENEMY)) {
-            // Is the Enemy hit not thisEnemy?
-            if (!RaycastCalculations.getRaycastHit(raycastAI.getRightUpwardRaycast()).equals(thisEnemy.getEntity())) {
-                return true;
-            }
-        }
-
-        return false;
+        return EnemyAIManager.getInstance().getSpatialHash().findFirst(thisEnemy.getX() + 1, thisEnemy.getY() - ABOVE_REACH,
+                thisEnemy.getRightX() - 1, thisEnemy.getY(), this) != null;
     }
 
     /**
@@ -336,20 +483,7 @@ public class EnemyAIComponent extends Component {
      * @return True or False.
      */
     public boolean enemyDirectlyBelow() {
-        if (RaycastCalculations.checkRaycastHit(raycastAI.getLeftDownwardRaycast(), EntityType.ENEMY)) {
-            // Is the Enemy hit not thisEnemy?
-            if (!RaycastCalculations.getRaycastHit(raycastAI.getLeftDownwardRaycast()).equals(thisEnemy.getEntity())) {
-                return true;
-            }
-        }
-
-        if (RaycastCalculations.checkRaycastHit(raycastAI.getRightDownwardRaycast(), EntityType.ENEMY)) {
-            // Is the Enemy hit not thisEnemy?
-            if (!RaycastCalculations.getRaycastHit(raycastAI.getRightDownwardRaycast()).equals(thisEnemy.getEntity())) {
-                return true;
-            }
-        }
-
-        return false;
+        return EnemyAIManager.getInstance().getSpatialHash().findFirst(thisEnemy.getX() + 1, thisEnemy.getBottomY(),
+                thisEnemy.getRightX() - 1, thisEnemy.getBottomY() + BELOW_REACH, this) != null;
     }
 }
@@ -0,0 +1,372 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.model.PlayerComponent;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EnemyAIManager. Keeps track of every Enemy AI in the world and does the work that is shared by all of them once
+ * per frame, before the first Enemy makes its decisions. The frame is started by the first EnemyAIComponent
+ * updated during it.
+ */
+public class EnemyAIManager {
+
+    private static EnemyAIManager instance;
+
+    // States of an Enemy while following the queues of enemies
+    private static final byte QUEUE_UNKNOWN = 0;
+    private static final byte QUEUE_VISITING = 1;
+    private static final byte QUEUE_REACHED = 2;
+    private static final byte QUEUE_NOT_REACHED = 3;
+
+    private final List<EnemyAIComponent> enemies = new ArrayList<>();
+    private final RaycastBatch raycastBatch = new RaycastBatch();
+    private final PlayerStateSampler playerStateSampler = new PlayerStateSampler();
+    private PlayerState playerState = PlayerState.NONE;
+    private final DecisionScheduler decisionScheduler = new DecisionScheduler(Constants.AI_FRAME_BUDGET_MS);
+    private final List<FlowField> flowFields = new ArrayList<>();     // One for every block damage of the enemies
+    private TileGrid tileGrid;
+    private boolean flowFieldPathing = Constants.FLOW_FIELD_PATHING;
+    private boolean dataOrientedDecisions = Constants.DATA_ORIENTED_ENEMY_CORE;
+
+    // Enemies deciding ahead this frame and their decisions, at the same index as their rows in the columns
+    private EnemyAIComponent[] decidingEnemies = new EnemyAIComponent[64];
+    private long[] prepareNanos = new long[64];        // Time each deciding Enemy took to prepare its decision
+    private final DecisionColumns columns = new DecisionColumns();
+
+    // Enemy positions and the queues of enemies walking into each other, updated every frame
+    private final EnemySpatialHash spatialHash = new EnemySpatialHash();
+    private int[] frontEnemies = new int[64];         // Spatial index of the Enemy in front, -1 if there is none
+    private byte[] queueStates = new byte[64];
+    private int[] queuePath = new int[64];
+    private EnemyDecision[] decisions = new EnemyDecision[64];
+    private double frameTime = Double.NaN;      // Game time of the current frame
+
+    private EnemyAIManager() {
+    }
+
+    /**
+     * Singleton. Gets instance of this class, and creates one if instance doesn't already exist.
+     *
+     * @return Returns the singleton instance of the class.
+     */
+    public static EnemyAIManager getInstance() {
+        if (instance == null) {
+            instance = new EnemyAIManager();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Method starts a new frame if the game time has changed since the last call. The Player is sampled, the flow
+     * fields follow the Player and the enemies deciding this frame are scheduled, then their rays are gathered and
+     * cast together in a RaycastBatch, so the enemies read them from their raycast cache while deciding. The
+     * enemies' spatial hash is rebuilt and the queues of enemies are followed to the Player. With
+     * data-oriented decisions on, the scheduled enemies' decisions are then made all at once.
+     *
+     * @param now Current game time.
+     */
+    void startFrame(double now) {
+        if (now == frameTime) {
+            return;
+        }
+        frameTime = now;
+
+        long time = System.nanoTime();
+        if (!enemies.isEmpty()) {
+            samplePlayerState(enemies.get(0).getPlayer(), now);
+        }
+        time = profile(AIStageProfiler.Stage.PLAYER_SAMPLE, time);
+        for (FlowField flowField : flowFields) {
+            flowField.update(playerState.getTileX(), playerState.getTileY());
+        }
+        time = profile(AIStageProfiler.Stage.FLOW_FIELDS, time);
+        decisionScheduler.schedule(enemies, playerState, now);
+        time = profile(AIStageProfiler.Stage.SCHEDULE, time);
+
+        // Gather phase, only for the enemies deciding this frame
+        for (EnemyAIComponent enemy : enemies) {
+            if (decisionScheduler.isScheduled(enemy)) {
+                enemy.requestRaycasts(raycastBatch);
+            }
+        }
+        // Cast all rays and hand them back
+        raycastBatch.execute(now);
+        time = profile(AIStageProfiler.Stage.RAYCASTS, time);
+
+        spatialHash.build(enemies);
+        updatePlayerReachedQueues();
+        time = profile(AIStageProfiler.Stage.SPATIAL_HASH, time);
+
+        if (dataOrientedDecisions) {
+            decideAhead();
+            profile(AIStageProfiler.Stage.DECIDE_AHEAD, time);
+        }
+    }
+
+    // Adds the time since start to a stage and returns the current time, the start of the next stage
+    private static long profile(AIStageProfiler.Stage stage, long start) {
+        long time = System.nanoTime();
+        AIStageProfiler.add(stage, time - start);
+        return time;
+    }
+
+    /**
+     * Method makes the movement and jump decisions of every scheduled Enemy. The inputs are read into DecisionColumns
+     * on the game thread, then the decisions are made from the columns in one loop. They are applied in each Enemy's
+     * onUpdate.
+     */
+    private void decideAhead() {
+        int count = 0;
+        for (EnemyAIComponent enemy : enemies) {
+            if (decisionScheduler.isScheduled(enemy) && enemy.getPlayer().hasComponent(PlayerComponent.class)) {
+                if (count == decidingEnemies.length) {
+                    growDecisionArrays();
+                }
+                long prepareStart = System.nanoTime();
+                enemy.prepareDecision();
+                decidingEnemies[count] = enemy;
+                columns.set(count, enemy);
+                prepareNanos[count] = System.nanoTime() - prepareStart;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        long decideStart = System.nanoTime();
+        columns.decideAll(decisions, count);
+        long decideNanos = (System.nanoTime() - decideStart) / count;     // Shared evenly, the decisions are made together
+
+        // The scheduler's budget covers the whole cost of a decision, the part made here is added when it's applied
+        for (int i = 0; i < count; i++) {
+            decidingEnemies[i].setPendingDecision(decisions[i], prepareNanos[i] + decideNanos);
+        }
+        Arrays.fill(decidingEnemies, 0, count, null);     // Don't keep removed enemies alive
+        Arrays.fill(decisions, 0, count, null);
+    }
+
+    /**
+     * Method finds the Enemy in front of every Enemy in the spatial hash and follows these queues, so every Enemy
+     * knows if an Enemy ahead of it in its queue has reached the Player. An Enemy standing still at the Player
+     * stops the whole queue behind it, not only the Enemy right behind it.
+     */
+    private void updatePlayerReachedQueues() {
+        int count = spatialHash.size();
+        if (count > frontEnemies.length) {
+            int size = Math.max(count, frontEnemies.length * 2);
+            frontEnemies = new int[size];
+            queueStates = new byte[size];
+            queuePath = new int[size];
+        }
+
+        for (int i = 0; i < count; i++) {
+            EnemyAIComponent front = spatialHash.get(i).getNearbyEnemyAI();
+            frontEnemies[i] = front == null ? -1 : front.getSpatialIndex();
+            queueStates[i] = QUEUE_UNKNOWN;
+        }
+
+        // Walk every queue forwards until an Enemy that reached the Player, the front of the queue, or a known queue
+        for (int i = 0; i < count; i++) {
+            int length = 0;
+            int enemy = i;
+            while (enemy >= 0 && queueStates[enemy] == QUEUE_UNKNOWN) {
+                if (spatialHash.get(enemy).isPlayerReached()) {
+                    queueStates[enemy] = QUEUE_REACHED;
+                    break;
+                }
+                queueStates[enemy] = QUEUE_VISITING;
+                queuePath[length++] = enemy;
+                enemy = frontEnemies[enemy];
+            }
+
+            // A queue that walks in a circle (two enemies facing each other) hasn't reached the Player
+            byte state = enemy >= 0 && queueStates[enemy] == QUEUE_REACHED ? QUEUE_REACHED : QUEUE_NOT_REACHED;
+            for (int p = 0; p < length; p++) {
+                queueStates[queuePath[p]] = state;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int front = frontEnemies[i];
+            spatialHash.get(i).setQueuePlayerReached(front >= 0 && queueStates[front] == QUEUE_REACHED);
+        }
+    }
+
+    private void growDecisionArrays() {
+        int size = decidingEnemies.length * 2;
+        decidingEnemies = Arrays.copyOf(decidingEnemies, size);
+        decisions = Arrays.copyOf(decisions, size);
+        prepareNanos = Arrays.copyOf(prepareNanos, size);
+    }
+
+    /**
+     * Method takes a new snapshot of the Player right away.
+     *
+     * @param player The Player.
+     */
+    void samplePlayerState(Entity player) {
+        samplePlayerState(player, FXGL.getGameTimer().getNow());
+    }
+
+    private void samplePlayerState(Entity player, double now) {
+        if (player.hasComponent(PlayerComponent.class)) {
+            playerState = playerStateSampler.sample(player, playerState, now);
+        }
+    }
+
+    /**
+     * Getter for the snapshot of the Player taken at the start of the frame.
+     *
+     * @return The Player's state.
+     */
+    public PlayerState getPlayerState() {
+        return playerState;
+    }
+
+    /**
+     * Method gets the flow field towards the Player for enemies with the given block damage. The field is created
+     * the first time it is asked for and is then updated at the start of every frame.
+     *
+     * @param blockDamage Damage the Enemy does to a block every hit.
+     * @return The flow field, or null if flow field pathing is off or there is no map.
+     */
+    FlowField getFlowField(int blockDamage) {
+        if (!flowFieldPathing || tileGrid == null) {
+            return null;
+        }
+
+        for (FlowField flowField : flowFields) {
+            if (flowField.getBlockDamage() == Math.max(1, blockDamage)) {
+                return flowField;
+            }
+        }
+
+        FlowField flowField = new FlowField(tileGrid, blockDamage);
+        flowField.update(playerState.getTileX(), playerState.getTileY());
+        flowFields.add(flowField);
+        return flowField;
+    }
+
+    /**
+     * Setter for the map the flow fields are made over. Should be called when a level is loaded.
+     *
+     * @param tileGrid Grid of the level's blocks.
+     */
+    public void setTileGrid(TileGrid tileGrid) {
+        this.tileGrid = tileGrid;
+        flowFields.clear();
+    }
+
+    /**
+     * Getter for flowFieldPathing variable.
+     *
+     * @return True if enemies follow flow fields instead of the platform graph.
+     */
+    public boolean isFlowFieldPathing() {
+        return flowFieldPathing;
+    }
+
+    /**
+     * Setter for flowFieldPathing variable.
+     *
+     * @param flowFieldPathing True if enemies should follow flow fields instead of the platform graph.
+     */
+    public void setFlowFieldPathing(boolean flowFieldPathing) {
+        this.flowFieldPathing = flowFieldPathing;
+    }
+
+    /**
+     * Getter for dataOrientedDecisions variable.
+     *
+     * @return True if the enemies' decisions are made from DecisionColumns.
+     */
+    public boolean isDataOrientedDecisions() {
+        return dataOrientedDecisions;
+    }
+
+    /**
+     * Setter for dataOrientedDecisions variable. The decisions are the same either way.
+     *
+     * @param dataOrientedDecisions True if the enemies' decisions should be made from DecisionColumns.
+     */
+    public void setDataOrientedDecisions(boolean dataOrientedDecisions) {
+        this.dataOrientedDecisions = dataOrientedDecisions;
+    }
+
+    /**
+     * Getter for the decisionScheduler, that decides which enemies make their decisions every frame
+     *
+     * @return The DecisionScheduler of the enemies.
+     */
+    public DecisionScheduler getDecisionScheduler() {
+        return decisionScheduler;
+    }
+
+    /**
+     * Method checks if an Enemy makes its decisions this frame.
+     *
+     * @param enemy The Enemy AI.
+     * @return True or False.
+     */
+    boolean isScheduled(EnemyAIComponent enemy) {
+        return decisionScheduler.isScheduled(enemy);
+    }
+
+    /**
+     * Getter for the game time of the current frame.
+     *
+     * @return Game time in seconds, 0 before the first frame.
+     */
+    double getFrameTime() {
+        return Double.isNaN(frameTime) ? 0 : frameTime;
+    }
+
+    /**
+     * Getter for the spatial hash of the enemies' positions, built at the start of every frame.
+     *
+     * @return The spatial hash.
+     */
+    EnemySpatialHash getSpatialHash() {
+        return spatialHash;
+    }
+
+    void addEnemy(EnemyAIComponent enemy) {
+        enemy.setManagerIndex(enemies.size());
+        enemies.add(enemy);
+        decisionScheduler.scheduleNow(enemy);       // A new Enemy decides in its first frame
+        spatialHash.addLate(enemy);                 // and can be found by others before the next frame
+    }
+
+    // The last Enemy is moved into the removed Enemy's place, so removing doesn't shift the list
+    void removeEnemy(EnemyAIComponent enemy) {
+        int index = enemy.getManagerIndex();
+        if (index < 0 || index >= enemies.size() || enemies.get(index) != enemy) {
+            return;
+        }
+
+        EnemyAIComponent last = enemies.remove(enemies.size() - 1);
+        if (last != enemy) {
+            enemies.set(index, last);
+            last.setManagerIndex(index);
+        }
+        enemy.setManagerIndex(-1);
+    }
+
+    /**
+     * Getter for the amount of enemies with an AI in the world.
+     *
+     * @return Amount of enemies.
+     */
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+}
@@ -0,0 +1,120 @@
+package edu.chalmers.model.enemy.ai;
+
+import java.util.Objects;
+
+/**
+ * EnemyDecision. What an Enemy decided to do in a frame, made by the DecisionPhase from an EnemySnapshot and
+ * applied to the Enemy on the game thread.
+ */
+final class EnemyDecision {
+
+    /**
+     * Horizontal movement, NONE leaves the velocity as it is.
+     */
+    enum Move {NONE, LEFT, RIGHT, STOP}
+
+    /**
+     * Jump and the stat improvement that goes with it.
+     */
+    enum Jump {NONE, GROUND_TO_PLATFORM, PLATFORM_TO_PLATFORM, OBSTACLE}
+
+    private static final int JUMPS = Jump.values().length;
+
+    // One shared instance of every possible decision, indexed by index()
+    private static final EnemyDecision[] DECISIONS = new EnemyDecision[Move.values().length * JUMPS * 8];
+
+    static {
+        for (Move move : Move.values()) {
+            for (Jump jump : Jump.values()) {
+                for (int bits = 0; bits < 8; bits++) {
+                    boolean flowFieldJump = (bits & 4) != 0;
+                    boolean updatePlayerReached = (bits & 2) != 0;
+                    boolean playerReached = (bits & 1) != 0;
+                    DECISIONS[index(move, flowFieldJump, jump, updatePlayerReached, playerReached)] =
+                            new EnemyDecision(move, flowFieldJump, jump, updatePlayerReached, playerReached);
+                }
+            }
+        }
+    }
+
+    private final Move move;
+    private final boolean flowFieldJump;
+    private final Jump jump;
+    private final boolean updatePlayerReached;
+    private final boolean playerReached;
+
+    EnemyDecision(Move move, boolean flowFieldJump, Jump jump, boolean updatePlayerReached, boolean playerReached) {
+        this.move = move;
+        this.flowFieldJump = flowFieldJump;
+        this.jump = jump;
+        this.updatePlayerReached = updatePlayerReached;
+        this.playerReached = playerReached;
+    }
+
+    /**
+     * Method gets the shared instance of a decision, so making a decision doesn't allocate.
+     *
+     * @return The decision.
+     */
+    static EnemyDecision of(Move move, boolean flowFieldJump, Jump jump, boolean updatePlayerReached, boolean playerReached) {
+        return DECISIONS[index(move, flowFieldJump, jump, updatePlayerReached, playerReached)];
+    }
+
+    private static int index(Move move, boolean flowFieldJump, Jump jump, boolean updatePlayerReached, boolean playerReached) {
+        int bits = (flowFieldJump ? 4 : 0) | (updatePlayerReached ? 2 : 0) | (playerReached ? 1 : 0);
+        return (move.ordinal() * JUMPS + jump.ordinal()) * 8 + bits;
+    }
+
+    Move getMove() {
+        return move;
+    }
+
+    /**
+     * Getter for flowFieldJump variable.
+     *
+     * @return True if the Enemy jumps because the flow field goes upwards.
+     */
+    boolean isFlowFieldJump() {
+        return flowFieldJump;
+    }
+
+    Jump getJump() {
+        return jump;
+    }
+
+    /**
+     * Getter for updatePlayerReached variable.
+     *
+     * @return False if playerReached should be left as it is.
+     */
+    boolean isUpdatePlayerReached() {
+        return updatePlayerReached;
+    }
+
+    boolean isPlayerReached() {
+        return playerReached;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EnemyDecision that = (EnemyDecision) o;
+        return flowFieldJump == that.flowFieldJump &&
+                updatePlayerReached == that.updatePlayerReached &&
+                playerReached == that.playerReached &&
+                move == that.move &&
+                jump == that.jump;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(move, flowFieldJump, jump, updatePlayerReached, playerReached);
+    }
+
+    @Override
+    public String toString() {
+        return "EnemyDecision{" + move + ", flowFieldJump=" + flowFieldJump + ", " + jump +
+                (updatePlayerReached ? ", playerReached=" + playerReached : "") + "}";
+    }
+}
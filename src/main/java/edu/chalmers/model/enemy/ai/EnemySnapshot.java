@@ -0,0 +1,241 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.model.EntityType;
+import edu.chalmers.utilities.RaycastCalculations;
+
+/**
+ * EnemySnapshot. Copy of everything an Enemy's movement and jump decisions depend on, taken on the game thread. The
+ * raycast results and the flow field are kept as they are and read by the DecisionPhase when it decides. Every Enemy
+ * reuses its own snapshot from frame to frame.
+ */
+final class EnemySnapshot {
+
+    private boolean pathfindingOverride;
+    private boolean targetToLeft;
+    private boolean targetToRight;
+    private boolean playerReached;
+    private boolean nearbyEnemyPlayerReached;
+    private boolean followFlowField;
+    private int flowFieldMoveX;
+    private boolean flowFieldJump;
+    private boolean jumpAllowed;
+    private boolean airborne;
+    private boolean hasJumpRaycasts;
+    private boolean playerMiddleYAbove;
+    private boolean playerOnGround;
+    private EntityType higherHorizontalHit;
+    private EntityType horizontalHit;
+    private EntityType activeDownwardHit;
+    private boolean hasEntityRaycast;
+    private EntityType entityHit;
+
+    // Taken with the snapshot and read by read() when the decision is made
+    private FlowField flowField;
+    private int tileX;
+    private int tileY;
+    private RaycastResult higherHorizontalRaycast;
+    private RaycastResult horizontalRaycast;
+    private RaycastResult activeDownwardRaycast;
+    private RaycastResult entityRaycast;
+    private boolean unread = false;     // The flow field and raycast values above haven't been read yet
+
+    EnemySnapshot() {
+    }
+
+    EnemySnapshot(boolean pathfindingOverride, boolean targetToLeft, boolean targetToRight, boolean playerReached,
+                  boolean nearbyEnemyPlayerReached, boolean followFlowField, int flowFieldMoveX, boolean flowFieldJump,
+                  boolean jumpAllowed, boolean airborne, boolean hasJumpRaycasts, boolean playerMiddleYAbove,
+                  boolean playerOnGround, EntityType higherHorizontalHit, EntityType horizontalHit,
+                  EntityType activeDownwardHit, boolean hasEntityRaycast, EntityType entityHit) {
+        this.pathfindingOverride = pathfindingOverride;
+        this.targetToLeft = targetToLeft;
+        this.targetToRight = targetToRight;
+        this.playerReached = playerReached;
+        this.nearbyEnemyPlayerReached = nearbyEnemyPlayerReached;
+        this.followFlowField = followFlowField;
+        this.flowFieldMoveX = flowFieldMoveX;
+        this.flowFieldJump = flowFieldJump;
+        this.jumpAllowed = jumpAllowed;
+        this.airborne = airborne;
+        this.hasJumpRaycasts = hasJumpRaycasts;
+        this.playerMiddleYAbove = playerMiddleYAbove;
+        this.playerOnGround = playerOnGround;
+        this.higherHorizontalHit = higherHorizontalHit;
+        this.horizontalHit = horizontalHit;
+        this.activeDownwardHit = activeDownwardHit;
+        this.hasEntityRaycast = hasEntityRaycast;
+        this.entityHit = entityHit;
+    }
+
+    /**
+     * Method takes a new snapshot of an Enemy and reads it right away. Must be called on the game thread, after the
+     * Enemy's raycasts have been updated for the frame.
+     *
+     * @param AI The Enemy AI.
+     * @return The snapshot.
+     */
+    static EnemySnapshot of(EnemyAIComponent AI) {
+        EnemySnapshot snapshot = new EnemySnapshot();
+        snapshot.set(AI);
+        snapshot.read();
+        return snapshot;
+    }
+
+    /**
+     * Method takes the snapshot of an Enemy into this object. Must be called on the game thread, after the Enemy's
+     * raycasts have been updated for the frame. Only the raycast results and the flow field are kept, what they hit
+     * and point to is found by read().
+     *
+     * @param AI The Enemy AI.
+     */
+    void set(EnemyAIComponent AI) {
+        RaycastAI raycastAI = AI.getRaycastAI();
+        MovementAI movementAI = AI.getMovementAI();
+
+        set(AI.isPathfindingOverride(),
+                AI.isEntityMiddleToLeft(AI.getTarget()),
+                AI.isEntityMiddleToRight(AI.getTarget()),
+                AI.isPlayerReached(),
+                AI.isQueuePlayerReached(),
+                AI.getFlowField(),
+                movementAI.getTileX(),
+                movementAI.getTileY(),
+                movementAI.isJumpAllowed(),
+                AI.getThisEnemy().isAirborne(),
+                AI.isEntityMiddleYAbove(AI.getPlayer()),
+                AI.getPlayerComponent().isOnGround(),
+                raycastAI.getHigherHorizontalRaycast(),
+                raycastAI.getHorizontalRaycast(),
+                raycastAI.getActiveDownwardRaycast(),
+                raycastAI.getEntityRaycast());
+    }
+
+    /**
+     * Method takes a snapshot from values that have already been found on the game thread.
+     *
+     * @param flowField Flow field the Enemy follows, or null.
+     * @param tileX     Tile the Enemy is on.
+     * @param tileY     Tile the Enemy is on.
+     */
+    void set(boolean pathfindingOverride, boolean targetToLeft, boolean targetToRight, boolean playerReached,
+             boolean nearbyEnemyPlayerReached, FlowField flowField, int tileX, int tileY, boolean jumpAllowed,
+             boolean airborne, boolean playerMiddleYAbove, boolean playerOnGround,
+             RaycastResult higherHorizontalRaycast, RaycastResult horizontalRaycast,
+             RaycastResult activeDownwardRaycast, RaycastResult entityRaycast) {
+        this.pathfindingOverride = pathfindingOverride;
+        this.targetToLeft = targetToLeft;
+        this.targetToRight = targetToRight;
+        this.playerReached = playerReached;
+        this.nearbyEnemyPlayerReached = nearbyEnemyPlayerReached;
+        this.flowField = flowField;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.jumpAllowed = jumpAllowed;
+        this.airborne = airborne;
+        this.playerMiddleYAbove = playerMiddleYAbove;
+        this.playerOnGround = playerOnGround;
+        this.higherHorizontalRaycast = higherHorizontalRaycast;
+        this.horizontalRaycast = horizontalRaycast;
+        this.activeDownwardRaycast = activeDownwardRaycast;
+        this.entityRaycast = entityRaycast;
+        unread = true;
+    }
+
+    /**
+     * Method finds what the snapshot's raycasts hit and what the flow field points to from the Enemy's tile. Does
+     * nothing if it has already been called since the snapshot was taken.
+     */
+    void read() {
+        if (!unread) {
+            return;
+        }
+        unread = false;
+
+        followFlowField = flowField != null;
+        flowFieldMoveX = flowField == null ? 0 : flowField.getMoveX(tileX, tileY);
+        flowFieldJump = flowField != null && flowField.isJump(tileX, tileY);
+        hasJumpRaycasts = higherHorizontalRaycast != null && horizontalRaycast != null && activeDownwardRaycast != null;
+        higherHorizontalHit = getHitType(higherHorizontalRaycast);
+        horizontalHit = getHitType(horizontalRaycast);
+        activeDownwardHit = getHitType(activeDownwardRaycast);
+        hasEntityRaycast = entityRaycast != null;
+        entityHit = getHitType(entityRaycast);
+    }
+
+    private static EntityType getHitType(RaycastResult raycast) {
+        return raycast == null ? null : RaycastCalculations.getRaycastHitType(raycast);
+    }
+
+    boolean isPathfindingOverride() {
+        return pathfindingOverride;
+    }
+
+    boolean isTargetToLeft() {
+        return targetToLeft;
+    }
+
+    boolean isTargetToRight() {
+        return targetToRight;
+    }
+
+    boolean isPlayerReached() {
+        return playerReached;
+    }
+
+    boolean isNearbyEnemyPlayerReached() {
+        return nearbyEnemyPlayerReached;
+    }
+
+    boolean isFollowFlowField() {
+        return followFlowField;
+    }
+
+    int getFlowFieldMoveX() {
+        return flowFieldMoveX;
+    }
+
+    boolean isFlowFieldJump() {
+        return flowFieldJump;
+    }
+
+    boolean isJumpAllowed() {
+        return jumpAllowed;
+    }
+
+    boolean isAirborne() {
+        return airborne;
+    }
+
+    boolean hasJumpRaycasts() {
+        return hasJumpRaycasts;
+    }
+
+    boolean isPlayerMiddleYAbove() {
+        return playerMiddleYAbove;
+    }
+
+    boolean isPlayerOnGround() {
+        return playerOnGround;
+    }
+
+    EntityType getHigherHorizontalHit() {
+        return higherHorizontalHit;
+    }
+
+    EntityType getHorizontalHit() {
+        return horizontalHit;
+    }
+
+    EntityType getActiveDownwardHit() {
+        return activeDownwardHit;
+    }
+
+    boolean hasEntityRaycast() {
+        return hasEntityRaycast;
+    }
+
+    EntityType getEntityHit() {
+        return entityHit;
+    }
+}
@@ -0,0 +1,176 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.enemy.EnemyComponent;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EnemySpatialHash. Uniform grid of the enemies' positions, rebuilt once every frame, used to find other enemies
+ * near an Enemy without raycasts. Every Enemy is put in the cell of its top left corner, the cells are hashed into
+ * a power of two amount of buckets and the enemies are sorted by bucket into one array, so neither building nor
+ * querying allocates once the arrays are big enough. Enemies added after the build are kept in a short list that
+ * every query also looks at, until the next build.
+ */
+final class EnemySpatialHash {
+
+    private static final int CELL_SIZE = 64;        // A bit larger than an Enemy
+
+    private int count = 0;
+    private EnemyAIComponent[] enemies = new EnemyAIComponent[64];    // In the order of the build, index = spatialIndex
+    private int[] enemyBuckets = new int[64];
+    private int[] sorted = new int[64];              // Enemy indices sorted by bucket
+    private int[] bucketStarts = new int[65];        // Bucket b is sorted[bucketStarts[b]] to sorted[bucketStarts[b + 1]]
+    private int[] bucketFill = new int[64];
+    private int bucketMask = 63;
+    private double maxWidth = 0;
+    private double maxHeight = 0;
+
+    private int lateCount = 0;
+    private EnemyAIComponent[] lateEnemies = new EnemyAIComponent[8];
+
+    /**
+     * Method rebuilds the grid from the enemies' current positions.
+     *
+     * @param list Every Enemy AI in the world.
+     */
+    void build(List<EnemyAIComponent> list) {
+        int previousCount = count;
+        count = list.size();
+        if (count > enemies.length) {
+            int size = Math.max(count, enemies.length * 2);
+            enemies = Arrays.copyOf(enemies, size);
+            enemyBuckets = new int[size];
+            sorted = new int[size];
+        }
+        int buckets = Math.max(64, Integer.highestOneBit(Math.max(1, count * 2 - 1)) << 1);
+        if (buckets + 1 > bucketStarts.length) {
+            bucketStarts = new int[buckets + 1];
+            bucketFill = new int[buckets];
+        }
+        bucketMask = buckets - 1;
+        Arrays.fill(bucketStarts, 0, buckets + 1, 0);
+
+        // Count the enemies of every bucket
+        maxWidth = 0;
+        maxHeight = 0;
+        for (int i = 0; i < count; i++) {
+            EnemyAIComponent enemy = list.get(i);
+            EnemyComponent thisEnemy = enemy.getThisEnemy();
+            enemies[i] = enemy;
+            enemy.setSpatialIndex(i);
+
+            int bucket = bucket(cell(thisEnemy.getX()), cell(thisEnemy.getY()));
+            enemyBuckets[i] = bucket;
+            bucketStarts[bucket + 1]++;
+            maxWidth = Math.max(maxWidth, thisEnemy.getRightX() - thisEnemy.getX());
+            maxHeight = Math.max(maxHeight, thisEnemy.getBottomY() - thisEnemy.getY());
+        }
+
+        // Sort them by bucket
+        for (int b = 0; b < buckets; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        System.arraycopy(bucketStarts, 0, bucketFill, 0, buckets);
+        for (int i = 0; i < count; i++) {
+            sorted[bucketFill[enemyBuckets[i]]++] = i;
+        }
+
+        if (previousCount > count) {
+            Arrays.fill(enemies, count, previousCount, null);      // Don't keep removed enemies alive
+        }
+        Arrays.fill(lateEnemies, 0, lateCount, null);
+        lateCount = 0;
+    }
+
+    /**
+     * Method adds an Enemy that came into the world after the grid was built.
+     *
+     * @param enemy The Enemy AI.
+     */
+    void addLate(EnemyAIComponent enemy) {
+        if (lateCount == lateEnemies.length) {
+            lateEnemies = Arrays.copyOf(lateEnemies, lateCount * 2);
+        }
+        enemy.setSpatialIndex(-1);
+        lateEnemies[lateCount++] = enemy;
+    }
+
+    /**
+     * Method finds an Enemy overlapping a box. The box and the enemies include their edges. Enemies removed from the
+     * world since the build are never found.
+     *
+     * @param minX    Left edge of the box.
+     * @param minY    Top edge of the box.
+     * @param maxX    Right edge of the box.
+     * @param maxY    Bottom edge of the box.
+     * @param exclude Enemy to skip, usually the one asking.
+     * @return An Enemy in the box, or null if there is none.
+     */
+    EnemyAIComponent findFirst(double minX, double minY, double maxX, double maxY, EnemyAIComponent exclude) {
+        if (count > 0) {
+            // An Enemy is in the cell of its top left corner, so cells up to one Enemy size left of and above the box are searched too
+            int minCellX = cell(minX - maxWidth);
+            int minCellY = cell(minY - maxHeight);
+            int maxCellX = cell(maxX);
+            int maxCellY = cell(maxY);
+
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    int bucket = bucket(cellX, cellY);
+                    for (int s = bucketStarts[bucket]; s < bucketStarts[bucket + 1]; s++) {
+                        EnemyAIComponent enemy = enemies[sorted[s]];
+                        if (enemy != exclude && overlaps(enemy, minX, minY, maxX, maxY)) {
+                            return enemy;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < lateCount; i++) {
+            if (lateEnemies[i] != exclude && overlaps(lateEnemies[i], minX, minY, maxX, maxY)) {
+                return lateEnemies[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getter for the amount of enemies in the latest build.
+     *
+     * @return Amount of enemies.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Getter for an Enemy of the latest build.
+     *
+     * @param index Spatial index of the Enemy.
+     * @return The Enemy AI.
+     */
+    EnemyAIComponent get(int index) {
+        return enemies[index];
+    }
+
+    // Exact test against the Enemy's current position, enemies removed since the build are skipped
+    private static boolean overlaps(EnemyAIComponent enemy, double minX, double minY, double maxX, double maxY) {
+        if (!enemy.isActive()) {
+            return false;
+        }
+
+        EnemyComponent thisEnemy = enemy.getThisEnemy();
+        return thisEnemy.getX() <= maxX && thisEnemy.getRightX() >= minX &&
+                thisEnemy.getY() <= maxY && thisEnemy.getBottomY() >= minY;
+    }
+
+    private static int cell(double position) {
+        return (int) Math.floor(position / CELL_SIZE);
+    }
+
+    private int bucket(int cellX, int cellY) {
+        return ((cellX * 92837111) ^ (cellY * 689287499)) & bucketMask;
+    }
+}
@@ -0,0 +1,263 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.building.IBlock;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.utilities.Constants;
+
+import java.util.Arrays;
+
+/**
+ * FlowField. Direction and jump hint towards the Player for every tile of the map, shared by all enemies with the
+ * same block damage. The field is found with Dijkstra from the Player's tile over the TileGrid and is only
+ * recalculated when the Player moves to another tile or the map changes (TileGrid revision), looking up the hint
+ * of a tile is an array lookup. Permanent blocks (the platforms of the level) can't be passed, player built blocks
+ * can be broken through at a cost that depends on how many hits the Enemy needs to break an undamaged block.
+ */
+public class FlowField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int WALK_COST = 1;
+    private static final int FALL_COST = 1;
+    private static final int JUMP_COST = 2;
+    private static final int BREAK_COST_PER_HIT = 2;       // A hit on a block takes about as long as walking two tiles
+    private static final int MAX_JUMP_TILES = 2;            // How many tiles above a surface an Enemy can jump
+
+    private final TileGrid grid;
+    private final int blockDamage;
+
+    private int targetTileX;
+    private int targetTileY;
+    private int revision;
+    private boolean calculated = false;
+
+    private final int[] costs;              // Cost of reaching the target from every tile
+    private final byte[] moveX;             // -1 = left, 1 = right, 0 = no horizontal movement
+    private final boolean[] jumps;          // If the next step from the tile is upwards
+    private final int[] airTiles;           // Amount of empty tiles between the tile and the surface below it
+    private final boolean[] closed;
+    private final int[] heap;
+    private final int[] heapCosts;
+    private int heapSize;
+
+    /**
+     * @param grid        grid of the map
+     * @param blockDamage damage the enemies using the field do to a block every hit
+     */
+    public FlowField(TileGrid grid, int blockDamage) {
+        this.grid = grid;
+        this.blockDamage = Math.max(1, blockDamage);
+
+        int tileCount = grid.getTileCount();
+        costs = new int[tileCount];
+        moveX = new byte[tileCount];
+        jumps = new boolean[tileCount];
+        airTiles = new int[tileCount];
+        closed = new boolean[tileCount];
+        heap = new int[tileCount * TileGrid.NEIGHBOURS + 1];      // A tile is pushed at most once per neighbour
+        heapCosts = new int[heap.length];
+    }
+
+    /**
+     * Method recalculates the field if the target tile or the map has changed since the last call
+     *
+     * @param targetTileX x value of the tile the Player is on
+     * @param targetTileY y value of the tile the Player is on
+     * @return true if the field was recalculated
+     */
+    public boolean update(int targetTileX, int targetTileY) {
+        if (calculated && targetTileX == this.targetTileX && targetTileY == this.targetTileY && grid.getRevision() == revision) {
+            return false;
+        }
+
+        this.targetTileX = targetTileX;
+        this.targetTileY = targetTileY;
+        this.revision = grid.getRevision();
+        this.calculated = true;
+        recalculate();
+        return true;
+    }
+
+    /**
+     * Method gets which way to move from a tile to get closer to the Player
+     *
+     * @param tileX x value of tile
+     * @param tileY y value of tile
+     * @return -1 for left, 1 for right, 0 if the tile is below or above the Player or can't reach the Player
+     */
+    public int getMoveX(int tileX, int tileY) {
+        int index = grid.indexOf(tileX, tileY);
+        return index < 0 ? 0 : moveX[index];
+    }
+
+    /**
+     * Method checks if an Enemy on a tile has to jump to get closer to the Player
+     *
+     * @param tileX x value of tile
+     * @param tileY y value of tile
+     * @return boolean
+     */
+    public boolean isJump(int tileX, int tileY) {
+        int index = grid.indexOf(tileX, tileY);
+        return index >= 0 && jumps[index];
+    }
+
+    /**
+     * Method gets the cost of reaching the Player from a tile
+     *
+     * @param tileX x value of tile
+     * @param tileY y value of tile
+     * @return cost, UNREACHABLE if the Player can't be reached from the tile
+     */
+    public int getCost(int tileX, int tileY) {
+        int index = grid.indexOf(tileX, tileY);
+        return index < 0 ? UNREACHABLE : costs[index];
+    }
+
+    /**
+     * Getter for the block damage the field was made for
+     *
+     * @return damage per hit on a block
+     */
+    public int getBlockDamage() {
+        return blockDamage;
+    }
+
+    /* Dijkstra from the target tile, every tile gets the neighbour it should move to */
+    private void recalculate() {
+        Arrays.fill(costs, UNREACHABLE);
+        Arrays.fill(moveX, (byte) 0);
+        Arrays.fill(jumps, false);
+        Arrays.fill(closed, false);
+        heapSize = 0;
+        calculateAirTiles();
+
+        int target = grid.indexOf(targetTileX, targetTileY);
+        if (target < 0 || isPermanent(target)) {
+            return;
+        }
+
+        costs[target] = 0;
+        push(target, 0);
+
+        while (heapSize > 0) {
+            int tile = pop();
+            if (closed[tile]) continue;     // Already reached with a lower cost
+            closed[tile] = true;
+
+            // Every neighbour that can move to this tile
+            for (int direction = 0; direction < TileGrid.NEIGHBOURS; direction++) {
+                int from = grid.neighbourOf(tile, direction);
+                if (from < 0 || closed[from] || isPermanent(from)) continue;
+
+                int stepCost = getStepCost(from, (direction + 2) % TileGrid.NEIGHBOURS);
+                if (stepCost == UNREACHABLE) continue;
+
+                int cost = costs[tile] + stepCost + getBreakCost(tile);
+                if (cost < costs[from]) {
+                    costs[from] = cost;
+                    setHint(from, tile, direction);
+                    push(from, cost);
+                }
+            }
+        }
+    }
+
+    // Cost of moving one tile in a direction (0 = above, 1 = right, 2 = below, 3 = left), UNREACHABLE if not possible
+    private int getStepCost(int from, int direction) {
+        switch (direction) {
+            case 0:
+                return airTiles[from] < MAX_JUMP_TILES ? JUMP_COST : UNREACHABLE;
+            case 2:
+                return FALL_COST;
+            default:
+                return airTiles[from] <= MAX_JUMP_TILES ? WALK_COST : UNREACHABLE;
+        }
+    }
+
+    // The hint of a tile is the step to its next tile, a vertical step keeps the horizontal direction of the next tile
+    private void setHint(int from, int next, int directionFromNext) {
+        switch (directionFromNext) {
+            case 1:         // from is right of next
+                moveX[from] = -1;
+                jumps[from] = false;
+                break;
+            case 3:         // from is left of next
+                moveX[from] = 1;
+                jumps[from] = false;
+                break;
+            case 2:         // from is below next
+                moveX[from] = moveX[next];
+                jumps[from] = true;
+                break;
+            default:        // from is above next
+                moveX[from] = moveX[next];
+                jumps[from] = false;
+                break;
+        }
+    }
+
+    // The cost uses the full health of a block, not its current health. Damage doesn't change the TileGrid revision,
+    // so a cost read from the current health would be stale until the next recalculation anyway.
+    private int getBreakCost(int tile) {
+        if (grid.isEmpty(tile)) {
+            return 0;
+        }
+
+        int hits = (Constants.BLOCK_HEALTH + blockDamage - 1) / blockDamage;
+        return hits * BREAK_COST_PER_HIT;
+    }
+
+    private boolean isPermanent(int tile) {
+        IBlock block = grid.get(tile);
+        return block != null && !block.canBeDestroyed();
+    }
+
+    // Counts the empty tiles below every tile, from the bottom row up. Tiles below the grid count as ground.
+    private void calculateAirTiles() {
+        int width = grid.getWidth();
+        for (int y = grid.getHeight() - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                int tile = y * width + x;
+                int below = grid.neighbourOf(tile, 2);
+                if (below < 0 || !grid.isEmpty(below)) {
+                    airTiles[tile] = 0;
+                } else {
+                    airTiles[tile] = airTiles[below] + 1;
+                }
+            }
+        }
+    }
+
+    // ---- BINARY HEAP OF OPEN TILES ---- //
+
+    private void push(int tile, int cost) {
+        int i = heapSize++;
+        while (i > 0 && heapCosts[(i - 1) / 2] > cost) {
+            heap[i] = heap[(i - 1) / 2];
+            heapCosts[i] = heapCosts[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = tile;
+        heapCosts[i] = cost;
+    }
+
+    private int pop() {
+        int tile = heap[0];
+        int lastTile = heap[--heapSize];
+        int lastCost = heapCosts[heapSize];
+
+        int i = 0;
+        while (2 * i + 1 < heapSize) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) child++;
+            if (heapCosts[child] >= lastCost) break;
+            heap[i] = heap[child];
+            heapCosts[i] = heapCosts[child];
+            i = child;
+        }
+        heap[i] = lastTile;
+        heapCosts[i] = lastCost;
+        return tile;
+    }
+}
@@ -1,12 +1,11 @@
 package edu.chalmers.model.enemy.ai;
 
 import com.almasb.fxgl.entity.Entity;
-import com.almasb.fxgl.time.TimerAction;
 import edu.chalmers.model.EntityType;
+import edu.chalmers.utilities.CoordsCalculations;
+import edu.chalmers.utilities.EntityPos;
 import edu.chalmers.utilities.RaycastCalculations;
-import javafx.util.Duration;
-
-import static com.almasb.fxgl.dsl.FXGL.runOnce;
+import edu.chalmers.utilities.Cooldown;
 
 /**
  * @author Sam Salek
@@ -19,9 +18,9 @@ class MovementAI {
 
     private EnemyAIComponent AI;
     private Direction moveDirection;
-    private Entity closestPlatform = null;
-    private TimerAction underPlatformTimer;
-    private TimerAction moveToNextPlatformTimer;
+    private Entity nextPlatform = null;
+    private final Cooldown underPlatformCooldown = new Cooldown(1);
+    private final Cooldown moveToNextPlatformCooldown = new Cooldown(1);
 
     private boolean underPlatform = false;
     private boolean moveToNextPlatform = true;
@@ -29,13 +28,19 @@ class MovementAI {
 
     public MovementAI(EnemyAIComponent enemyAIComponent) {
         this.AI = enemyAIComponent;
-        initTimer();
     }
 
     /**
      * Method updates moveDirection based on Player position.
      */
     public void updateMoveDirection() {
+        // Follow the flow field if there is one
+        int flowFieldMoveX = getFlowFieldMoveX();
+        if (flowFieldMoveX != 0) {
+            moveDirection = flowFieldMoveX < 0 ? Direction.LEFT : Direction.RIGHT;
+            return;
+        }
+
         // Is target to the left or right?
         if (AI.isEntityMiddleToLeft(AI.getTarget())) {
             moveDirection = Direction.LEFT;
@@ -48,30 +53,18 @@ class MovementAI {
      * Method moves Enemy towards the target.
      */
     public void moveTowardsTarget() {
+        applyMove(DecisionPhase.decideTargetMove(EnemySnapshot.of(AI)));
+    }
 
-        // Checks if a nearby Enemy has reached the player.
-        boolean nearbyEnemyHasReachedPlayer = false;
-        if (AI.getNearbyEnemyAI() != null) {
-            nearbyEnemyHasReachedPlayer = AI.getNearbyEnemyAI().isPlayerReached();
-        }
-
-        // Is Enemy to the right of target AND Player is not reached by Enemy or nearby Enemy?
-        if (AI.isEntityMiddleToLeft(AI.getTarget()) &&
-                !AI.isPlayerReached() &&
-                !nearbyEnemyHasReachedPlayer) {
-            AI.getThisEnemy().moveLeft();
-        }
-
-        // Is Enemy to the left of target AND Player is not reached by Enemy or nearby Enemy?
-        else if (AI.isEntityMiddleToRight(AI.getTarget()) &&
-                !AI.isPlayerReached() &&
-                !nearbyEnemyHasReachedPlayer) {
-            AI.getThisEnemy().moveRight();
-        }
-
-        // Player has been reached; stop moving.
-        else {
-            AI.getThisEnemy().stop();
+    /**
+     * Method moves Enemy the way the flow field points from the Enemy's tile and jumps where the field goes upwards.
+     * Moves towards the target instead on the Player's tile, or if the field can't reach the Player.
+     */
+    public void moveAlongFlowField() {
+        EnemySnapshot snapshot = EnemySnapshot.of(AI);
+        applyMove(DecisionPhase.decideFlowFieldMove(snapshot));
+        if (DecisionPhase.decideFlowFieldJump(snapshot)) {
+            AI.getThisEnemy().jump();
         }
     }
 
@@ -79,51 +72,50 @@ class MovementAI {
      * Jump method. Makes Enemy jump when needed.
      */
     public void doJump() {
-        if (AI.getRaycastAI().getHigherHorizontalRaycast() == null ||
-                AI.getRaycastAI().getHorizontalRaycast() == null ||
-                AI.getRaycastAI().getActiveDownwardRaycast() == null) {
-            return;
-        }
-
-        // Jump isn't allowed: return.
-        if (!jumpAllowed) {
-            return;
-        }
-
-        // IF (jump up to platform from the ground):
-        // Players middle Y-pos is above Enemy *AND*
-        // Player most recently did not touch the world ground *AND*
-        // getHigherHorizontalRaycast hit a platform:
-        if (AI.isEntityMiddleYAbove(AI.getPlayer()) &&
-                !AI.getPlayerComponent().isOnGround() &&
-                RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getHigherHorizontalRaycast(), EntityType.PLATFORM)) {
-
-            AI.getStatImprovementAI().groundToPlatformStatImprovement();     // Increase moveSpeed and jumpHeight.
-            AI.getThisEnemy().jump();
-            return;
-
-        }
-
-        // IF (going to fall):
-        // activeDownwardRaycast did *not* hit a platform (Enemy is usually walking off a platform) *AND*
-        // activeDownwardRaycast did *not* hit a block *AND*
-        // Enemy is not airborne:
-        if (!RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getActiveDownwardRaycast(), EntityType.PLATFORM) &&
-                !RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getActiveDownwardRaycast(), EntityType.BLOCK) &&
-                !AI.getThisEnemy().isAirborne()) {
+        applyJump(DecisionPhase.decideJump(EnemySnapshot.of(AI)));
+    }
 
-            AI.getStatImprovementAI().platformToPlatformStatImprovement();     // Increase moveSpeed and jumpHeight if Enemy is falling off platform and is going to jump.
-            AI.getThisEnemy().jump();
-            return;
+    /**
+     * Method moves Enemy as decided.
+     *
+     * @param move The decided movement.
+     */
+    void applyMove(EnemyDecision.Move move) {
+        switch (move) {
+            case LEFT:
+                AI.getThisEnemy().moveLeft();
+                break;
+            case RIGHT:
+                AI.getThisEnemy().moveRight();
+                break;
+            case STOP:
+                AI.getThisEnemy().stop();
+                break;
+            default:
+                break;
         }
+    }
 
-        // IF (hit a block or platform):
-        // horizontalRaycast hit a Block or a platform:
-        if (RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getHorizontalRaycast(), EntityType.BLOCK) ||
-                RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getHorizontalRaycast(), EntityType.PLATFORM)) {
-
-            AI.getThisEnemy().jump();
-            return;
+    /**
+     * Method makes Enemy jump as decided, with the stat improvement of the jump.
+     *
+     * @param jump The decided jump.
+     */
+    void applyJump(EnemyDecision.Jump jump) {
+        switch (jump) {
+            case GROUND_TO_PLATFORM:
+                AI.getStatImprovementAI().groundToPlatformStatImprovement();     // Increase moveSpeed and jumpHeight.
+                AI.getThisEnemy().jump();
+                break;
+            case PLATFORM_TO_PLATFORM:
+                AI.getStatImprovementAI().platformToPlatformStatImprovement();     // Increase moveSpeed and jumpHeight if Enemy is falling off platform and is going to jump.
+                AI.getThisEnemy().jump();
+                break;
+            case OBSTACLE:
+                AI.getThisEnemy().jump();
+                break;
+            default:
+                break;
         }
     }
 
@@ -145,24 +137,30 @@ class MovementAI {
                 moveToNextPlatform) {
 
             // If closest platform is *not* equal to null
-            if (closestPlatform != null) {
-                // Checks if platform below Enemy is closestPlatform. If so: delay move to next platform.
-                if (AI.getPlatformAI().checkPlatformBelowEnemy(closestPlatform)) {
+            if (nextPlatform != null) {
+                // Checks if platform below Enemy is nextPlatform. If so: delay move to next platform.
+                if (AI.getPlatformAI().checkPlatformBelowEnemy(nextPlatform)) {
                     moveToNextPlatform = false;
                     moveToNextPlatformDelay();      // Sets moveToNextPlatform to true after a short delay (to give Enemy time to reach platform).
                 }
             }
 
-            // Set closestPlatform if Enemy is not airborne.
+            // Set nextPlatform (next platform on the path to the Player's platform) if Enemy is not airborne.
             if (!AI.getThisEnemy().isAirborne()) {
-                closestPlatform = AI.getPlatformAI().getClosestPlatform();
+                nextPlatform = AI.getPlatformAI().getNextPlatform();
+
+                // No next platform: the path goes down through the ground or the Player's platform can't be reached.
+                // Head for the Player instead of keeping an old platform as target, the Enemy drops off the edge on the way.
+                if (nextPlatform == null) {
+                    AI.setTarget(AI.getPlayer());
+                }
             }
 
-            // Set target to closestPlatform if it isn't equal to null.
-            if (closestPlatform != null &&
+            // Set target to nextPlatform if it isn't equal to null.
+            if (nextPlatform != null &&
                     AI.getPlatformAI().getPlayerRecentPlatformContact() != null) {
 
-                AI.setTarget(closestPlatform);
+                AI.setTarget(nextPlatform);
 
                 // If the most recent platform the player was in contact with is the same platform below Enemy: set target to player.
                 if (AI.getPlatformAI().getPlayerRecentPlatformContact().equals(AI.getPlatformAI().getPlatformBelowEnemy())) {
@@ -234,37 +232,51 @@ class MovementAI {
         }
     }
 
-    /**
-     * Initiate damage delay timer.
-     */
-    private void initTimer() {
-        underPlatformTimer = runOnce(() -> {
-        }, Duration.seconds(0));
-        moveToNextPlatformTimer = runOnce(() -> {
-        }, Duration.seconds(0));
+    // Which way the flow field points from the Enemy's tile, 0 without a flow field
+    private int getFlowFieldMoveX() {
+        FlowField flowField = AI.getFlowField();
+        return flowField == null ? 0 : flowField.getMoveX(getTileX(), getTileY());
+    }
+
+    // Tile the Enemy's middle is on
+    int getTileX() {
+        return CoordsCalculations.posToTileX(EntityPos.getMiddleX(AI.getThisEnemy().getEntity()));
+    }
+
+    int getTileY() {
+        return CoordsCalculations.posToTileY(EntityPos.getMiddleY(AI.getThisEnemy().getEntity()));
     }
 
     // ---------- TIMERS ---------- //
 
+    /**
+     * Method does what the delays do when they run out. Called at the start of every decision, before the delays
+     * are read or started.
+     *
+     * @param now Current game time.
+     */
+    void updateCooldowns(double now) {
+        if (underPlatformCooldown.pollExpired(now)) {
+            underPlatform = false;
+            jumpAllowed = true;
+        }
+        if (moveToNextPlatformCooldown.pollExpired(now)) {
+            moveToNextPlatform = true;
+        }
+    }
+
     /**
      * Method sets underPlatform variable to false after a short delay.
      */
     private void noLongerUnderPlatformDelay() {
-        if (underPlatformTimer.isExpired()) {
-            underPlatformTimer = runOnce(() -> {
-                underPlatform = false;
-                jumpAllowed = true;
-            }, Duration.seconds(1));
-        }
+        underPlatformCooldown.startIfIdle(EnemyAIManager.getInstance().getFrameTime());
     }
 
     /**
      * Method sets moveToNextPlatform variable to true after a short delay.
      */
     private void moveToNextPlatformDelay() {
-        if (moveToNextPlatformTimer.isExpired()) {
-            moveToNextPlatformTimer = runOnce(() -> moveToNextPlatform = true, Duration.seconds(1));
-        }
+        moveToNextPlatformCooldown.startIfIdle(EnemyAIManager.getInstance().getFrameTime());
     }
 
     /**
@@ -2,12 +2,9 @@ package edu.chalmers.model.enemy.ai;
 
 import com.almasb.fxgl.entity.Entity;
 import edu.chalmers.model.EntityType;
-import edu.chalmers.utilities.EntityPos;
 import edu.chalmers.utilities.RaycastCalculations;
 
-import java.util.*;
-
-import static com.almasb.fxgl.dsl.FXGLForKtKt.getGameWorld;
+import java.util.List;
 
 /**
  * @author Sam Salek
@@ -16,142 +13,58 @@ import static com.almasb.fxgl.dsl.FXGLForKtKt.getGameWorld;
  */
 class PlatformAI {
 
-    // The most recent platform the Player has been in contact with. Is the same across all Enemy entities.
-    private static Entity playerRecentPlatformContact = null;
+    private static final double GRAVITY = 500;      // FXGL's default gravity in pixels/s^2 (10 m/s^2 at 50 pixels per meter)
+
     private EnemyAIComponent AI;
-    private List<Entity> platforms = new ArrayList<>();                         // List witt all platforms.
-    private List<Double> platformYDeltaList = new ArrayList<>();                // List with all Y-pos delta between thisEnemy and platforms.
-    private HashMap<Double, Entity> platformAndYDeltaMap = new HashMap<>();     // HashMap with Y-Pos deltas and their corresponding platform.
+    private PlatformGraph platformGraph;                                        // Graph for this Enemy's jump, null until first needed.
+    private PlatformRegistry platformGraphRegistry;                             // Registry platformGraph belongs to.
+    private int enemyNode = PlatformRegistry.GROUND_ID;                         // Id of the surface the Enemy most recently stood on.
 
     public PlatformAI(EnemyAIComponent enemyAIComponent) {
         this.AI = enemyAIComponent;
     }
 
     /**
-     * Method finds all platforms in the level and adds them to the "platforms" list.
+     * Method rebuilds the level's shared PlatformRegistry from the platforms in the game world.
+     * Only needed if platforms have been added after the level was loaded.
      */
     public void updatePlatforms() {
-        platforms = getGameWorld().getEntitiesByType(EntityType.PLATFORM);
-
-        // Return if no platforms are found.
-        if (platforms == null || platforms.size() == 0) {
-            return;
-        }
-
-        int worldPlatformIndex = -1;     // Index of the world platform in the platforms list.
-
-        // Find list index of the world platform.
-        for (Entity p : platforms) {
-            // If platform is att X=0 (the world 'platform').
-            if (p.getX() == 0) {
-                worldPlatformIndex = platforms.indexOf(p);
-                break;
-            }
-        }
-
-        // Remove world from platform list.
-        if (worldPlatformIndex != -1) {
-            platforms.remove(platforms.get(worldPlatformIndex));
-        }
+        PlatformRegistry.loadLevel();
     }
 
     /**
-     * Method finds the closest platform to the Enemy.
+     * Method finds the next platform on the shortest path from the surface the Enemy is on to the platform the
+     * Player most recently was in contact with.
      *
-     * @return The closest platform.
+     * @return The next platform, the platform below Enemy if it's the Player's platform, or null if there is no path or the next surface is the ground.
      */
-    public Entity getClosestPlatform() {
-        if (platforms.size() <= 0) {
-            return null;
+    public Entity getNextPlatform() {
+        Entity platformBelowEnemy = getPlatformBelowEnemy();
+        if (platformBelowEnemy != null) {
+            enemyNode = PlatformRegistry.getInstance().getId(platformBelowEnemy);
+        } else if (AI.getThisEnemy().isOnGround()) {
+            enemyNode = PlatformRegistry.GROUND_ID;
         }
 
-        // Resets lists and variables for new closest platform search.
-        platformYDeltaList.clear();
-        platformAndYDeltaMap.clear();
-        boolean twoPlatformsFound = false;
-
-        for (Entity p : platforms) {
-
-            // Skip platform if Enemy is standing on it
-            if (getPlatformBelowEnemy() != null) {
-                if (getPlatformBelowEnemy().equals(p)) {
-
-                    // If only one platform exists and it is the one Enemy is standing on:
-                    if (platforms.size() == 1) {
-                        return null;
-                    }
-                    // Else, continue.
-                    continue;
-                }
-            }
-
-            // Y-Position delta between current platform and Enemy. Add delta to list and to map along with the platform.
-            Double yDelta = Double.valueOf(Math.abs(p.getY() - AI.getThisEnemy().getY()));
-
-            // Increase the yDelta if a platform with that specific yDelta already exist (so platform doesn't get replaced in HashMap by the same key).
-            // Stupid way to fix the issue but not enough time for a proper fix.
-            if (platformAndYDeltaMap.get(yDelta) != null) {
-                yDelta++;
-            }
-            platformYDeltaList.add(yDelta);
-            platformAndYDeltaMap.put(yDelta, p);
-        }
-
-        double smallestYDelta = Collections.min(platformYDeltaList);
-        Collections.sort(platformYDeltaList);
-        Entity closestPlatform = platformAndYDeltaMap.get(smallestYDelta);
-
-        // If two or more platforms exist: check if closest platform and second closest has a Y-pos difference of less than 5.
-        if (platformYDeltaList.size() >= 2) {
-            if (Math.abs(smallestYDelta - platformYDeltaList.get(1)) < 5) {
-                twoPlatformsFound = true;
-            }
-        }
-
-        if (twoPlatformsFound) {
-            closestPlatform = getClosestPlatformOfTwo();
-        }
-
-        return closestPlatform;
+        int playerNode = PlatformRegistry.getInstance().getId(getPlayerRecentPlatformContact());
+        return PlatformRegistry.getInstance().getPlatform(getPlatformGraph().getNextNode(enemyNode, playerNode));
     }
 
     /**
-     * Method gets the closest platform if two platforms exist on roughly the same Y-Position.
+     * Getter for the navigation graph of this Enemy's jump. Reachable height and distance are sized to the jump
+     * the Enemy does when jumping up to a platform.
      *
-     * @return The closest platform.
+     * @return The graph.
      */
-    private Entity getClosestPlatformOfTwo() {
-        for (int i = 0; i < platformYDeltaList.size(); i++) {
-            for (int j = i + 1; j < platformYDeltaList.size(); j++) {
-                Double y1 = platformYDeltaList.get(i);
-                Double y2 = platformYDeltaList.get(j);
-
-                // If difference between 2 platforms Y-pos is less than 5
-                if (Math.abs(y1 - y2) < 5) {
-                    Entity platform1 = platformAndYDeltaMap.get(y1);
-                    Entity platform2 = platformAndYDeltaMap.get(y2);
-
-                    // Middle X-Positions for platforms and player
-                    double platform1MiddleX = EntityPos.getMiddleX(platform1);
-                    double platform2MiddleX = EntityPos.getMiddleX(platform2);
-                    double playerMiddleX = EntityPos.getMiddleX(AI.getPlayer());
-
-                    // X-Position delta between platforms and player.
-                    Double xDelta_playerPlatform1 = Double.valueOf(Math.abs(platform1MiddleX - playerMiddleX));
-                    Double xDelta_playerPlatform2 = Double.valueOf(Math.abs(platform2MiddleX - playerMiddleX));
-
-                    // Return the platform with smallest X-Position delta (closest platform).
-                    if (xDelta_playerPlatform1 < xDelta_playerPlatform2) {
-                        return platformAndYDeltaMap.get(y1);
-                    } else {
-                        return platformAndYDeltaMap.get(y2);
-                    }
-                }
-            }
+    PlatformGraph getPlatformGraph() {
+        if (platformGraph == null || platformGraphRegistry != PlatformRegistry.getInstance()) {
+            double jumpSpeed = AI.getThisEnemy().getEnemyType().getJumpHeight() * AI.getStatImprovementAI().getGroundToPlatformJmp();
+            double maxJumpRise = jumpSpeed * jumpSpeed / (2 * GRAVITY);
+            double maxJumpGap = AI.getThisEnemy().getEnemyType().getMoveSpeed() * jumpSpeed / GRAVITY;      // Distance covered while rising
+            platformGraphRegistry = PlatformRegistry.getInstance();
+            platformGraph = platformGraphRegistry.getGraph(maxJumpRise, maxJumpGap);
         }
-
-        // None of the platforms were the closest (shouldn't reach this).
-        return null;
+        return platformGraph;
     }
 
     /**
@@ -166,28 +79,20 @@ class PlatformAI {
         }
 
         // Platform hit detection
-        boolean leftHit = RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getLeftDownwardRaycast(), EntityType.PLATFORM);
-        boolean rightHit = RaycastCalculations.checkRaycastHit(AI.getRaycastAI().getRightDownwardRaycast(), EntityType.PLATFORM);
+        Entity leftHit = RaycastCalculations.getRaycastHit(AI.getRaycastAI().getLeftDownwardRaycast(), EntityType.PLATFORM);
+        Entity rightHit = RaycastCalculations.getRaycastHit(AI.getRaycastAI().getRightDownwardRaycast(), EntityType.PLATFORM);
 
         // leftDownwardRaycast check.
-        if (leftHit) {
-            // Get platform entity
-            Optional<Entity> optionalEntity = AI.getRaycastAI().getLeftDownwardRaycast().getEntity();
-            Entity platform = optionalEntity.get();
-
-            if (platforms.contains(platform)) {
-                return platform;
+        if (leftHit != null) {
+            if (PlatformRegistry.getInstance().isPlatform(leftHit)) {
+                return leftHit;
             }
         }
 
         // rightDownwardRaycast check.
-        else if (rightHit) {
-            // Get platform entity
-            Optional<Entity> optionalEntity = AI.getRaycastAI().getRightDownwardRaycast().getEntity();
-            Entity platform = optionalEntity.get();
-
-            if (platforms.contains(platform)) {
-                return platform;
+        else if (rightHit != null) {
+            if (PlatformRegistry.getInstance().isPlatform(rightHit)) {
+                return rightHit;
             }
         }
 
@@ -218,47 +123,28 @@ class PlatformAI {
     }
 
     /**
-     * Method checks the most recent platform the Player was in contact with. Updates playerRecentPlatformContact variable.
+     * Method checks the most recent platform the Player was in contact with right away, by taking a new snapshot of
+     * the Player. The snapshot is otherwise taken once per frame by the EnemyAIManager.
      */
     public void playerRecentPlatformContactCheck() {
-
-        // For each platform in the world...
-        for (Entity p : platforms) {
-
-            // If raycast not equal null...
-            if (RaycastCalculations.getRaycastHit(AI.getRaycastAI().getLeftPlayerPlatformRaycast()) != null) {
-                // Check if leftPlayerPlatformRaycast hit the current platform
-                if (RaycastCalculations.getRaycastHit(AI.getRaycastAI().getLeftPlayerPlatformRaycast()).equals(p)) {
-                    playerRecentPlatformContact = p;
-                    break;
-                }
-            }
-
-            if (RaycastCalculations.getRaycastHit(AI.getRaycastAI().getRightPlayerPlatformRaycast()) != null) {
-                // Check if rightPlayerPlatformRaycast hit the current platform
-                if (RaycastCalculations.getRaycastHit(AI.getRaycastAI().getRightPlayerPlatformRaycast()).equals(p)) {
-                    playerRecentPlatformContact = p;
-                    break;
-                }
-            }
-        }
+        EnemyAIManager.getInstance().samplePlayerState(AI.getPlayer());
     }
 
     /**
-     * Getter for playerRecentPlatformContact variable.
+     * Getter for the most recent platform the Player has been in contact with. Is the same across all Enemy entities.
      *
      * @return playerRecentPlatformContact.
      */
     public Entity getPlayerRecentPlatformContact() {
-        return playerRecentPlatformContact;
+        return EnemyAIManager.getInstance().getPlayerState().getPlatformContact();
     }
 
     /**
-     * Getter for platforms List (all platforms on the level).
+     * Getter for platforms List (all platforms on the level except the ground, sorted by Y-position).
      *
      * @return platforms List.
      */
     public List<Entity> getPlatforms() {
-        return platforms;
+        return PlatformRegistry.getInstance().getPlatforms();
     }
 }
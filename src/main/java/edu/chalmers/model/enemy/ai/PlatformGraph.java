@@ -0,0 +1,217 @@
+package edu.chalmers.model.enemy.ai;
+
+import javafx.geometry.Rectangle2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PlatformGraph. Navigation graph of the surfaces enemies can stand on, built once for a level and a jump
+ * capability. Surfaces are connected by walk links (touching surfaces on the same height), jump links (a higher or
+ * equally high surface within jump height and jump distance) and drop links (a lower surface next to an edge).
+ * Paths are found with A* and cached, so asking for the same path again costs an array lookup.
+ */
+public class PlatformGraph {
+
+    /**
+     * How an Enemy gets from one surface to another.
+     */
+    public enum Link {WALK, JUMP, DROP}
+
+    private static final int UNKNOWN = -2;
+    private static final int UNREACHABLE = -1;
+    private static final double SAME_HEIGHT = 1;     // Surfaces closer in height than this are on the same height
+
+    private final int nodeCount;
+    private final double[] left;
+    private final double[] right;
+    private final double[] top;
+    private final double[] middleX;
+    private final Link[] links;             // Link from node i to node j at i * nodeCount + j, null if not linked
+    private final int[][] neighbours;
+    private final int[] nextNodes;          // Cached first node after i on the path from i to j, at i * nodeCount + j
+
+    // A* search state, allocated once
+    private final double[] gScores;
+    private final int[] cameFrom;
+    private final boolean[] closed;
+    private final int[] heap;
+    private final double[] heapScores;
+    private int heapSize;
+
+    /**
+     * @param surfaces    The surfaces enemies can stand on, minY is the top of the surface. The index of a surface is its node.
+     * @param maxJumpRise How many pixels above the surface it's standing on an Enemy can reach.
+     * @param maxJumpGap  How many pixels an Enemy can get horizontally past an edge in a jump or a drop.
+     */
+    public PlatformGraph(List<Rectangle2D> surfaces, double maxJumpRise, double maxJumpGap) {
+        nodeCount = surfaces.size();
+        left = new double[nodeCount];
+        right = new double[nodeCount];
+        top = new double[nodeCount];
+        middleX = new double[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            left[i] = surfaces.get(i).getMinX();
+            right[i] = surfaces.get(i).getMaxX();
+            top[i] = surfaces.get(i).getMinY();
+            middleX[i] = (left[i] + right[i]) / 2;
+        }
+
+        links = new Link[nodeCount * nodeCount];
+        neighbours = new int[nodeCount][];
+        List<Integer> nodeNeighbours = new ArrayList<>();
+        int linkCount = 0;
+        for (int from = 0; from < nodeCount; from++) {
+            nodeNeighbours.clear();
+            for (int to = 0; to < nodeCount; to++) {
+                Link link = from == to ? null : createLink(from, to, maxJumpRise, maxJumpGap);
+                if (link != null) {
+                    links[from * nodeCount + to] = link;
+                    nodeNeighbours.add(to);
+                }
+            }
+            neighbours[from] = nodeNeighbours.stream().mapToInt(Integer::intValue).toArray();
+            linkCount += neighbours[from].length;
+        }
+
+        nextNodes = new int[nodeCount * nodeCount];
+        Arrays.fill(nextNodes, UNKNOWN);
+        gScores = new double[nodeCount];
+        cameFrom = new int[nodeCount];
+        closed = new boolean[nodeCount];
+        heap = new int[linkCount + 1];
+        heapScores = new double[linkCount + 1];
+    }
+
+    /**
+     * Method returns the next surface to go to on the shortest path between two surfaces.
+     *
+     * @param from Node of the surface the Enemy is on.
+     * @param to   Node of the surface the Enemy wants to reach.
+     * @return Node of the next surface, to if already there, or -1 if to can't be reached.
+     */
+    public int getNextNode(int from, int to) {
+        if (from < 0 || to < 0 || from >= nodeCount || to >= nodeCount) {
+            return UNREACHABLE;
+        }
+        if (from == to) {
+            return to;
+        }
+
+        if (nextNodes[from * nodeCount + to] == UNKNOWN) {
+            findPath(from, to);
+        }
+        return nextNodes[from * nodeCount + to];
+    }
+
+    /**
+     * Method returns how two surfaces are linked.
+     *
+     * @param from Node of the surface to go from.
+     * @param to   Node of the surface to go to.
+     * @return The link, or null if there is no direct link.
+     */
+    public Link getLink(int from, int to) {
+        return links[from * nodeCount + to];
+    }
+
+    /**
+     * Getter for the amount of surfaces in the graph.
+     *
+     * @return Amount of nodes.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    private Link createLink(int from, int to, double maxJumpRise, double maxJumpGap) {
+        double rise = top[from] - top[to];         // Positive if to is higher up
+        double gap = Math.max(0, Math.max(left[to] - right[from], left[from] - right[to]));
+
+        if (Math.abs(rise) < SAME_HEIGHT) {
+            if (gap < SAME_HEIGHT) return Link.WALK;
+            return gap <= maxJumpGap ? Link.JUMP : null;
+        }
+        if (rise > 0) {
+            return rise <= maxJumpRise && gap <= maxJumpGap ? Link.JUMP : null;
+        }
+
+        // Lower surface, must be below one of the edges to drop down on it
+        boolean belowLeftEdge = left[to] <= left[from] && right[to] >= left[from] - maxJumpGap;
+        boolean belowRightEdge = right[to] >= right[from] && left[to] <= right[from] + maxJumpGap;
+        return belowLeftEdge || belowRightEdge ? Link.DROP : null;
+    }
+
+    // Cost of moving between two surfaces, also used as the A* heuristic so it must never overestimate
+    private double getDistance(int from, int to) {
+        return Math.abs(middleX[from] - middleX[to]) + Math.abs(top[from] - top[to]);
+    }
+
+    /* A* from one surface to another, every node on the found path gets its next node towards to cached */
+    private void findPath(int from, int to) {
+        Arrays.fill(gScores, Double.POSITIVE_INFINITY);
+        Arrays.fill(closed, false);
+        heapSize = 0;
+
+        gScores[from] = 0;
+        cameFrom[from] = -1;
+        push(from, getDistance(from, to));
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (closed[node]) continue;     // Already reached with a lower score
+            closed[node] = true;
+
+            if (node == to) {
+                for (int next = to, previous = cameFrom[to]; previous != -1; next = previous, previous = cameFrom[previous]) {
+                    nextNodes[previous * nodeCount + to] = next;
+                }
+                return;
+            }
+
+            for (int neighbour : neighbours[node]) {
+                double gScore = gScores[node] + getDistance(node, neighbour);
+                if (!closed[neighbour] && gScore < gScores[neighbour]) {
+                    gScores[neighbour] = gScore;
+                    cameFrom[neighbour] = node;
+                    push(neighbour, gScore + getDistance(neighbour, to));
+                }
+            }
+        }
+
+        nextNodes[from * nodeCount + to] = UNREACHABLE;
+    }
+
+    // ---- BINARY HEAP OF OPEN NODES ---- //
+
+    private void push(int node, double score) {
+        int i = heapSize++;
+        while (i > 0 && heapScores[(i - 1) / 2] > score) {
+            heap[i] = heap[(i - 1) / 2];
+            heapScores[i] = heapScores[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = node;
+        heapScores[i] = score;
+    }
+
+    private int pop() {
+        int node = heap[0];
+        int lastNode = heap[--heapSize];
+        double lastScore = heapScores[heapSize];
+
+        int i = 0;
+        while (2 * i + 1 < heapSize) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapScores[child + 1] < heapScores[child]) child++;
+            if (heapScores[child] >= lastScore) break;
+            heap[i] = heap[child];
+            heapScores[i] = heapScores[child];
+            i = child;
+        }
+        heap[i] = lastNode;
+        heapScores[i] = lastScore;
+        return node;
+    }
+}
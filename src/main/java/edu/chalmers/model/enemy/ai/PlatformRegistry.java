@@ -0,0 +1,159 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.model.EntityType;
+import javafx.geometry.Rectangle2D;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.getGameWorld;
+
+/**
+ * PlatformRegistry. Every platform of the level, built once when the level is loaded and shared by every Enemy.
+ * The platforms are sorted by Y-position (highest first) and numbered, id 0 is the ground (the platform at X=0)
+ * and the other platforms have id 1 and up. The ids are the nodes of the level's PlatformGraphs, one graph is built
+ * for every jump capability the first time an Enemy with it asks and then shared by every Enemy with the same jump.
+ */
+public class PlatformRegistry {
+
+    static final int GROUND_ID = 0;
+
+    private static PlatformRegistry instance = new PlatformRegistry(null, new ArrayList<>());
+
+    private final Entity ground;
+    private final List<Entity> platforms;
+    private final Map<Entity, Integer> idOfPlatform = new HashMap<>();
+    private final List<Rectangle2D> surfaces = new ArrayList<>();
+    private final Map<Long, PlatformGraph> graphs = new HashMap<>();
+
+    private PlatformRegistry(Entity ground, List<Entity> platforms) {
+        this.ground = ground;
+        List<Entity> sortedPlatforms = new ArrayList<>(platforms);
+        sortedPlatforms.sort(Comparator.comparingDouble(Entity::getY));
+        this.platforms = Collections.unmodifiableList(sortedPlatforms);
+
+        // The ground spans the whole level. Without a ground Entity it is placed right below the lowest platform.
+        double groundY = 0;
+        for (Entity platform : sortedPlatforms) {
+            groundY = Math.max(groundY, platform.getBottomY());
+        }
+        if (ground != null) {
+            groundY = ground.getY();
+        }
+        surfaces.add(new Rectangle2D(-Double.MAX_VALUE / 4, groundY, Double.MAX_VALUE / 2, 1));
+
+        for (Entity platform : sortedPlatforms) {
+            idOfPlatform.put(platform, surfaces.size());
+            surfaces.add(new Rectangle2D(platform.getX(), platform.getY(), platform.getWidth(), Math.max(1, platform.getHeight())));
+        }
+    }
+
+    /**
+     * Method builds the registry from the platforms in the game world. Called when a level has been loaded.
+     */
+    public static void loadLevel() {
+        List<Entity> platforms = getGameWorld().getEntitiesByType(EntityType.PLATFORM);
+        Entity ground = null;
+
+        // Find the world platform (the ground) and remove it from the platforms list.
+        for (Entity p : platforms) {
+            // If platform is att X=0 (the world 'platform').
+            if (p.getX() == 0) {
+                ground = p;
+                break;
+            }
+        }
+        if (ground != null) {
+            platforms.remove(ground);
+        }
+
+        instance = new PlatformRegistry(ground, platforms);
+    }
+
+    /**
+     * Getter for the registry of the current level. If the level's platforms have been removed since it was built,
+     * it's built again from the game world.
+     *
+     * @return The registry.
+     */
+    public static PlatformRegistry getInstance() {
+        if (instance.isRemoved()) {
+            loadLevel();
+        }
+        return instance;
+    }
+
+    /**
+     * Getter for the graph of an Enemy that can jump a certain height and distance.
+     *
+     * @param maxJumpRise How many pixels above the surface it's standing on the Enemy can reach.
+     * @param maxJumpGap  How many pixels the Enemy can get horizontally past an edge.
+     * @return The graph.
+     */
+    PlatformGraph getGraph(double maxJumpRise, double maxJumpGap) {
+        long key = ((long) maxJumpRise << 32) | (long) maxJumpGap;
+        PlatformGraph graph = graphs.get(key);
+        if (graph == null) {
+            graph = new PlatformGraph(surfaces, (long) maxJumpRise, (long) maxJumpGap);
+            graphs.put(key, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Method returns the id of a platform.
+     *
+     * @param platform The platform.
+     * @return The id, GROUND_ID for the ground or -1 if the Entity isn't a platform of the level.
+     */
+    public int getId(Entity platform) {
+        if (platform == null) {
+            return -1;
+        }
+        if (platform == ground) {
+            return GROUND_ID;
+        }
+        Integer id = idOfPlatform.get(platform);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Method checks if an Entity is one of the level's platforms (the ground not included).
+     *
+     * @param entity The Entity.
+     * @return True or False.
+     */
+    public boolean isPlatform(Entity entity) {
+        return entity != null && idOfPlatform.containsKey(entity);
+    }
+
+    /**
+     * Method returns the platform with an id.
+     *
+     * @param id The id.
+     * @return The platform, or null for the ground.
+     */
+    public Entity getPlatform(int id) {
+        return id <= GROUND_ID ? null : platforms.get(id - 1);
+    }
+
+    /**
+     * Getter for every platform except the ground, sorted by Y-position.
+     *
+     * @return Unmodifiable list of platforms.
+     */
+    public List<Entity> getPlatforms() {
+        return platforms;
+    }
+
+    // The level the registry was built for has been removed
+    private boolean isRemoved() {
+        Entity anyPlatform = ground != null ? ground : platforms.isEmpty() ? null : platforms.get(0);
+        return anyPlatform != null && !anyPlatform.isActive();
+    }
+}
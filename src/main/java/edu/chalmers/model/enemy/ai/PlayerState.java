@@ -0,0 +1,80 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+
+/**
+ * PlayerState. Read-only snapshot of the Player taken once per frame before the enemies make their decisions, so
+ * every Enemy reads the same Player state without checking the Player itself.
+ */
+public final class PlayerState {
+
+    static final PlayerState NONE = new PlayerState(null, null, false, false, 0, 0, 0, 0, 0);     // Before the first sample
+
+    private final Entity player;
+    private final Entity platformContact;
+    private final boolean onGround;
+    private final boolean airborne;
+    private final double middleX;
+    private final double middleY;
+    private final double bottomY;
+    private final int tileX;
+    private final int tileY;
+
+    PlayerState(Entity player, Entity platformContact, boolean onGround, boolean airborne, double middleX, double middleY, double bottomY, int tileX, int tileY) {
+        this.player = player;
+        this.platformContact = platformContact;
+        this.onGround = onGround;
+        this.airborne = airborne;
+        this.middleX = middleX;
+        this.middleY = middleY;
+        this.bottomY = bottomY;
+        this.tileX = tileX;
+        this.tileY = tileY;
+    }
+
+    /**
+     * Getter for the Player the snapshot was taken of.
+     *
+     * @return The Player, null before the first sample.
+     */
+    public Entity getPlayer() {
+        return player;
+    }
+
+    /**
+     * Getter for the platform the Player was most recently in contact with.
+     *
+     * @return The platform, or null if the Player hasn't touched a platform.
+     */
+    public Entity getPlatformContact() {
+        return platformContact;
+    }
+
+    public boolean isOnGround() {
+        return onGround;
+    }
+
+    public boolean isAirborne() {
+        return airborne;
+    }
+
+    public double getMiddleX() {
+        return middleX;
+    }
+
+    public double getMiddleY() {
+        return middleY;
+    }
+
+    public double getBottomY() {
+        return bottomY;
+    }
+
+    public int getTileX() {
+        return tileX;
+    }
+
+    public int getTileY() {
+        return tileY;
+    }
+}
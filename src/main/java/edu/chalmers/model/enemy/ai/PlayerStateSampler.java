@@ -0,0 +1,56 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.model.PlayerComponent;
+import edu.chalmers.utilities.CoordsCalculations;
+import edu.chalmers.utilities.EntityPos;
+import edu.chalmers.utilities.RaycastCalculations;
+
+/**
+ * PlayerStateSampler. Takes the PlayerState snapshot. The rays under the Player that find the platform the Player
+ * is standing on are cast here once per sample, instead of by every Enemy.
+ */
+class PlayerStateSampler {
+
+    private final int playerPlatformRaycastLength = 5;        // Length for a raycast on the player.
+
+    /**
+     * Method takes a snapshot of the Player. The platform contact is only checked while the Player isn't airborne,
+     * otherwise the most recent contact is kept as long as it is still in the world.
+     *
+     * @param player   The Player.
+     * @param previous The previous snapshot.
+     * @param now      Current game time.
+     * @return The new snapshot.
+     */
+    PlayerState sample(Entity player, PlayerState previous, double now) {
+        PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
+        Entity platformContact = previous.getPlatformContact();
+        if (platformContact != null && !platformContact.isActive()) {
+            platformContact = null;     // Platform is no longer in the world
+        }
+
+        if (!playerComponent.isAirborne()) {
+            Entity platform = getPlatformHit(player.getX(), player.getBottomY(), now);
+            if (platform == null) {
+                platform = getPlatformHit(player.getRightX(), player.getBottomY(), now);
+            }
+            if (platform != null) {
+                platformContact = platform;
+            }
+        }
+
+        double middleX = EntityPos.getMiddleX(player);
+        double middleY = EntityPos.getMiddleY(player);
+        return new PlayerState(player, platformContact, playerComponent.isOnGround(), playerComponent.isAirborne(),
+                middleX, middleY, player.getBottomY(), CoordsCalculations.posToTileX(middleX), CoordsCalculations.posToTileY(middleY));
+    }
+
+    // Returns the platform of the level hit by a ray going down from the position, or null
+    private Entity getPlatformHit(double x, double y, double now) {
+        RaycastCounter.countRequest(now);
+        RaycastCounter.countCast(now);
+        Entity hit = RaycastCalculations.getRaycastHit(RaycastCalculations.setVerticalRaycast(playerPlatformRaycastLength, x, y));
+        return PlatformRegistry.getInstance().isPlatform(hit) ? hit : null;
+    }
+}
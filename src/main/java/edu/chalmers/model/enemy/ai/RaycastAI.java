@@ -1,5 +1,6 @@
 package edu.chalmers.model.enemy.ai;
 
+import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.physics.RaycastResult;
 import edu.chalmers.utilities.RaycastCalculations;
 
@@ -7,11 +8,37 @@ import edu.chalmers.utilities.RaycastCalculations;
  * @author Sam Salek
  * <p>
  * RaycastAI. Contains all variables and methods used by Enemy AI regarding raycasts.
+ * Every raycast is cached for the rest of the frame, asking for the same ray again from the same position
+ * during a frame returns the cached result instead of casting it again. The cache is usually filled by the
+ * RaycastBatch at the start of the frame, rays that weren't batched are cast when asked for.
  */
 class RaycastAI {
 
+    /**
+     * The rays cast by the AI, used as index in the raycast cache.
+     */
+    enum RayKind {
+        HIGHER_HORIZONTAL, HORIZONTAL, ENTITY, LEFT_DOWNWARD, RIGHT_DOWNWARD, LEFT_UPWARD, RIGHT_UPWARD
+    }
+
+    private static final RayKind[] RAY_KINDS = RayKind.values();
+
     private EnemyAIComponent AI;
 
+    // ---- RAYCAST CACHE ---- //
+    // Key of every cached ray is the frame it was cast in, its start position and its length.
+    private final RaycastResult[] cachedRaycasts = new RaycastResult[RAY_KINDS.length];
+    private final double[] cachedFrameTimes = new double[RAY_KINDS.length];
+    private final double[] cachedX = new double[RAY_KINDS.length];
+    private final double[] cachedY = new double[RAY_KINDS.length];
+    private final int[] cachedLengths = new int[RAY_KINDS.length];
+
+    // Ray set by setRay
+    private boolean rayHorizontal;
+    private int rayLength;
+    private double rayX;
+    private double rayY;
+
     // ---- RAYCAST VARIABLES ---- //
     private RaycastResult higherHorizontalRaycast;
     private RaycastResult horizontalRaycast;
@@ -25,7 +52,6 @@ class RaycastAI {
     private int downwardRaycastLength = 75;
     private int upwardRaycastLength = 20;
     private int entityRaycastLength = 3;
-    private int playerPlatformRaycastLength = 5;        // Length for a raycast on the player.
 
     public RaycastAI(EnemyAIComponent enemyAIComponent) {
         this.AI = enemyAIComponent;
@@ -35,24 +61,17 @@ class RaycastAI {
      * Method updates correct direction of raycast variables based on moveDirection.
      */
     public void updateRaycastsDirection() {
-        // +1 and -1 is used to indent the raycast position into the entity a bit, making it more accurate and able to catch entities with the same size.
-        // Same goes for +3 and -3.
-        // +10 at horizontalRaycast's X-pos (when moving left) as raycast was off center because of hitbox and texture size difference.
-
-        // If moving left
         if (AI.getMovementAI().getMoveDirection() == MovementAI.Direction.LEFT) {
-            higherHorizontalRaycast = RaycastCalculations.setHorizontalRaycast(-higherHorizontalRaycastLength, AI.getThisEnemy().getX(), AI.getThisEnemy().getY() - higherHorizontalRaycastDeltaHeight);
-            horizontalRaycast = RaycastCalculations.setHorizontalRaycast(-horizontalRaycastLength, AI.getThisEnemy().getX() + 10, AI.getThisEnemy().getY() + 3);
-            entityRaycast = RaycastCalculations.setHorizontalRaycast(-entityRaycastLength, AI.getThisEnemy().getX(), AI.getThisEnemy().getY() + 3);
             activeDownwardRaycast = getLeftDownwardRaycast();
-        }
-        // If moving right
-        else if (AI.getMovementAI().getMoveDirection() == MovementAI.Direction.RIGHT) {
-            higherHorizontalRaycast = RaycastCalculations.setHorizontalRaycast(higherHorizontalRaycastLength, AI.getThisEnemy().getRightX(), AI.getThisEnemy().getY() - higherHorizontalRaycastDeltaHeight);
-            horizontalRaycast = RaycastCalculations.setHorizontalRaycast(horizontalRaycastLength, AI.getThisEnemy().getRightX(), AI.getThisEnemy().getY() + 3);
-            entityRaycast = RaycastCalculations.setHorizontalRaycast(entityRaycastLength, AI.getThisEnemy().getRightX(), AI.getThisEnemy().getY() + 3);
+        } else if (AI.getMovementAI().getMoveDirection() == MovementAI.Direction.RIGHT) {
             activeDownwardRaycast = getRightDownwardRaycast();
+        } else {
+            return;
         }
+
+        higherHorizontalRaycast = getRaycast(RayKind.HIGHER_HORIZONTAL);
+        horizontalRaycast = getRaycast(RayKind.HORIZONTAL);
+        entityRaycast = getRaycast(RayKind.ENTITY);
     }
 
     public RaycastResult getHigherHorizontalRaycast() {
@@ -64,11 +83,11 @@ class RaycastAI {
     }
 
     public RaycastResult getLeftDownwardRaycast() {
-        return RaycastCalculations.setVerticalRaycast(downwardRaycastLength, AI.getThisEnemy().getX() + 1, AI.getThisEnemy().getBottomY());
+        return getRaycast(RayKind.LEFT_DOWNWARD);
     }
 
     public RaycastResult getRightDownwardRaycast() {
-        return RaycastCalculations.setVerticalRaycast(downwardRaycastLength, AI.getThisEnemy().getRightX() - 1, AI.getThisEnemy().getBottomY());
+        return getRaycast(RayKind.RIGHT_DOWNWARD);
     }
 
     public RaycastResult getActiveDownwardRaycast() {
@@ -76,22 +95,129 @@ class RaycastAI {
     }
 
     public RaycastResult getLeftUpwardRaycast() {
-        return RaycastCalculations.setVerticalRaycast(-upwardRaycastLength, AI.getThisEnemy().getX() + 1, AI.getThisEnemy().getY());
+        return getRaycast(RayKind.LEFT_UPWARD);
     }
 
     public RaycastResult getRightUpwardRaycast() {
-        return RaycastCalculations.setVerticalRaycast(-upwardRaycastLength, AI.getThisEnemy().getRightX() - 1, AI.getThisEnemy().getY());
+        return getRaycast(RayKind.RIGHT_UPWARD);
     }
 
     public RaycastResult getEntityRaycast() {
         return entityRaycast;
     }
 
-    public RaycastResult getLeftPlayerPlatformRaycast() {
-        return RaycastCalculations.setVerticalRaycast(playerPlatformRaycastLength, AI.getPlayer().getX(), AI.getPlayer().getBottomY());
+    /**
+     * Method adds every ray the Enemy will need this frame to the batch. The horizontal rays are only requested
+     * in the current moveDirection.
+     *
+     * @param batch The batch gathering this frame's rays.
+     */
+    void requestRaycasts(RaycastBatch batch) {
+        boolean hasDirection = AI.getMovementAI().getMoveDirection() != null;
+        for (RayKind kind : RAY_KINDS) {
+            if (!hasDirection && isDirectionRay(kind)) {
+                continue;
+            }
+            setRay(kind);
+            batch.request(this, kind, rayHorizontal, rayLength, rayX, rayY);
+        }
+    }
+
+    /**
+     * Method stores a ray cast by the RaycastBatch in the cache.
+     *
+     * @param kind          Which ray it is.
+     * @param frameTime     Game time of the frame the ray was cast in.
+     * @param raycastLength Length of raycast.
+     * @param x             X-Position of raycast.
+     * @param y             Y-Position of raycast.
+     * @param raycast       The cast ray.
+     */
+    void storeRaycast(RayKind kind, double frameTime, int raycastLength, double x, double y, RaycastResult raycast) {
+        int i = kind.ordinal();
+        cachedRaycasts[i] = raycast;
+        cachedFrameTimes[i] = frameTime;
+        cachedX[i] = x;
+        cachedY[i] = y;
+        cachedLengths[i] = raycastLength;
+    }
+
+    /**
+     * Method returns a raycast, the ray is only cast in the physics world if it hasn't already been cast from the
+     * same position during this frame.
+     *
+     * @param kind Which ray it is.
+     * @return The raycast.
+     */
+    private RaycastResult getRaycast(RayKind kind) {
+        double now = FXGL.getGameTimer().getNow();
+        int i = kind.ordinal();
+        setRay(kind);
+
+        RaycastCounter.countRequest(now);
+        if (cachedRaycasts[i] != null && cachedFrameTimes[i] == now && cachedX[i] == rayX && cachedY[i] == rayY && cachedLengths[i] == rayLength) {
+            return cachedRaycasts[i];
+        }
+
+        RaycastCounter.countCast(now);
+        RaycastResult raycast = rayHorizontal ? RaycastCalculations.setHorizontalRaycast(rayLength, rayX, rayY) : RaycastCalculations.setVerticalRaycast(rayLength, rayX, rayY);
+        storeRaycast(kind, now, rayLength, rayX, rayY, raycast);
+        return raycast;
+    }
+
+    // Rays that point in the moveDirection
+    private boolean isDirectionRay(RayKind kind) {
+        return kind == RayKind.HIGHER_HORIZONTAL || kind == RayKind.HORIZONTAL || kind == RayKind.ENTITY;
     }
 
-    public RaycastResult getRightPlayerPlatformRaycast() {
-        return RaycastCalculations.setVerticalRaycast(playerPlatformRaycastLength, AI.getPlayer().getRightX(), AI.getPlayer().getBottomY());
+    /**
+     * Method sets rayHorizontal, rayLength, rayX and rayY to the ray of the given kind.
+     * +1 and -1 is used to indent the raycast position into the entity a bit, making it more accurate and able to catch entities with the same size.
+     * Same goes for +3 and -3.
+     * +10 at horizontalRaycast's X-pos (when moving left) as raycast was off center because of hitbox and texture size difference.
+     *
+     * @param kind Which ray it is.
+     */
+    private void setRay(RayKind kind) {
+        boolean left = AI.getMovementAI().getMoveDirection() == MovementAI.Direction.LEFT;
+        rayHorizontal = isDirectionRay(kind);
+
+        switch (kind) {
+            case HIGHER_HORIZONTAL:
+                rayLength = left ? -higherHorizontalRaycastLength : higherHorizontalRaycastLength;
+                rayX = left ? AI.getThisEnemy().getX() : AI.getThisEnemy().getRightX();
+                rayY = AI.getThisEnemy().getY() - higherHorizontalRaycastDeltaHeight;
+                break;
+            case HORIZONTAL:
+                rayLength = left ? -horizontalRaycastLength : horizontalRaycastLength;
+                rayX = left ? AI.getThisEnemy().getX() + 10 : AI.getThisEnemy().getRightX();
+                rayY = AI.getThisEnemy().getY() + 3;
+                break;
+            case ENTITY:
+                rayLength = left ? -entityRaycastLength : entityRaycastLength;
+                rayX = left ? AI.getThisEnemy().getX() : AI.getThisEnemy().getRightX();
+                rayY = AI.getThisEnemy().getY() + 3;
+                break;
+            case LEFT_DOWNWARD:
+                rayLength = downwardRaycastLength;
+                rayX = AI.getThisEnemy().getX() + 1;
+                rayY = AI.getThisEnemy().getBottomY();
+                break;
+            case RIGHT_DOWNWARD:
+                rayLength = downwardRaycastLength;
+                rayX = AI.getThisEnemy().getRightX() - 1;
+                rayY = AI.getThisEnemy().getBottomY();
+                break;
+            case LEFT_UPWARD:
+                rayLength = -upwardRaycastLength;
+                rayX = AI.getThisEnemy().getX() + 1;
+                rayY = AI.getThisEnemy().getY();
+                break;
+            case RIGHT_UPWARD:
+                rayLength = -upwardRaycastLength;
+                rayX = AI.getThisEnemy().getRightX() - 1;
+                rayY = AI.getThisEnemy().getY();
+                break;
+        }
     }
 }
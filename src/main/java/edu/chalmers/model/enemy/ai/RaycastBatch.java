@@ -0,0 +1,92 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.utilities.RaycastCalculations;
+
+import java.util.Arrays;
+
+/**
+ * RaycastBatch. Casts the rays of every Enemy together once per frame. Enemies add their rays during the gather
+ * phase, every ray is cast in one pass over the physics world and the results are handed back to the enemies'
+ * RaycastAI before they make their decisions.
+ */
+class RaycastBatch {
+
+    private int requestCount = 0;
+    private RaycastAI[] owners = new RaycastAI[64];
+    private RaycastAI.RayKind[] kinds = new RaycastAI.RayKind[64];
+    private boolean[] horizontal = new boolean[64];
+    private int[] lengths = new int[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private RaycastResult[] results = new RaycastResult[64];
+
+    /**
+     * Method adds a ray to the batch.
+     *
+     * @param owner         RaycastAI getting the result.
+     * @param kind          Which ray it is.
+     * @param isHorizontal  True for a horizontal ray, false for a vertical ray.
+     * @param raycastLength Length of raycast, negative length goes left or up.
+     * @param x             X-Position of raycast.
+     * @param y             Y-Position of raycast.
+     */
+    void request(RaycastAI owner, RaycastAI.RayKind kind, boolean isHorizontal, int raycastLength, double x, double y) {
+        if (requestCount == owners.length) {
+            grow();
+        }
+
+        int i = requestCount++;
+        owners[i] = owner;
+        kinds[i] = kind;
+        horizontal[i] = isHorizontal;
+        lengths[i] = raycastLength;
+        xs[i] = x;
+        ys[i] = y;
+    }
+
+    /**
+     * Method casts every requested ray in one pass and hands the results to their RaycastAI, then empties the batch.
+     *
+     * @param frameTime Game time of the frame.
+     */
+    void execute(double frameTime) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requestCount; i++) {
+            results[i] = horizontal[i] ? RaycastCalculations.setHorizontalRaycast(lengths[i], xs[i], ys[i]) : RaycastCalculations.setVerticalRaycast(lengths[i], xs[i], ys[i]);
+            RaycastCounter.countCast(frameTime);
+        }
+        RaycastCounter.addBatchTime(frameTime, System.nanoTime() - start);
+
+        for (int i = 0; i < requestCount; i++) {
+            owners[i].storeRaycast(kinds[i], frameTime, lengths[i], xs[i], ys[i], results[i]);
+        }
+        clear();
+    }
+
+    /**
+     * Getter for the amount of rays in the batch.
+     *
+     * @return Amount of requested rays.
+     */
+    int getRequestCount() {
+        return requestCount;
+    }
+
+    private void clear() {
+        Arrays.fill(owners, 0, requestCount, null);     // Don't keep removed enemies alive
+        Arrays.fill(results, 0, requestCount, null);
+        requestCount = 0;
+    }
+
+    private void grow() {
+        int size = owners.length * 2;
+        owners = Arrays.copyOf(owners, size);
+        kinds = Arrays.copyOf(kinds, size);
+        horizontal = Arrays.copyOf(horizontal, size);
+        lengths = Arrays.copyOf(lengths, size);
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+        results = Arrays.copyOf(results, size);
+    }
+}
@@ -0,0 +1,122 @@
+package edu.chalmers.model.enemy.ai;
+
+/**
+ * RaycastCounter. Counts the raycasts the Enemy AI asks for and the raycasts that are actually cast in the physics
+ * world every frame. Requested is what the AI would cast without the per frame raycast cache, cast is what it
+ * costs with the cache. The time spent casting the frame's RaycastBatch is measured as well.
+ */
+public final class RaycastCounter {
+
+    private static double frameTime = Double.NaN;   // Game time of the frame being counted
+    private static int requested = 0;
+    private static int cast = 0;
+    private static long batchNanos = 0;
+    private static int requestedLastFrame = 0;
+    private static int castLastFrame = 0;
+    private static long batchNanosLastFrame = 0;
+
+    private RaycastCounter() {
+    }
+
+    /**
+     * Method counts a raycast the AI asked for.
+     *
+     * @param now Current game time.
+     */
+    static void countRequest(double now) {
+        checkFrame(now);
+        requested++;
+    }
+
+    /**
+     * Method counts a raycast cast in the physics world.
+     *
+     * @param now Current game time.
+     */
+    static void countCast(double now) {
+        checkFrame(now);
+        cast++;
+    }
+
+    /**
+     * Method adds time spent casting a RaycastBatch.
+     *
+     * @param now   Current game time.
+     * @param nanos Time spent in nanoseconds.
+     */
+    static void addBatchTime(double now, long nanos) {
+        checkFrame(now);
+        batchNanos += nanos;
+    }
+
+    /**
+     * Getter for the amount of raycasts the AI has asked for so far in the frame being counted.
+     *
+     * @return Amount of raycasts.
+     */
+    static int getRequested() {
+        return requested;
+    }
+
+    /**
+     * Getter for the amount of raycasts cast in the physics world so far in the frame being counted.
+     *
+     * @return Amount of raycasts.
+     */
+    static int getCast() {
+        return cast;
+    }
+
+    /**
+     * Getter for the amount of raycasts the AI asked for during the last frame (raycasts per frame without the cache).
+     *
+     * @return Amount of raycasts.
+     */
+    public static int getRequestedLastFrame() {
+        return requestedLastFrame;
+    }
+
+    /**
+     * Getter for the amount of raycasts cast in the physics world during the last frame (raycasts per frame with the cache).
+     *
+     * @return Amount of raycasts.
+     */
+    public static int getCastLastFrame() {
+        return castLastFrame;
+    }
+
+    /**
+     * Getter for the time spent casting the RaycastBatch during the last frame.
+     *
+     * @return Time in nanoseconds.
+     */
+    public static long getBatchNanosLastFrame() {
+        return batchNanosLastFrame;
+    }
+
+    /**
+     * Method resets all counts.
+     */
+    public static void reset() {
+        frameTime = Double.NaN;
+        requested = 0;
+        cast = 0;
+        batchNanos = 0;
+        requestedLastFrame = 0;
+        castLastFrame = 0;
+        batchNanosLastFrame = 0;
+    }
+
+    // The counts are moved to the last frame counts when a new frame starts
+    private static void checkFrame(double now) {
+        if (now != frameTime) {
+            frameTime = now;
+            requestedLastFrame = requested;
+            castLastFrame = cast;
+            batchNanosLastFrame = batchNanos;
+            requested = 0;
+            cast = 0;
+            batchNanos = 0;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package edu.chalmers.model.enemy.ai;
 
+import edu.chalmers.model.enemy.EnemyProfileRegistry;
+
 /**
  * @author Sam Salek
  * <p>
- * StatImprovementAI. Contains all methods used when Enemy stats need to be improved because of AI.
+ * StatImprovementAI. Contains all methods used when Enemy stats need to be improved because of AI. The improvements
+ * of every Enemy type are read from the EnemyProfileRegistry.
  */
 class StatImprovementAI {
 
@@ -17,98 +20,67 @@ class StatImprovementAI {
      * Method resets Enemy move speed and jump height to original values.
      */
     public void resetSpeedAndJump() {
-        AI.getThisEnemy().setMoveSpeedMultiplier(1);
-        AI.getThisEnemy().setJumpHeightMultiplier(1);
+        AI.getThisEnemy().setStatBoost(EnemyProfileRegistry.Boost.NONE);
     }
 
     /**
      * Method improves Enemy stats depending on the Enemy type. Used for a ground to platform jump.
      */
     public void groundToPlatformStatImprovement() {
-
-        // If Enemy is a Zombie:
-        if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Zombie")) {
-            improveStats(1, getZombieGroundToPlatformJmp());
-        }
-
-        // If Enemy is a Rex:
-        else if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Rex")) {
-            improveStats(1, getRexGroundToPlatformJmp());
-        }
-
-        // If Enemy is a Blob
-        else if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Blob")) {
-            improveStats(1, getBlobGroundToPlatformJmp());
-        }
+        AI.getThisEnemy().setStatBoost(EnemyProfileRegistry.Boost.GROUND_TO_PLATFORM);
     }
 
     /**
      * Method improves Enemy stats depending on the Enemy type. Used for a platform to platform jump.
      */
     public void platformToPlatformStatImprovement() {
-
-        // If Enemy is a Zombie:
-        if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Zombie")) {
-            improveStats(getZombiePlatformToPlatformSpeed(), getZombiePlatformToPlatformJmp());
-        }
-
-        // If Enemy is a Rex:
-        else if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Rex")) {
-            improveStats(getRexPlatformToPlatformSpeed(), getRexPlatformToPlatformJmp());
-        }
-
-        // If Enemy is a Blob
-        else if (AI.getThisEnemy().getEnemyType().getName().equalsIgnoreCase("Blob")) {
-            improveStats(getBlobPlatformToPlatformSpeed(), getBlobPlatformToPlatformJmp());
-        }
+        AI.getThisEnemy().setStatBoost(EnemyProfileRegistry.Boost.PLATFORM_TO_PLATFORM);
     }
 
     /**
-     * Method improves Enemy stats with the given multiplier values.
+     * Method returns the jump height multiplier of a ground to platform jump for the Enemy's type.
      *
-     * @param moveSpeedMultiplier Multiplier to improve move speed with.
-     * @param jmpHeightMultiplier Multiplier to improve jump height with.
+     * @return Jump height multiplier, 1 for a type without improvements.
      */
-    private void improveStats(double moveSpeedMultiplier, double jmpHeightMultiplier) {
-        AI.getThisEnemy().setMoveSpeedMultiplier(moveSpeedMultiplier);
-        AI.getThisEnemy().setJumpHeightMultiplier(jmpHeightMultiplier);
+    public double getGroundToPlatformJmp() {
+        return EnemyProfileRegistry.getInstance().getProfile(AI.getThisEnemy().getProfileOrdinal()).getGroundToPlatformJump();
     }
 
     // -------- GETTERS -------- //
 
     public double getZombieGroundToPlatformJmp() {
-        return 1.6;
+        return EnemyProfileRegistry.getInstance().getProfile("Zombie").getGroundToPlatformJump();
     }
 
     public double getRexGroundToPlatformJmp() {
-        return 1.6;
+        return EnemyProfileRegistry.getInstance().getProfile("Rex").getGroundToPlatformJump();
     }
 
     public double getBlobGroundToPlatformJmp() {
-        return 1.7;
+        return EnemyProfileRegistry.getInstance().getProfile("Blob").getGroundToPlatformJump();
     }
 
     public double getZombiePlatformToPlatformSpeed() {
-        return 1.9;
+        return EnemyProfileRegistry.getInstance().getProfile("Zombie").getPlatformToPlatformSpeed();
     }
 
     public double getRexPlatformToPlatformSpeed() {
-        return 2.5;
+        return EnemyProfileRegistry.getInstance().getProfile("Rex").getPlatformToPlatformSpeed();
     }
 
     public double getBlobPlatformToPlatformSpeed() {
-        return 2.4;
+        return EnemyProfileRegistry.getInstance().getProfile("Blob").getPlatformToPlatformSpeed();
     }
 
     public double getZombiePlatformToPlatformJmp() {
-        return 1.7;
+        return EnemyProfileRegistry.getInstance().getProfile("Zombie").getPlatformToPlatformJump();
     }
 
     public double getRexPlatformToPlatformJmp() {
-        return 1.7;
+        return EnemyProfileRegistry.getInstance().getProfile("Rex").getPlatformToPlatformJump();
     }
 
     public double getBlobPlatformToPlatformJmp() {
-        return 1.6;
+        return EnemyProfileRegistry.getInstance().getProfile("Blob").getPlatformToPlatformJump();
     }
 }
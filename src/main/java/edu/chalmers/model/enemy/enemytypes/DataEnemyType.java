@@ -0,0 +1,75 @@
+package edu.chalmers.model.enemy.enemytypes;
+
+/**
+ * DataEnemyType class. A type of Enemy defined in the enemy profile file instead of a class of its own.
+ */
+public class DataEnemyType implements IEnemyType {
+
+    private final String name;
+    private final int health;
+    private final int damage;
+    private final int blockDamage;
+    private final int moveSpeed;
+    private final int jumpHeight;
+    private final String textureIdle;
+    private final String textureWalk;
+    private final String textureJump;
+
+    public DataEnemyType(String name, int health, int damage, int blockDamage, int moveSpeed, int jumpHeight,
+                         String textureIdle, String textureWalk, String textureJump) {
+        this.name = name;
+        this.health = health;
+        this.damage = damage;
+        this.blockDamage = blockDamage;
+        this.moveSpeed = moveSpeed;
+        this.jumpHeight = jumpHeight;
+        this.textureIdle = textureIdle;
+        this.textureWalk = textureWalk;
+        this.textureJump = textureJump;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getHealth() {
+        return health;
+    }
+
+    @Override
+    public int getDamage() {
+        return damage;
+    }
+
+    @Override
+    public int getBlockDamage() {
+        return blockDamage;
+    }
+
+    @Override
+    public int getMoveSpeed() {
+        return moveSpeed;
+    }
+
+    @Override
+    public int getJumpHeight() {
+        return jumpHeight;
+    }
+
+    @Override
+    public String getTextureIdle() {
+        return textureIdle;
+    }
+
+    @Override
+    public String getTextureWalk() {
+        return textureWalk;
+    }
+
+    @Override
+    public String getTextureJump() {
+        return textureJump;
+    }
+}
@@ -6,6 +6,7 @@ import com.almasb.fxgl.time.TimerAction;
 import edu.chalmers.model.EntityType;
 import edu.chalmers.model.IObservable;
 import edu.chalmers.model.IObserver;
+import edu.chalmers.model.ObserverList;
 import edu.chalmers.model.enemy.StatMultiplier;
 import javafx.util.Duration;
 
@@ -24,6 +25,7 @@ public class WaveManager implements IObservable {
 
     private TimerAction waveTimerAction;    // Timer for when a new wave should spawn
     private SpawnEnemyRunnable spawnEnemyRunnable;  // Spawn enemies in a time interval
+    private final ObserverList<IObserver> observers = new ObserverList<>();
 
     public WaveManager(Entity player) {
         spawnEnemyRunnable = new SpawnEnemyRunnable(player);
@@ -135,9 +137,7 @@ public class WaveManager implements IObservable {
      */
     @Override
     public void notifyObserver() {
-        for (IObserver o : observers) {
-            o.update();
-        }
+        observers.notifyEach(IObserver::update);
     }
 
     /**
@@ -149,4 +149,14 @@ public class WaveManager implements IObservable {
     public void removeObserver(IObserver o) {
         observers.remove(o);
     }
+
+    /**
+     * Getter for the amount of observers
+     *
+     * @return amount of observers in the observers list
+     */
+    @Override
+    public int getObserverCount() {
+        return observers.size();
+    }
 }
\ No newline at end of file
@@ -2,14 +2,12 @@ package edu.chalmers.model.weapon;
 
 
 import com.almasb.fxgl.dsl.FXGL;
-import com.almasb.fxgl.time.TimerAction;
 import edu.chalmers.model.IObservable;
 import edu.chalmers.model.IObserver;
+import edu.chalmers.model.ObserverList;
 import edu.chalmers.model.weapon.weapontypes.IWeaponType;
+import edu.chalmers.utilities.Cooldown;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
-
-import static com.almasb.fxgl.dsl.FXGL.runOnce;
 
 /**
  * @author Erik Wetter
@@ -27,7 +25,8 @@ public class Weapon implements IObservable {
     private boolean reloading = false;
     private boolean testing = false; //Boolean used for testing
 
-    private TimerAction timerAction;
+    private final Cooldown reloadCooldown;
+    private final ObserverList<IObserver> observers = new ObserverList<>();
 
     public Weapon(IWeaponType weaponType) {
         this.weaponType = weaponType;
@@ -37,7 +36,7 @@ public class Weapon implements IObservable {
         this.damage = weaponType.getDamage();
         this.projectileSpeed = weaponType.getProjectileSpeed();
         magazineCounter = magazineSize;
-        initTimer();
+        reloadCooldown = new Cooldown(reloadTimerMilliseconds / 1000.0);
     }
 
     /**
@@ -60,9 +59,7 @@ public class Weapon implements IObservable {
         reloading = true;
         notifyObserver();
         if (!testing) {
-            if (timerAction.isExpired()) {
-                timerAction = runOnce(() -> resetMagazine(), Duration.millis(reloadTimerMilliseconds));
-            }
+            reloadCooldown.startIfIdle(FXGL.getGameTimer().getNow());
         } else {
             resetMagazine();
         }
@@ -77,9 +74,15 @@ public class Weapon implements IObservable {
         notifyObserver();
     }
 
-    private void initTimer() {
-        timerAction = runOnce(() -> {
-        }, Duration.millis(0));
+    /**
+     * Finishes the reload when reloadTimerMilliseconds have passed since it started. Called once every frame.
+     *
+     * @param now Current game time
+     */
+    public void update(double now) {
+        if (reloadCooldown.pollExpired(now)) {
+            resetMagazine();
+        }
     }
 
     /**
@@ -131,9 +134,7 @@ public class Weapon implements IObservable {
 
     @Override
     public void notifyObserver() {
-        for (IObserver o : observers) {
-            o.update();
-        }
+        observers.notifyEach(IObserver::update);
     }
 
     @Override
@@ -141,4 +142,9 @@ public class Weapon implements IObservable {
         observers.remove(o);
     }
 
+    @Override
+    public int getObserverCount() {
+        return observers.size();
+    }
+
 }
@@ -1,7 +1,5 @@
 package edu.chalmers.services;
 
-import java.util.Objects;
-
 /**
  * @author Malte Åkvist
  * <p>
@@ -67,7 +65,7 @@ public class Coords {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 }
 
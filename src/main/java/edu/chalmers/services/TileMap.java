@@ -2,8 +2,9 @@ package edu.chalmers.services;
 
 import com.almasb.fxgl.entity.level.tiled.TMXLevelLoader;
 import com.almasb.fxgl.entity.level.tiled.TiledMap;
-import edu.chalmers.model.building.IBlock;
-import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.model.building.CompiledLevel;
+import edu.chalmers.model.building.LevelCompiler;
+import edu.chalmers.model.building.TileGrid;
 import edu.chalmers.utilities.Constants;
 
 import java.io.FileInputStream;
@@ -11,35 +12,35 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.List;
 
 /**
  * @author Malte Åkvist
  * <p>
- * TileMap service, loads an array (map of a level) from TMX file and converts it to a HashMap.
+ * TileMap service, loads an array (map of a level) from TMX file and compiles it to a TileGrid and collision rectangles.
  */
 public class TileMap {
     private String dataLayer = "Tile Layer 1";
     private int emptyTile = 0;
 
     /**
-     * Method converts an int array from a certain level to a hash map containing blocks and coordinates of the blocks
+     * Method converts an int array from a certain level to a grid containing the blocks of the level
      *
      * @param levelName name of the level
-     * @return hash map containing coordinates of the map and the corresponding block present on coordinate
+     * @return grid with the block present on every tile of the map
      */
-    public HashMap<Coords, IBlock> getBlockMapFromLevel(String levelName) {
-        HashMap<Coords, IBlock> blockMap = new HashMap<>();
-        List<Integer> dataList = getDataFromLevel(levelName);
-
-        for (int i = 0; i < dataList.size(); i++) {
-            if (dataList.get(i) != emptyTile) {    // contains permanent that cant be removed (platforms)
-                blockMap.put(new Coords(i % Constants.TILEMAP_WIDTH, i / Constants.TILEMAP_WIDTH), new PermanentBlock());
-            }
-        }
+    public TileGrid getBlockMapFromLevel(String levelName) {
+        return compileLevel(levelName).getBlockGrid();
+    }
 
-        return blockMap;
+    /**
+     * Method compiles the tile layer of a level into its blocks and the collision rectangles of the level
+     *
+     * @param levelName name of the level
+     * @return the compiled level
+     */
+    public CompiledLevel compileLevel(String levelName) {
+        return new LevelCompiler(emptyTile).compile(getDataFromLevel(levelName), Constants.TILEMAP_WIDTH);
     }
 
     // Method gets an int array of all blocks on the level
@@ -12,6 +12,14 @@ public final class Constants {
     static final int TILE_SIZE = 60;   // How big a tile is in pixels
     public static final int TILEMAP_WIDTH = GAME_WIDTH / TILE_SIZE;
     public static final int TILEMAP_HEIGHT = GAME_HEIGHT / TILE_SIZE;
+    public static final double COLLAPSE_FRAME_BUDGET_MS = 2.0;  // Time per frame that can be spent removing collapsed blocks
+    public static final double BLOCK_DAMAGE_DELAY_SECONDS = 0.5;  // How often a block can be inflicted damage
+    public static final int BLOCK_HEALTH = 100;    // Health of an undamaged player built block
+    public static final boolean MESHED_BLOCK_COLLISION = false;  // Merge adjacent player built blocks into larger collision bodies. Off until measured with BlockCollisionBenchmark
+    public static final boolean CANVAS_BUILD_OVERLAY = false;   // Draw the build overlay on one Canvas instead of one node per tile. Off, the default build range only needs 49 nodes
+    public static final double AI_FRAME_BUDGET_MS = 2.0;    // Time per frame that can be spent on enemy AI decisions
+    public static final boolean FLOW_FIELD_PATHING = false;     // Enemies follow a flow field over the tile grid instead of the platform graph. Off, it changes how enemies move, not only how fast
+    public static final boolean DATA_ORIENTED_ENEMY_CORE = false;   // Make the enemies' decisions in one loop over parallel arrays. Off, no faster in EnemyCoreBenchmark
     private Constants() {
     }
 }
@@ -0,0 +1,95 @@
+package edu.chalmers.utilities;
+
+/**
+ * Cooldown class. A delay measured in game time, kept as one primitive deadline and checked by its owner when it
+ * needs to know, instead of scheduling a timer action. Starting a cooldown doesn't allocate anything.
+ */
+public final class Cooldown {
+
+    private final double durationSeconds;
+    private double readyTime = Double.NEGATIVE_INFINITY;
+    private boolean running = false;
+
+    /**
+     * @param durationSeconds Length of the cooldown in seconds of game time.
+     */
+    public Cooldown(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Method starts the cooldown, or starts it over if it is already running.
+     *
+     * @param now Current game time.
+     */
+    public void start(double now) {
+        readyTime = now + durationSeconds;
+        running = true;
+    }
+
+    /**
+     * Method starts the cooldown unless it is running. A cooldown that has run out is still running until its
+     * expiry has been polled.
+     *
+     * @param now Current game time.
+     * @return True if the cooldown was started.
+     */
+    public boolean startIfIdle(double now) {
+        if (running) {
+            return false;
+        }
+        start(now);
+        return true;
+    }
+
+    /**
+     * Method checks if the cooldown has run out, or was never started.
+     *
+     * @param now Current game time.
+     * @return True or False.
+     */
+    public boolean isReady(double now) {
+        return now >= readyTime;
+    }
+
+    /**
+     * Method checks if a started cooldown has run out, and stops it if it has. Is true once for every start, the
+     * owner then does what a timer action would have done.
+     *
+     * @param now Current game time.
+     * @return True if the cooldown ran out since it was started.
+     */
+    public boolean pollExpired(double now) {
+        if (running && now >= readyTime) {
+            running = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Getter for running variable.
+     *
+     * @return True if the cooldown has been started and its expiry hasn't been polled yet.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Method stops the cooldown and makes it ready.
+     */
+    public void reset() {
+        readyTime = Double.NEGATIVE_INFINITY;
+        running = false;
+    }
+
+    /**
+     * Getter for the game time the cooldown runs out.
+     *
+     * @return Game time in seconds, negative infinity if it was never started.
+     */
+    public double getReadyTime() {
+        return readyTime;
+    }
+}
@@ -26,6 +26,26 @@ public final class CoordsCalculations {
         return new Coords(tileX, tileY);
     }
 
+    /**
+     * Method converts an x position to the x value of the tile it is on
+     *
+     * @param x x position
+     * @return tile x value
+     */
+    public static int posToTileX(double x) {
+        return (int) (x / Constants.TILE_SIZE);
+    }
+
+    /**
+     * Method converts a y position to the y value of the tile it is on
+     *
+     * @param y y position
+     * @return tile y value
+     */
+    public static int posToTileY(double y) {
+        return (int) (y / Constants.TILE_SIZE);
+    }
+
     /**
      * Method converts a tile on the map to a position
      *
@@ -36,6 +56,16 @@ public final class CoordsCalculations {
         return new Point2D(tile.getX() * Constants.TILE_SIZE, tile.getY() * Constants.TILE_SIZE);
     }
 
+    /**
+     * Method converts a length in tiles to a length in pixels
+     *
+     * @param tiles amount of tiles
+     * @return length in pixels
+     */
+    public static double tilesToLength(int tiles) {
+        return tiles * Constants.TILE_SIZE;
+    }
+
     /**
      * Method converts a position to the responding tile's position
      *
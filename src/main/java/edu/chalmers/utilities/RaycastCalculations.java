@@ -5,6 +5,7 @@ import com.almasb.fxgl.physics.RaycastResult;
 import edu.chalmers.model.EntityType;
 import javafx.geometry.Point2D;
 
+import java.io.Serializable;
 import java.util.Optional;
 
 import static com.almasb.fxgl.dsl.FXGLForKtKt.getPhysicsWorld;
@@ -49,6 +50,23 @@ public final class RaycastCalculations {
         return getPhysicsWorld().raycast(raycastStart, raycastEnd);
     }
 
+    /**
+     * Method returns the type of the Entity hit by a raycast. Reads the type straight from the Entity, nothing is
+     * allocated.
+     *
+     * @param raycast The raycast.
+     * @return Type of the Entity hit, or null if nothing (or an Entity without an EntityType) was hit.
+     */
+    public static EntityType getRaycastHitType(RaycastResult raycast) {
+        Optional<Entity> optionalEntity = raycast.getEntity();
+        if (!optionalEntity.isPresent()) {
+            return null;        // Nothing hit, most raycasts end here
+        }
+
+        Serializable type = optionalEntity.get().getType();
+        return type instanceof EntityType ? (EntityType) type : null;
+    }
+
     /**
      * Method checks if a raycast hit something.
      *
@@ -57,8 +75,7 @@ public final class RaycastCalculations {
      * @return True or false.
      */
     public static boolean checkRaycastHit(RaycastResult raycast, EntityType hit) {
-        String raycastHitString = raycast.getEntity().toString();
-        return raycastHitString.contains(hit.toString());
+        return getRaycastHitType(raycast) == hit;
     }
 
     /**
@@ -68,13 +85,17 @@ public final class RaycastCalculations {
      * @return Returns the Entity hit.
      */
     public static Entity getRaycastHit(RaycastResult raycast) {
-        Optional<Entity> optionalEntity = raycast.getEntity(); // Get *optional* entity
+        return raycast.getEntity().orElse(null);
+    }
 
-        // Is Entity *not* empty? Then return entity.
-        if (!optionalEntity.equals(Optional.empty())) {
-            return optionalEntity.get();
-        } else {
-            return null;
-        }
+    /**
+     * Method returns Entity hit by given raycast if it is of the given type.
+     *
+     * @param raycast The raycast.
+     * @param hit     Type the Entity hit must have.
+     * @return Returns the Entity hit, or null if nothing or an Entity of another type was hit.
+     */
+    public static Entity getRaycastHit(RaycastResult raycast, EntityType hit) {
+        return checkRaycastHit(raycast, hit) ? raycast.getEntity().get() : null;
     }
 }
@@ -0,0 +1,121 @@
+package edu.chalmers.view.game;
+
+import com.almasb.fxgl.dsl.FXGL;
+import edu.chalmers.services.Coords;
+import edu.chalmers.utilities.Constants;
+import edu.chalmers.utilities.CoordsCalculations;
+import javafx.geometry.Point2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+
+/**
+ * Build overlay that draws the build range and the build box into a single Canvas instead of one node per tile.
+ * Only the tiles that changed are repainted, so the node count and the cost of an update don't grow with the
+ * build range.
+ */
+public class BuildCanvasView implements IBuildOverlay {
+    private static final double TILE_SIZE = CoordsCalculations.tilesToLength(1);
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final int columns;
+    private final int rows;
+    private final boolean[] shownTiles;     // If a tile currently has an overlay box, index y * columns + x
+
+    private boolean mouseBoxShown = false;
+    private int mouseTileX;
+    private int mouseTileY;
+    private boolean mouseBoxPlaceable;
+
+    public BuildCanvasView() {
+        this.columns = Constants.TILEMAP_WIDTH;
+        this.rows = Constants.TILEMAP_HEIGHT;
+        this.shownTiles = new boolean[columns * rows];
+        this.canvas = new Canvas(columns * TILE_SIZE, rows * TILE_SIZE);
+        this.canvas.setMouseTransparent(true);
+        this.graphics = canvas.getGraphicsContext2D();
+        FXGL.getGameScene().addUINodes(canvas);
+    }
+
+    /**
+     * Updates the tileOverlay (transparent boxes that shows where the build range is), only the tiles that changed
+     * since the last update are repainted
+     *
+     * @param tilesToShow tiles that should get a box
+     * @param tilesToHide tiles that should no longer have a box
+     */
+    @Override
+    public void updateTileOverlay(List<Coords> tilesToShow, List<Coords> tilesToHide) {
+        for (int i = 0; i < tilesToHide.size(); i++) {
+            setTileShown(tilesToHide.get(i).getX(), tilesToHide.get(i).getY(), false);
+        }
+        for (int i = 0; i < tilesToShow.size(); i++) {
+            setTileShown(tilesToShow.get(i).getX(), tilesToShow.get(i).getY(), true);
+        }
+    }
+
+    /**
+     * Hides the build box UI
+     */
+    @Override
+    public void hideBuildUI() {
+        if (!mouseBoxShown) return;
+        mouseBoxShown = false;
+        repaintTile(mouseTileX, mouseTileY);
+    }
+
+    /**
+     * Shows the build box UI and draws a red or green box depending on if it's possible to build at the tile
+     */
+    @Override
+    public void showBuildUI(Point2D mousePos, boolean possibleToPlaceBlock) {
+        int tileX = CoordsCalculations.posToTileX(mousePos.getX());
+        int tileY = CoordsCalculations.posToTileY(mousePos.getY());
+        if (mouseBoxShown && tileX == mouseTileX && tileY == mouseTileY && possibleToPlaceBlock == mouseBoxPlaceable) {
+            return;     // Already drawn
+        }
+
+        hideBuildUI();
+        mouseBoxShown = true;
+        mouseTileX = tileX;
+        mouseTileY = tileY;
+        mouseBoxPlaceable = possibleToPlaceBlock;
+        repaintTile(tileX, tileY);
+    }
+
+    private void setTileShown(int x, int y, boolean shown) {
+        if (!isInside(x, y) || shownTiles[y * columns + x] == shown) return;
+        shownTiles[y * columns + x] = shown;
+        repaintTile(x, y);
+    }
+
+    /* Clears a tile and draws what should be on it, nothing is drawn outside of the tile */
+    private void repaintTile(int x, int y) {
+        if (!isInside(x, y)) return;
+        double posX = x * TILE_SIZE;
+        double posY = y * TILE_SIZE;
+        graphics.clearRect(posX, posY, TILE_SIZE, TILE_SIZE);
+
+        if (shownTiles[y * columns + x]) {
+            graphics.setGlobalAlpha(0.2);
+            graphics.setFill(Color.GRAY);
+            graphics.fillRect(posX, posY, TILE_SIZE, TILE_SIZE);
+            graphics.setStroke(Color.BLACK);
+            graphics.strokeRect(posX + 0.5, posY + 0.5, TILE_SIZE - 1, TILE_SIZE - 1);     // Stroke kept inside the tile
+        }
+
+        if (mouseBoxShown && x == mouseTileX && y == mouseTileY) {
+            graphics.setGlobalAlpha(0.5);
+            graphics.setFill(mouseBoxPlaceable ? Color.GREEN : Color.RED);
+            graphics.fillRect(posX, posY, TILE_SIZE, TILE_SIZE);
+        }
+        graphics.setGlobalAlpha(1);
+    }
+
+    private boolean isInside(int x, int y) {
+        return 0 <= x && x < columns && 0 <= y && y < rows;
+    }
+}
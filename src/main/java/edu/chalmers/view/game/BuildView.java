@@ -8,17 +8,18 @@ import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Malte Åkvist
  * <p>
  * BuildView view that draws grid and placeable box for building UI
  */
-public class BuildView {
+public class BuildView implements IBuildOverlay {
 
     private List<Node> transparentRects = new ArrayList<>();
+    private Map<Coords, Node> shownRects = new HashMap<>();    // Boxes currently shown and the tile they are on
+    private Deque<Node> hiddenRects = new ArrayDeque<>();
     private Rectangle mouseRect;
 
     public BuildView(int buildRange) {
@@ -27,24 +28,38 @@ public class BuildView {
     }
 
     /**
-     * Draws the tileOverlay (transparent boxes that shows where the build range is)
+     * Updates the tileOverlay (transparent boxes that shows where the build range is), only the tiles that changed
+     * since the last update are moved
+     *
+     * @param tilesToShow tiles that should get a box
+     * @param tilesToHide tiles that should no longer have a box
      */
-    public void updateTileOverlay(List<Coords> reachableTiles) {
-        for (Node node : transparentRects) {
-            node.setVisible(false);     // Hide all since list will get updated
+    @Override
+    public void updateTileOverlay(List<Coords> tilesToShow, List<Coords> tilesToHide) {
+        for (int i = 0; i < tilesToHide.size(); i++) {
+            Node rect = shownRects.remove(tilesToHide.get(i));
+            if (rect != null) {
+                rect.setVisible(false);
+                hiddenRects.push(rect);
+            }
         }
 
-        for (int i = 0; i < reachableTiles.size(); i++) {
-            Point2D reachableTilePos = CoordsCalculations.tileToPos(reachableTiles.get(i));
-            transparentRects.get(i).setTranslateX(reachableTilePos.getX());
-            transparentRects.get(i).setTranslateY(reachableTilePos.getY());
-            transparentRects.get(i).setVisible(true);   // Only the ones that should be seen are visible
+        for (int i = 0; i < tilesToShow.size(); i++) {
+            if (hiddenRects.isEmpty() || shownRects.containsKey(tilesToShow.get(i))) continue;
+
+            Node rect = hiddenRects.pop();
+            Point2D reachableTilePos = CoordsCalculations.tileToPos(tilesToShow.get(i));
+            rect.setTranslateX(reachableTilePos.getX());
+            rect.setTranslateY(reachableTilePos.getY());
+            rect.setVisible(true);
+            shownRects.put(tilesToShow.get(i), rect);
         }
     }
 
     /**
      * Hides the build box UI
      */
+    @Override
     public void hideBuildUI() {
         mouseRect.setVisible(false);
     }
@@ -52,6 +67,7 @@ public class BuildView {
     /**
      * Shows the build box UI and draws a red or green box depending on if it's possible to build at the tile
      */
+    @Override
     public void showBuildUI(Point2D mousePos, boolean possibleToPlaceBlock) {
         mouseRect.setVisible(true);
         if (possibleToPlaceBlock) {
@@ -69,7 +85,10 @@ public class BuildView {
         int totalTiles = tileWidth * tileWidth;
 
         for (int i = 0; i < totalTiles; i++) {
-            transparentRects.add(createTransparentRect());
+            Rectangle transparentRect = createTransparentRect();
+            transparentRect.setVisible(false);
+            transparentRects.add(transparentRect);
+            hiddenRects.push(transparentRect);
         }
         return transparentRects.toArray(new Node[0]);
     }
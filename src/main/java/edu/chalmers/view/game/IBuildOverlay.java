@@ -0,0 +1,32 @@
+package edu.chalmers.view.game;
+
+import edu.chalmers.services.Coords;
+import javafx.geometry.Point2D;
+
+import java.util.List;
+
+/**
+ * Interface for views that draw the build range overlay and the build box following the mouse.
+ */
+public interface IBuildOverlay {
+    /**
+     * Updates the tileOverlay (the tiles that shows where the build range is) with the tiles that changed
+     *
+     * @param tilesToShow tiles that should be drawn
+     * @param tilesToHide tiles that should no longer be drawn
+     */
+    void updateTileOverlay(List<Coords> tilesToShow, List<Coords> tilesToHide);
+
+    /**
+     * Shows the build box UI and draws a red or green box depending on if it's possible to build at the tile
+     *
+     * @param mousePos             position of the mouse
+     * @param possibleToPlaceBlock if a block can be placed on the tile of the mouse
+     */
+    void showBuildUI(Point2D mousePos, boolean possibleToPlaceBlock);
+
+    /**
+     * Hides the build box UI
+     */
+    void hideBuildUI();
+}
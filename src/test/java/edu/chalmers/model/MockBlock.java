@@ -0,0 +1,68 @@
+package edu.chalmers.model;
+
+import edu.chalmers.model.building.IBlock;
+import edu.chalmers.model.building.IBlockObservable;
+import edu.chalmers.model.building.IMapObserver;
+import edu.chalmers.services.Coords;
+
+/**
+ * MockBlock test class used as a destroyable block that doesn't need a game world.
+ */
+public class MockBlock implements IBlock, IBlockObservable {
+
+    private final Coords tile;
+    private final ObserverList<IMapObserver> mapObservers = new ObserverList<>();
+    private boolean removed = false;
+
+    public MockBlock() {
+        this(new Coords(0, 0));
+    }
+
+    public MockBlock(Coords tile) {
+        this.tile = tile;
+    }
+
+    @Override
+    public boolean canBeDestroyed() {
+        return true;
+    }
+
+    @Override
+    public void remove() {
+        removed = true;
+        mapObservers.clear();
+    }
+
+    /**
+     * Destroys the block the same way Block does when its health reaches 0.
+     */
+    public void destroy() {
+        removed = true;
+        notifyObservers();
+        mapObservers.clear();
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    @Override
+    public void notifyObservers() {
+        mapObservers.notifyEach(IMapObserver::update, tile);
+    }
+
+    @Override
+    public void addObserver(IMapObserver IMapObserver) {
+        mapObservers.add(IMapObserver);
+    }
+
+    @Override
+    public void removeObserver(IMapObserver IMapObserver) {
+        mapObservers.remove(IMapObserver);
+    }
+
+    @Override
+    public int getObserverCount() {
+        return mapObservers.size();
+    }
+}
@@ -0,0 +1,59 @@
+package edu.chalmers.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ObserverList.
+ */
+public class TestObserverList {
+
+    @Test
+    public void testAddIsDeduplicated() {
+        ObserverList<IObserver> observers = new ObserverList<>();
+        MockObserver o = new MockObserver();
+        assertTrue(observers.add(o));
+        assertFalse(observers.add(o));
+        assertEquals(1, observers.size());
+        assertTrue(observers.add(new MockObserver()));
+        assertEquals(2, observers.size());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        ObserverList<IObserver> observers = new ObserverList<>();
+        MockObserver o1 = new MockObserver();
+        MockObserver o2 = new MockObserver();
+        observers.add(o1);
+        observers.add(o2);
+        assertTrue(observers.remove(o1));
+        assertFalse(observers.remove(o1));
+        assertEquals(1, observers.size());
+        observers.clear();
+        assertEquals(0, observers.size());
+    }
+
+    @Test
+    public void testNotifyEach() {
+        ObserverList<IObserver> observers = new ObserverList<>();
+        MockObserver o1 = new MockObserver();
+        MockObserver o2 = new MockObserver();
+        observers.add(o1);
+        observers.add(o2);
+        observers.notifyEach(IObserver::update);
+        assertTrue(o1.isTest());
+        assertTrue(o2.isTest());
+    }
+
+    @Test
+    public void testRemoveWhileNotifying() {
+        ObserverList<IObserver> observers = new ObserverList<>();
+        MockObserver o = new MockObserver();
+        observers.add(() -> observers.remove(o));   // Removes the next observer, which should still be notified this time
+        observers.add(o);
+        observers.notifyEach(IObserver::update);
+        assertTrue(o.isTest());
+        assertEquals(1, observers.size());
+    }
+}
@@ -142,13 +142,13 @@ public class TestPlayerComponent {
     public void testObserverMethods() throws InterruptedException {
         resetPlayer();
         MockObserver o = new MockObserver();
-        assertTrue(player.observers.size() == 0);
+        assertTrue(player.getObserverCount() == 0);
         player.addObserver(o);
-        assertTrue(player.observers.size() == 1);
+        assertTrue(player.getObserverCount() == 1);
         player.notifyObserver();
         assertTrue(o.isTest());
         player.removeObserver(o);
-        assertTrue(player.observers.size() == 0);
+        assertTrue(player.getObserverCount() == 0);
     }
 
     @Test
@@ -96,12 +96,12 @@ public class TestWeapon {
     public void testObserverMethods() throws InterruptedException {
         MockObserver o = new MockObserver();
         weapon = WeaponFactory.getInstance().createWeapon("Handgun");
-        assertTrue(weapon.observers.size() == 0);
+        assertTrue(weapon.getObserverCount() == 0);
         weapon.addObserver(o);
-        assertTrue(weapon.observers.size() == 1);
+        assertTrue(weapon.getObserverCount() == 1);
         weapon.notifyObserver();
         assertTrue(o.isTest());
         weapon.removeObserver(o);
-        assertTrue(weapon.observers.size() == 0);
+        assertTrue(weapon.getObserverCount() == 0);
     }
 }
\ No newline at end of file
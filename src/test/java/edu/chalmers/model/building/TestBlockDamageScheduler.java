@@ -0,0 +1,98 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BlockDamageScheduler.
+ */
+public class TestBlockDamageScheduler {
+
+    /* Keeps the health of a block that is damaged through the scheduler */
+    private static class MockDamageable implements IDamageable {
+        private int health = 100;
+
+        @Override
+        public void applyDamage(int damage) {
+            health -= damage;
+        }
+
+        @Override
+        public void markDead() {
+        }
+    }
+
+    @Test
+    public void testDamageAppliedAfterDelay() {
+        BlockDamageScheduler scheduler = new BlockDamageScheduler(new TileGrid(5, 5), 0.5);
+        MockDamageable block = new MockDamageable();
+        Coords tile = new Coords(1, 1);
+
+        scheduler.inflictDamage(block, tile, 10);
+        assertTrue(scheduler.hasPendingDamage(tile));
+        scheduler.update(0.3);
+        assertEquals(100, block.health);
+        scheduler.inflictDamage(block, tile, 50);     // Ignored, damage already pending
+        scheduler.update(0.2);
+        assertEquals(90, block.health);
+        assertFalse(scheduler.hasPendingDamage(tile));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testSameRateAsContactEveryFrame() {
+        BlockDamageScheduler scheduler = new BlockDamageScheduler(new TileGrid(5, 5), 0.5);
+        MockDamageable block = new MockDamageable();
+
+        for (int frame = 0; frame < 72; frame++) {     // 1.2 seconds of contact at 60 fps
+            scheduler.inflictDamage(block, new Coords(2, 2), 10);
+            scheduler.update(1.0 / 60);
+        }
+        assertEquals(80, block.health);     // Damage applied at 0.5 s and 1 s
+    }
+
+    @Test
+    public void testSeveralBlocks() {
+        BlockDamageScheduler scheduler = new BlockDamageScheduler(new TileGrid(5, 5), 0.5);
+        MockDamageable first = new MockDamageable();
+        MockDamageable second = new MockDamageable();
+
+        scheduler.inflictDamage(first, new Coords(0, 0), 10);
+        scheduler.update(0.25);
+        scheduler.inflictDamage(second, new Coords(4, 4), 20);
+        assertEquals(2, scheduler.getPendingCount());
+
+        scheduler.update(0.25);
+        assertEquals(90, first.health);
+        assertEquals(100, second.health);
+        scheduler.update(0.25);
+        assertEquals(80, second.health);
+    }
+
+    @Test
+    public void testCancelDamage() {
+        TileGrid grid = new TileGrid(5, 5);
+        BlockDamageScheduler scheduler = new BlockDamageScheduler(grid, 0.5);
+        MockDamageable removed = new MockDamageable();
+        MockDamageable placed = new MockDamageable();
+        Coords tile = new Coords(1, 1);
+
+        scheduler.inflictDamage(removed, tile, 10);
+        scheduler.update(0.25);
+        scheduler.cancelDamage(grid.indexOf(tile));
+        assertFalse(scheduler.hasPendingDamage(tile));
+        assertEquals(0, scheduler.getPendingCount());
+
+        // A new block on the tile can be hit right away, the cancelled hit never lands on either block
+        scheduler.inflictDamage(placed, tile, 20);
+        scheduler.update(0.25);
+        assertEquals(100, removed.health);
+        assertEquals(100, placed.health);
+        scheduler.update(0.25);
+        assertEquals(100, removed.health);
+        assertEquals(80, placed.health);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}
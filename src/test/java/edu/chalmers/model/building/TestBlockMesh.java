@@ -0,0 +1,118 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BlockMesh.
+ */
+public class TestBlockMesh {
+
+    /* Keeps the rectangles the observer has been told about, like BlockCollisionMesh keeps its bodies */
+    private static class RectRecorder implements IBlockMeshObserver {
+        private final Set<BlockMesh.Rect> rects = new HashSet<>();
+
+        @Override
+        public void update(List<BlockMesh.Rect> removedRects, List<BlockMesh.Rect> addedRects) {
+            for (BlockMesh.Rect rect : removedRects) assertTrue(rects.remove(rect));
+            for (BlockMesh.Rect rect : addedRects) assertTrue(rects.add(rect));
+        }
+    }
+
+    @Test
+    public void testWallIsOneRect() {
+        TileGrid grid = new TileGrid(30, 20);
+        fill(grid, 5, 5, 20, 10);
+        RectRecorder recorder = new RectRecorder();
+        BlockMesh mesh = new BlockMesh(grid, recorder);
+        mesh.update();
+
+        assertEquals(1, mesh.getRectCount());
+        assertEquals(1, recorder.rects.size());
+        BlockMesh.Rect rect = mesh.getRect(grid.indexOf(5, 5));
+        assertEquals(20, rect.getWidth());
+        assertEquals(10, rect.getHeight());
+        assertTrue(rect.contains(24, 14));
+        assertFalse(rect.contains(25, 14));
+    }
+
+    @Test
+    public void testRemoveAndAddBlockInWall() {
+        TileGrid grid = new TileGrid(30, 20);
+        fill(grid, 5, 5, 20, 10);
+        RectRecorder recorder = new RectRecorder();
+        BlockMesh mesh = new BlockMesh(grid, recorder);
+        mesh.update();
+
+        int hole = grid.indexOf(12, 9);
+        grid.remove(hole);
+        mesh.tileChanged(hole);
+        mesh.update();
+        assertNull(mesh.getRect(hole));
+        assertTrue(mesh.getRectCount() <= 4);   // Wall around a hole
+        assertCovered(grid, mesh, recorder);
+
+        grid.set(hole, new MockBlock());
+        mesh.tileChanged(hole);
+        mesh.update();
+        assertNotNull(mesh.getRect(hole));
+        assertCovered(grid, mesh, recorder);
+    }
+
+    @Test
+    public void testPermanentBlocksNotMeshed() {
+        TileGrid grid = new TileGrid(10, 10);
+        grid.put(new Coords(3, 3), new PermanentBlock());
+        grid.put(new Coords(4, 3), new MockBlock());
+        BlockMesh mesh = new BlockMesh(grid, new RectRecorder());
+        mesh.update();
+
+        assertNull(mesh.getRect(grid.indexOf(3, 3)));
+        assertEquals(1, mesh.getRect(grid.indexOf(4, 3)).getWidth());
+    }
+
+    @Test
+    public void testRandomChangesKeepMeshValid() {
+        Random random = new Random(42);
+        TileGrid grid = new TileGrid(25, 15);
+        RectRecorder recorder = new RectRecorder();
+        BlockMesh mesh = new BlockMesh(grid, recorder);
+
+        for (int round = 0; round < 200; round++) {
+            for (int change = 0; change < 1 + random.nextInt(5); change++) {    // Several changes in the same frame
+                int index = random.nextInt(grid.getTileCount());
+                grid.set(index, grid.isEmpty(index) ? new MockBlock() : null);
+                mesh.tileChanged(index);
+            }
+            mesh.update();
+            assertCovered(grid, mesh, recorder);
+        }
+    }
+
+    private void fill(TileGrid grid, int x, int y, int width, int height) {
+        for (int tileY = y; tileY < y + height; tileY++) {
+            for (int tileX = x; tileX < x + width; tileX++) {
+                grid.set(grid.indexOf(tileX, tileY), new MockBlock());
+            }
+        }
+    }
+
+    // Every block is covered by exactly one rectangle the observer knows about, and no empty tile is covered
+    private void assertCovered(TileGrid grid, BlockMesh mesh, RectRecorder recorder) {
+        assertEquals(recorder.rects.size(), mesh.getRectCount());
+        for (int index = 0; index < grid.getTileCount(); index++) {
+            int covering = 0;
+            for (BlockMesh.Rect rect : recorder.rects) {
+                if (rect.contains(grid.getX(index), grid.getY(index))) covering++;
+            }
+            assertEquals(grid.isEmpty(index) ? 0 : 1, covering);
+            if (!grid.isEmpty(index)) assertTrue(recorder.rects.contains(mesh.getRect(index)));
+        }
+    }
+}
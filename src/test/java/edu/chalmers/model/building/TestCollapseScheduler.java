@@ -0,0 +1,74 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CollapseScheduler.
+ */
+public class TestCollapseScheduler {
+
+    @Test
+    public void testRemovalIsSpreadOverFrames() {
+        CollapseScheduler scheduler = new CollapseScheduler(0);    // No budget, one block per frame
+        MockBlock block1 = new MockBlock();
+        MockBlock block2 = new MockBlock();
+        MockBlock block3 = new MockBlock();
+        scheduler.schedule(block1);
+        scheduler.schedule(block2);
+        scheduler.schedule(block3);
+        assertEquals(3, scheduler.getPendingBlocks());
+
+        scheduler.update();
+        assertTrue(block1.isRemoved());
+        assertFalse(block2.isRemoved());
+        assertEquals(0, scheduler.getLastCollapseFrames());    // Collapse isn't finished yet
+
+        scheduler.update();
+        scheduler.update();
+        assertTrue(block3.isRemoved());
+        assertEquals(0, scheduler.getPendingBlocks());
+        assertEquals(3, scheduler.getLastCollapseFrames());
+        assertEquals(3, scheduler.getLastCollapseBlocks());
+    }
+
+    @Test
+    public void testRemovalWithinBudget() {
+        CollapseScheduler scheduler = new CollapseScheduler(1000);
+        for (int i = 0; i < 100; i++) {
+            scheduler.schedule(new MockBlock());
+        }
+
+        scheduler.update();
+        assertEquals(0, scheduler.getPendingBlocks());
+        assertEquals(1, scheduler.getLastCollapseFrames());
+        assertEquals(100, scheduler.getLastCollapseBlocks());
+        assertEquals(1, scheduler.getMaxCollapseFrames());
+    }
+
+    @Test
+    public void testMapManagerEmptiesTilesBeforeRemoval() {
+        TileGrid grid = new TileGrid(3, 3);
+        grid.put(new Coords(0, 2), new PermanentBlock());
+        MapManager mapManager = new MapManager(grid);
+        MockBlock bottom = new MockBlock();
+        MockBlock top = new MockBlock();
+        mapManager.addBlockToMap(new Coords(0, 1), bottom);
+        mapManager.addBlockToMap(new Coords(0, 0), top);
+        mapManager.getCollapseScheduler().setFrameBudgetMillis(0);
+
+        mapManager.update(new Coords(0, 1));
+        mapManager.flushRemovedTiles();
+        assertTrue(mapManager.isTileEmpty(new Coords(0, 0)));    // Tile can be built on right away
+        assertFalse(top.isRemoved());
+        assertEquals(1, mapManager.getCollapseScheduler().getPendingBlocks());
+
+        mapManager.onUpdate(0);
+        assertTrue(top.isRemoved());
+        assertEquals(1, mapManager.getCollapseScheduler().getLastCollapseFrames());
+    }
+}
@@ -0,0 +1,84 @@
+package edu.chalmers.model.building;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LevelCompiler.
+ */
+public class TestLevelCompiler {
+
+    private final LevelCompiler levelCompiler = new LevelCompiler(0);
+
+    @Test
+    public void testGroundAndPlatforms() {
+        CompiledLevel level = levelCompiler.compile(toData(
+                "........",
+                "..###...",
+                "........",
+                "########",
+                "########"), 8);
+
+        assertEquals(2, level.getPlatformRects().size());
+        assertEquals(0, level.getWallRects().size());
+        assertRect(level.getPlatformRects().get(0), 0, 3, 8, 2);    // Ground first
+        assertRect(level.getPlatformRects().get(1), 2, 1, 3, 1);
+    }
+
+    @Test
+    public void testBlockGridMatchesRects() {
+        CompiledLevel level = levelCompiler.compile(toData(
+                "#######.",
+                "#..##..#",
+                "#.####.#",
+                "########"), 8);
+
+        int covered = 0;
+        List<BlockMesh.Rect> rects = new ArrayList<>(level.getPlatformRects());
+        rects.addAll(level.getWallRects());
+        for (BlockMesh.Rect rect : rects) {
+            for (int y = rect.getY(); y < rect.getY() + rect.getHeight(); y++) {
+                for (int x = rect.getX(); x < rect.getX() + rect.getWidth(); x++) {
+                    assertFalse(level.getBlockGrid().isEmpty(level.getBlockGrid().indexOf(x, y)));
+                    covered++;
+                }
+            }
+        }
+        assertEquals(level.getBlockGrid().size(), covered);     // Every block is covered by exactly one rectangle
+    }
+
+    @Test
+    public void testOuterColumnsAndCeilingAreWalls() {
+        CompiledLevel level = levelCompiler.compile(toData(
+                "########",
+                "#......#",
+                "##....##",
+                "########"), 8);
+
+        for (BlockMesh.Rect rect : level.getPlatformRects()) {
+            if (rect.getX() == 0) assertRect(rect, 0, 3, 8, 1);     // Only the ground is a platform at x = 0
+            assertNotEquals(0, rect.getY());
+        }
+        assertEquals(3, level.getPlatformRects().size());          // Ground and the two inner steps
+        assertTrue(level.getWallRects().size() >= 3);               // Outer columns and ceiling
+    }
+
+    private List<Integer> toData(String... rows) {
+        List<Integer> data = new ArrayList<>();
+        for (String row : rows) {
+            for (char tile : row.toCharArray()) data.add(tile == '#' ? 1 : 0);
+        }
+        return data;
+    }
+
+    private void assertRect(BlockMesh.Rect rect, int x, int y, int width, int height) {
+        assertEquals(x, rect.getX());
+        assertEquals(y, rect.getY());
+        assertEquals(width, rect.getWidth());
+        assertEquals(height, rect.getHeight());
+    }
+}
@@ -1,7 +1,9 @@
 package edu.chalmers.model.building;
 
 import edu.chalmers.FXGLTest;
+import edu.chalmers.model.MockBlock;
 import edu.chalmers.model.building.blocks.Block;
+import edu.chalmers.model.building.blocks.PermanentBlock;
 import edu.chalmers.services.Coords;
 import edu.chalmers.services.TileMap;
 import javafx.geometry.Point2D;
@@ -95,9 +97,92 @@ public class TestMapManager {
 
         // Check if correct tiles were removed
         waitForRunLater(() -> mapManager.update(tile1));  // tile1 gets removed and so should tile2 and tile3 since they are now floating
+        assertTrue(mapManager.getBlockMap().containsKey(tile1));    // Removal happens at the end of the frame
+        waitForRunLater(() -> mapManager.flushRemovedTiles());
         assertFalse(mapManager.getBlockMap().containsKey(tile1));
         assertFalse(mapManager.getBlockMap().containsKey(tile2));
         assertFalse(mapManager.getBlockMap().containsKey(tile3));
         assertTrue(mapManager.getBlockMap().containsKey(tile4));
     }
+
+    @Test
+    public void testFlushRemovedTilesBatch() throws InterruptedException {
+        resetTest();
+
+        Coords tile1 = new Coords(9, 10);   // Connected to permanent block and tile2
+        Coords tile2 = new Coords(10, 10);  // Connected to permanent block and tile1
+        Coords tile3 = new Coords(10, 9);   // Connected to tile2 and tile4
+        Coords tile4 = new Coords(9, 9);    // Connected to tile1 and tile3
+
+        waitForRunLater(() -> block1 = new Block(new Point2D(20, 20)));
+        waitForRunLater(() -> block2 = new Block(new Point2D(20, 20)));
+        waitForRunLater(() -> block3 = new Block(new Point2D(20, 20)));
+        waitForRunLater(() -> block4 = new Block(new Point2D(20, 20)));
+
+        mapManager.addBlockToMap(tile1, block1);
+        mapManager.addBlockToMap(tile2, block2);
+        mapManager.addBlockToMap(tile3, block3);
+        mapManager.addBlockToMap(tile4, block4);
+
+        // Both supporting blocks die in the same frame, the blocks above them fall together
+        waitForRunLater(() -> {
+            mapManager.update(tile1);
+            mapManager.update(tile2);
+            mapManager.update(tile1);   // Dying twice in a frame changes nothing
+            mapManager.flushRemovedTiles();
+        });
+        assertFalse(mapManager.getBlockMap().containsKey(tile1));
+        assertFalse(mapManager.getBlockMap().containsKey(tile2));
+        assertFalse(mapManager.getBlockMap().containsKey(tile3));
+        assertFalse(mapManager.getBlockMap().containsKey(tile4));
+    }
+
+    @Test
+    public void testPlaceBlockOnCollapsedTile() {
+        TileGrid grid = new TileGrid(5, 5);
+        for (int x = 0; x < 5; x++) {
+            grid.set(grid.indexOf(x, 4), new PermanentBlock());
+        }
+        MapManager manager = new MapManager(grid);
+
+        Coords supportTile = new Coords(2, 3);
+        Coords collapsedTile = new Coords(2, 2);
+        MockBlock support = new MockBlock(supportTile);
+        MockBlock collapsed = new MockBlock(collapsedTile);
+        manager.addBlockToMap(supportTile, support);
+        manager.addBlockToMap(collapsedTile, collapsed);
+        support.addObserver(manager);
+        collapsed.addObserver(manager);
+
+        // The support dies, the block above collapses and waits in the CollapseScheduler
+        support.destroy();
+        manager.flushRemovedTiles();
+        assertTrue(manager.isTileEmpty(collapsedTile));
+        assertEquals(1, manager.getCollapseScheduler().getPendingBlocks());
+        assertEquals(0, collapsed.getObserverCount());
+
+        // New blocks are placed on both tiles before the collapse has been removed
+        MockBlock newSupport = new MockBlock(supportTile);
+        MockBlock placed = new MockBlock(collapsedTile);
+        manager.addBlockToMap(supportTile, newSupport);
+        manager.addBlockToMap(collapsedTile, placed);
+        newSupport.addObserver(manager);
+        placed.addObserver(manager);
+
+        // The collapsed block dying doesn't reach the map, so the placed block stays
+        collapsed.destroy();
+        manager.flushRemovedTiles();
+        manager.getCollapseScheduler().update();
+        assertSame(placed, manager.getBlockMap().get(collapsedTile));
+        assertSame(newSupport, manager.getBlockMap().get(supportTile));
+        assertFalse(placed.isRemoved());
+        assertTrue(collapsed.isRemoved());
+        assertEquals(0, manager.getCollapseScheduler().getPendingBlocks());
+
+        // The placed block is still a normal part of the map and can die
+        newSupport.destroy();
+        manager.flushRemovedTiles();
+        assertTrue(manager.isTileEmpty(supportTile));
+        assertTrue(manager.isTileEmpty(collapsedTile));
+    }
 }
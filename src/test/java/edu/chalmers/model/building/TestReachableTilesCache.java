@@ -0,0 +1,55 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReachableTilesCache.
+ */
+public class TestReachableTilesCache {
+
+    @Test
+    public void testUpdateOnlyWhenChanged() {
+        TileGrid grid = new TileGrid(10, 10);
+        ReachableTilesCache cache = new ReachableTilesCache(grid, 1);
+
+        assertTrue(cache.update(5, 5));
+        assertEquals(9, cache.getEmptyReachableTiles().size());
+        assertEquals(9, cache.getTilesToShow().size());
+        assertEquals(0, cache.getTilesToHide().size());
+
+        assertFalse(cache.update(5, 5));    // Nothing has changed
+
+        grid.put(new Coords(4, 4), new PermanentBlock());
+        assertTrue(cache.update(5, 5));     // Map has changed
+        assertEquals(8, cache.getEmptyReachableTiles().size());
+        assertEquals(0, cache.getTilesToShow().size());
+        assertEquals(1, cache.getTilesToHide().size());
+        assertEquals(new Coords(4, 4), cache.getTilesToHide().get(0));
+    }
+
+    @Test
+    public void testDiffWhenPlayerMoves() {
+        TileGrid grid = new TileGrid(10, 10);
+        ReachableTilesCache cache = new ReachableTilesCache(grid, 1);
+        cache.update(5, 5);
+
+        assertTrue(cache.update(6, 5));     // One column is hidden and one is shown
+        assertEquals(3, cache.getTilesToShow().size());
+        assertEquals(3, cache.getTilesToHide().size());
+        assertTrue(cache.getTilesToShow().contains(new Coords(7, 5)));
+        assertTrue(cache.getTilesToHide().contains(new Coords(4, 5)));
+        assertEquals(9, cache.getEmptyReachableTiles().size());
+    }
+
+    @Test
+    public void testTilesOutsideMap() {
+        TileGrid grid = new TileGrid(10, 10);
+        ReachableTilesCache cache = new ReachableTilesCache(grid, 3);
+        cache.update(0, 0);
+        assertEquals(16, cache.getEmptyReachableTiles().size());    // In corner of map can reach 4*4 tiles
+    }
+}
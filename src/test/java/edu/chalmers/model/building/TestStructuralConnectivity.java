@@ -0,0 +1,152 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StructuralConnectivity.
+ */
+public class TestStructuralConnectivity {
+    private TileGrid blockMap;
+    private StructuralConnectivity connectivity;
+
+    // Creates a map with a permanent floor at y = 10 from x = 0 to x = 9
+    private void resetTest() {
+        blockMap = new TileGrid(10, 11);
+        for (int x = 0; x < 10; x++) {
+            blockMap.put(new Coords(x, 10), new PermanentBlock());
+        }
+        connectivity = new StructuralConnectivity(blockMap);
+    }
+
+    private void addBlock(int x, int y) {
+        blockMap.put(new Coords(x, y), new MockBlock());
+        connectivity.tileAdded(new Coords(x, y));
+    }
+
+    private Set<Coords> removeBlock(int x, int y) {
+        blockMap.remove(new Coords(x, y));
+        return connectivity.tileRemoved(new Coords(x, y));
+    }
+
+    @Test
+    public void testTileAdded() {
+        resetTest();
+        addBlock(2, 9);
+        addBlock(2, 8);
+        addBlock(4, 8);    // Floating block, not connected to anything
+
+        assertTrue(connectivity.isAnchored(new Coords(2, 9)));
+        assertTrue(connectivity.isAnchored(new Coords(2, 8)));
+        assertFalse(connectivity.isAnchored(new Coords(4, 8)));
+        assertTrue(connectivity.isAnchored(new Coords(0, 10)));    // Permanent block
+
+        addBlock(3, 8);    // Connects the floating block to the tower
+        assertTrue(connectivity.isAnchored(new Coords(4, 8)));
+        assertEquals(connectivity.getComponentId(new Coords(2, 9)), connectivity.getComponentId(new Coords(4, 8)));
+    }
+
+    @Test
+    public void testTileRemovedSplitsComponent() {
+        resetTest();
+        // Bridge between two towers: (2,9) (2,8) (3,8) (4,8) (5,8) (5,9) with a block hanging from the middle
+        addBlock(2, 9);
+        addBlock(2, 8);
+        addBlock(3, 8);
+        addBlock(4, 8);
+        addBlock(5, 8);
+        addBlock(5, 9);
+        addBlock(3, 7);
+
+        assertTrue(removeBlock(2, 9).isEmpty());     // Bridge is still held up by the other tower
+        assertTrue(connectivity.isAnchored(new Coords(2, 8)));
+
+        Set<Coords> unsupported = removeBlock(5, 9);    // Nothing holds up the bridge anymore
+        assertEquals(5, unsupported.size());
+        assertTrue(unsupported.contains(new Coords(2, 8)));
+        assertTrue(unsupported.contains(new Coords(3, 7)));
+        assertEquals(-1, connectivity.getComponentId(new Coords(5, 8)));
+    }
+
+    @Test
+    public void testTileRemovedKeepsAnchoredPieces() {
+        resetTest();
+        // Two towers connected at the top, removing the top block leaves two anchored pieces
+        addBlock(1, 9);
+        addBlock(1, 8);
+        addBlock(2, 8);
+        addBlock(3, 8);
+        addBlock(3, 9);
+        addBlock(2, 7);
+
+        Set<Coords> unsupported = removeBlock(2, 8);
+        assertEquals(1, unsupported.size());
+        assertTrue(unsupported.contains(new Coords(2, 7)));
+        assertTrue(connectivity.isAnchored(new Coords(1, 8)));
+        assertTrue(connectivity.isAnchored(new Coords(3, 8)));
+        assertNotEquals(connectivity.getComponentId(new Coords(1, 8)), connectivity.getComponentId(new Coords(3, 8)));
+    }
+
+    @Test
+    public void testTileRemovedWithCycle() {
+        resetTest();
+        // A ring of blocks standing on one block, removing a block in the ring keeps everything connected
+        addBlock(4, 9);
+        addBlock(4, 8);
+        addBlock(5, 8);
+        addBlock(5, 7);
+        addBlock(4, 7);
+        addBlock(3, 7);
+        addBlock(3, 8);
+
+        assertTrue(removeBlock(4, 7).isEmpty());
+        assertTrue(connectivity.isAnchored(new Coords(5, 7)));
+        assertTrue(connectivity.isAnchored(new Coords(3, 7)));
+
+        Set<Coords> unsupported = removeBlock(4, 9);
+        assertEquals(5, unsupported.size());
+    }
+
+    @Test
+    public void testResolveRemovalsMatchesSingleRemovals() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            TileGrid singleGrid = new TileGrid(20, 12);
+            for (int x = 0; x < 20; x++) {
+                singleGrid.put(new Coords(x, 11), new PermanentBlock());
+                int height = random.nextInt(11);    // Columns standing on the floor, so nothing levitates from the start
+                for (int y = 10; y > 10 - height; y--) singleGrid.put(new Coords(x, y), new MockBlock());
+            }
+            TileGrid batchGrid = copyOf(singleGrid);
+            StructuralConnectivity single = new StructuralConnectivity(singleGrid);
+            StructuralConnectivity batch = new StructuralConnectivity(batchGrid);
+
+            for (int i = 0; i < 6; i++) {
+                int index = singleGrid.indexOf(random.nextInt(20), 6 + random.nextInt(5));
+                if (singleGrid.remove(index) != null) removeUnsupported(singleGrid, single, single.tileRemoved(index));
+                if (batchGrid.remove(index) != null) batch.markRemoved(index);
+            }
+            removeUnsupported(batchGrid, batch, batch.resolveRemovals());
+
+            assertEquals(singleGrid.asMap().keySet(), batchGrid.asMap().keySet());
+        }
+    }
+
+    private void removeUnsupported(TileGrid grid, StructuralConnectivity connectivity, int unsupported) {
+        for (int i = 0; i < unsupported; i++) grid.remove(connectivity.getUnsupportedTile(i));
+    }
+
+    private TileGrid copyOf(TileGrid grid) {
+        TileGrid copy = new TileGrid(grid.getWidth(), grid.getHeight());
+        for (Map.Entry<Coords, IBlock> entry : grid.asMap().entrySet()) copy.put(entry.getKey(), entry.getValue());
+        return copy;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.chalmers.model.building;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import edu.chalmers.services.Coords;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TileGrid.
+ */
+public class TestTileGrid {
+
+    @Test
+    public void testPutGetRemove() {
+        TileGrid grid = new TileGrid(4, 3);
+        IBlock block = new MockBlock();
+        assertNull(grid.put(new Coords(2, 1), block));
+        assertSame(block, grid.get(new Coords(2, 1)));
+        assertSame(block, grid.get(2, 1));
+        assertSame(block, grid.get(grid.indexOf(2, 1)));
+        assertEquals(1, grid.size());
+
+        assertSame(block, grid.remove(new Coords(2, 1)));
+        assertNull(grid.get(2, 1));
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    public void testOutsideGrid() {
+        TileGrid grid = new TileGrid(4, 3);
+        assertEquals(-1, grid.indexOf(-1, 0));
+        assertEquals(-1, grid.indexOf(4, 0));
+        assertEquals(-1, grid.indexOf(0, 3));
+        assertNull(grid.get(new Coords(10, 10)));
+        assertTrue(grid.isEmpty(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.put(new Coords(4, 0), new MockBlock()));
+    }
+
+    @Test
+    public void testNeighbourOf() {
+        TileGrid grid = new TileGrid(4, 3);
+        int middle = grid.indexOf(1, 1);
+        assertEquals(grid.indexOf(1, 0), grid.neighbourOf(middle, 0));
+        assertEquals(grid.indexOf(2, 1), grid.neighbourOf(middle, 1));
+        assertEquals(grid.indexOf(1, 2), grid.neighbourOf(middle, 2));
+        assertEquals(grid.indexOf(0, 1), grid.neighbourOf(middle, 3));
+
+        int corner = grid.indexOf(3, 0);    // Top right corner has no neighbour above or to the right
+        assertEquals(-1, grid.neighbourOf(corner, 0));
+        assertEquals(-1, grid.neighbourOf(corner, 1));
+        assertEquals(grid.indexOf(3, 1), grid.neighbourOf(corner, 2));
+        assertEquals(grid.indexOf(2, 0), grid.neighbourOf(corner, 3));
+    }
+
+    @Test
+    public void testAsMap() {
+        TileGrid grid = new TileGrid(4, 3);
+        grid.put(new Coords(0, 2), new PermanentBlock());
+        grid.put(new Coords(3, 1), new MockBlock());
+
+        assertEquals(2, grid.asMap().size());
+        assertTrue(grid.asMap().containsKey(new Coords(3, 1)));
+        assertFalse(grid.asMap().containsKey(new Coords(1, 1)));
+        assertTrue(grid.asMap().keySet().contains(new Coords(0, 2)));
+        assertThrows(UnsupportedOperationException.class, () -> grid.asMap().put(new Coords(1, 1), new MockBlock()));
+    }
+}
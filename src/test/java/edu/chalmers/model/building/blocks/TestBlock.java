@@ -65,20 +65,50 @@ public class TestBlock {
         assertEquals(0, getGameWorld().getEntities().size());
     }
 
+    @Test
+    public void testMarkDead() throws InterruptedException {
+        resetTest();
+        block.setTesting(true);
+        block.addObserver(new MockMapObserver());
+        block.markDead();
+        assertTrue(block.isDead());
+        assertEquals(0, block.getObserverCount());
+
+        // A dead block waiting to collapse takes no damage
+        waitForRunLater(() -> block.inflictDamage(200));
+        assertEquals(100, block.getHealth());
+        assertEquals(1, getGameWorld().getEntities().size());
+    }
+
+    @Test
+    public void testDamageStage() throws InterruptedException {
+        resetTest();
+        block.setTesting(true);
+        assertEquals(0, block.getDamageStage());
+        waitForRunLater(() -> block.inflictDamage(30));
+        assertEquals(1, block.getDamageStage());
+        waitForRunLater(() -> block.inflictDamage(40));
+        assertEquals(2, block.getDamageStage());
+        assertEquals(2, BlockTextures.getDamageStage(1));
+        assertEquals(0, BlockTextures.getDamageStage(71));
+    }
+
     @Test
     public void testObserverMethods() throws InterruptedException {
         blockSpawnPos = new Point2D(180, 70);
         resetTest();
         MockMapObserver o = new MockMapObserver();
-        block.IMapObservers.clear();
-        assertEquals(0, block.IMapObservers.size());
+        assertEquals(0, block.getObserverCount());
         block.addObserver(o);
-        assertEquals(1, block.IMapObservers.size());
+        block.addObserver(o);   // Same observer is only added once
+        assertEquals(1, block.getObserverCount());
 
         assertEquals(0, o.getTileToUpdate().getX());
         assertEquals(0, o.getTileToUpdate().getY());
         block.notifyObservers();
         assertEquals(3, o.getTileToUpdate().getX());
         assertEquals(1, o.getTileToUpdate().getY());
+        block.removeObserver(o);
+        assertEquals(0, block.getObserverCount());
     }
 }
@@ -14,6 +14,7 @@ import static com.almasb.fxgl.dsl.FXGLForKtKt.getGameWorld;
 import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
 import static edu.chalmers.FXGLTest.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Sam Salek
@@ -120,6 +121,60 @@ public class TestEnemyComponent {
         });
     }
 
+    @Test
+    public void testRemoveFromCore() throws InterruptedException {
+        init();
+        waitForRunLater(() -> {
+            EnemyComponent other = EnemyFactory.getInstance().createEnemy("ZOMBIE", 100, 0, player.getEntity(), new StatMultiplier()).getComponent(EnemyComponent.class);
+            int otherHealth = other.getHealth() - 5;
+            other.inflictDamage(5);
+            enemyComponent.setAirborne(true);
+            int health = enemyComponent.getHealth() - 1;
+            enemyComponent.inflictDamage(1);
+
+            enemy.removeFromWorld();
+
+            // The other Enemy keeps its state when it is moved to the freed slot.
+            assertEquals(otherHealth, other.getHealth());
+            assertEquals(other, EnemyCore.getInstance().getView(other.getSlot()));
+            assertEquals(1, EnemyCore.getInstance().size());
+
+            // The removed Enemy keeps its state outside the core and still works.
+            assertEquals(-1, enemyComponent.getSlot());
+            assertEquals(health, enemyComponent.getHealth());
+            assertTrue(enemyComponent.isAirborne());
+            enemyComponent.inflictDamage(1);
+            assertEquals(health - 1, enemyComponent.getHealth());
+            assertEquals(1, EnemyCore.getInstance().size());
+        });
+    }
+
+    @Test
+    public void testSlotTakenWhenAdded() throws InterruptedException {
+        init();
+        waitForRunLater(() -> {
+            int size = EnemyCore.getInstance().size();
+            EnemyComponent component = new EnemyComponent(new Zombie(), new StatMultiplier());
+            assertEquals(-1, component.getSlot());
+            assertEquals(size, EnemyCore.getInstance().size());
+
+            int health = component.getHealth() - 3;
+            component.inflictDamage(3);
+            component.resetJumpAmounts();
+
+            // The state set before the component was added is moved into the core
+            Entity entity = new Entity();
+            entity.addComponent(component);
+            assertEquals(size + 1, EnemyCore.getInstance().size());
+            assertEquals(component, EnemyCore.getInstance().getView(component.getSlot()));
+            assertEquals(health, component.getHealth());
+            assertEquals(1, component.getJumps());
+
+            entity.removeComponent(EnemyComponent.class);
+            assertEquals(size, EnemyCore.getInstance().size());
+        });
+    }
+
     // ---------- GETTERS ---------- //
 
     @Test
@@ -0,0 +1,82 @@
+package edu.chalmers.model.enemy;
+
+import edu.chalmers.model.enemy.enemytypes.Blob;
+import edu.chalmers.model.enemy.enemytypes.IEnemyType;
+import edu.chalmers.model.enemy.enemytypes.Rex;
+import edu.chalmers.model.enemy.enemytypes.Zombie;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EnemyProfileRegistry.
+ */
+public class TestEnemyProfileRegistry {
+
+    @Test
+    public void testProfileFile() {
+        EnemyProfileRegistry registry = EnemyProfileRegistry.getInstance();
+
+        EnemyProfile zombie = registry.getProfile("ZOMBIE");
+        assertEquals(1, zombie.getGroundToPlatformSpeed());
+        assertEquals(1.6, zombie.getGroundToPlatformJump());
+        assertEquals(1.9, zombie.getPlatformToPlatformSpeed());
+        assertEquals(1.7, zombie.getPlatformToPlatformJump());
+
+        assertEquals(2.5, registry.getProfile("Rex").getPlatformToPlatformSpeed());
+        assertEquals(1.7, registry.getProfile("blob").getGroundToPlatformJump());
+        assertNull(registry.getDataType("Zombie"));     // Zombie has a class of its own
+    }
+
+    @Test
+    public void testStatTable() {
+        EnemyProfileRegistry registry = EnemyProfileRegistry.getInstance();
+
+        for (IEnemyType type : new IEnemyType[]{new Zombie(), new Rex(), new Blob()}) {
+            int ordinal = registry.getOrdinal(type);
+            EnemyProfile profile = registry.getProfile(ordinal);
+            assertTrue(type.getName().equalsIgnoreCase(profile.getName()));
+
+            assertEquals(type.getMoveSpeed(), registry.getMoveSpeed(ordinal, EnemyProfileRegistry.Boost.NONE));
+            assertEquals(type.getJumpHeight(), registry.getJumpHeight(ordinal, EnemyProfileRegistry.Boost.NONE));
+            assertEquals(Math.round(type.getJumpHeight() * profile.getGroundToPlatformJump()),
+                    registry.getJumpHeight(ordinal, EnemyProfileRegistry.Boost.GROUND_TO_PLATFORM));
+            assertEquals(Math.round(type.getMoveSpeed() * profile.getPlatformToPlatformSpeed()),
+                    registry.getMoveSpeed(ordinal, EnemyProfileRegistry.Boost.PLATFORM_TO_PLATFORM));
+            assertEquals(Math.round(type.getJumpHeight() * profile.getPlatformToPlatformJump()),
+                    registry.getJumpHeight(ordinal, EnemyProfileRegistry.Boost.PLATFORM_TO_PLATFORM));
+            assertEquals(ordinal, registry.getOrdinal(type));
+        }
+    }
+
+    @Test
+    public void testDataType() {
+        Properties properties = new Properties();
+        properties.setProperty("ghost.health", "50");
+        properties.setProperty("ghost.damage", "5");
+        properties.setProperty("ghost.blockDamage", "20");
+        properties.setProperty("ghost.moveSpeed", "100");
+        properties.setProperty("ghost.jumpHeight", "300");
+        properties.setProperty("ghost.textureIdle", "GhostIdle.png");
+        properties.setProperty("ghost.textureWalk", "GhostWalk.png");
+        properties.setProperty("ghost.textureJump", "GhostJump.png");
+        properties.setProperty("ghost.platformToPlatformSpeed", "1.5");
+        EnemyProfileRegistry registry = new EnemyProfileRegistry(properties);
+
+        IEnemyType ghost = registry.getDataType("Ghost");
+        assertNotNull(ghost);
+        assertEquals(50, ghost.getHealth());
+        assertEquals("GhostWalk.png", ghost.getTextureWalk());
+
+        int ordinal = registry.getOrdinal(ghost);
+        assertEquals(150, registry.getMoveSpeed(ordinal, EnemyProfileRegistry.Boost.PLATFORM_TO_PLATFORM));
+        assertEquals(300, registry.getJumpHeight(ordinal, EnemyProfileRegistry.Boost.PLATFORM_TO_PLATFORM));
+
+        // A type that isn't in the file is never improved
+        int zombie = registry.getOrdinal(new Zombie());
+        assertEquals(new Zombie().getJumpHeight(), registry.getJumpHeight(zombie, EnemyProfileRegistry.Boost.GROUND_TO_PLATFORM));
+        assertNull(registry.getDataType("Rex"));
+    }
+}
@@ -0,0 +1,42 @@
+package edu.chalmers.model.enemy.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecisionColumns.
+ */
+public class TestDecisionColumns {
+
+    @Test
+    public void testDecideAllEqualsDecisionPhase() {
+        Random random = new Random(367);
+        int count = 5000;
+        DecisionColumns columns = new DecisionColumns();
+        EnemyDecision[] expected = new EnemyDecision[count];
+        for (int i = 0; i < count; i++) {
+            EnemySnapshot snapshot = TestDecisionPhase.randomSnapshot(random);
+            columns.set(i, snapshot);
+            expected[i] = DecisionPhase.decide(snapshot);
+        }
+
+        EnemyDecision[] decisions = new EnemyDecision[count];
+        columns.decideAll(decisions, count);
+
+        assertArrayEquals(expected, decisions);
+    }
+
+    @Test
+    public void testDecisionsAreShared() {
+        EnemyDecision decision = EnemyDecision.of(EnemyDecision.Move.LEFT, true, EnemyDecision.Jump.OBSTACLE, true, false);
+        assertSame(decision, EnemyDecision.of(EnemyDecision.Move.LEFT, true, EnemyDecision.Jump.OBSTACLE, true, false));
+        assertEquals(EnemyDecision.Move.LEFT, decision.getMove());
+        assertTrue(decision.isFlowFieldJump());
+        assertEquals(EnemyDecision.Jump.OBSTACLE, decision.getJump());
+        assertTrue(decision.isUpdatePlayerReached());
+        assertFalse(decision.isPlayerReached());
+    }
+}
@@ -0,0 +1,118 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.model.EntityType;
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.TileGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecisionPhase.
+ */
+public class TestDecisionPhase {
+
+    private static final EntityType[] HITS = {null, EntityType.PLATFORM, EntityType.BLOCK, EntityType.PLAYER, EntityType.ENEMY};
+
+    // Snapshot with every value random
+    static EnemySnapshot randomSnapshot(Random random) {
+        return new EnemySnapshot(random.nextInt(4) == 0, random.nextBoolean(), random.nextBoolean(), random.nextInt(4) == 0,
+                random.nextInt(4) == 0, random.nextBoolean(), random.nextInt(3) - 1, random.nextBoolean(),
+                random.nextBoolean(), random.nextBoolean(), random.nextInt(5) != 0, random.nextBoolean(),
+                random.nextBoolean(), HITS[random.nextInt(HITS.length)], HITS[random.nextInt(HITS.length)],
+                HITS[random.nextInt(HITS.length)], random.nextBoolean(), HITS[random.nextInt(HITS.length)]);
+    }
+
+    // One raycast result that hit nothing and one that hit an Entity of every type
+    private static RaycastResult[] createRaycasts() {
+        RaycastResult[] raycasts = new RaycastResult[HITS.length];
+        raycasts[0] = new RaycastResult(null, null);
+        for (int i = 1; i < HITS.length; i++) {
+            Entity entity = new Entity();
+            entity.setType(HITS[i]);
+            raycasts[i] = new RaycastResult(entity, null);
+        }
+        return raycasts;
+    }
+
+    // Flow field towards the middle of a small map with a wall of blocks and a floor
+    private static FlowField createFlowField() {
+        TileGrid grid = new TileGrid(16, 8);
+        for (int x = 0; x < 16; x++) {
+            grid.set(grid.indexOf(x, 7), new MockBlock());
+        }
+        for (int y = 3; y < 7; y++) {
+            grid.set(grid.indexOf(4, y), new MockBlock());
+        }
+        FlowField flowField = new FlowField(grid, 10);
+        flowField.update(8, 6);
+        return flowField;
+    }
+
+    // Standing Enemy with the target to the right and nothing around it
+    private EnemySnapshot walkingSnapshot(EntityType higherHorizontalHit, EntityType horizontalHit, EntityType activeDownwardHit) {
+        return new EnemySnapshot(false, false, true, false, false, false, 0, false, true, false, true, true, false,
+                higherHorizontalHit, horizontalHit, activeDownwardHit, true, null);
+    }
+
+    @Test
+    public void testRead() {
+        RaycastResult[] raycasts = createRaycasts();
+        FlowField flowField = createFlowField();
+
+        // The raycast hits and the flow field are read once the snapshot is decided on
+        EnemySnapshot snapshot = new EnemySnapshot();
+        snapshot.set(false, false, true, false, false, flowField, 2, 6, true, false, true, false,
+                raycasts[1], raycasts[2], raycasts[0], null);
+        DecisionPhase.decide(snapshot);
+        assertEquals(EntityType.PLATFORM, snapshot.getHigherHorizontalHit());
+        assertEquals(EntityType.BLOCK, snapshot.getHorizontalHit());
+        assertNull(snapshot.getActiveDownwardHit());
+        assertTrue(snapshot.hasJumpRaycasts());
+        assertFalse(snapshot.hasEntityRaycast());
+        assertTrue(snapshot.isFollowFlowField());
+        assertEquals(flowField.getMoveX(2, 6), snapshot.getFlowFieldMoveX());
+        assertEquals(flowField.isJump(2, 6), snapshot.isFlowFieldJump());
+    }
+
+    @Test
+    public void testDecideJump() {
+        // Platform in front and the Player above: jump up to the platform.
+        assertEquals(EnemyDecision.Jump.GROUND_TO_PLATFORM, DecisionPhase.decideJump(walkingSnapshot(EntityType.PLATFORM, null, EntityType.PLATFORM)));
+
+        // Nothing below in front: jump over the gap.
+        assertEquals(EnemyDecision.Jump.PLATFORM_TO_PLATFORM, DecisionPhase.decideJump(walkingSnapshot(null, null, null)));
+
+        // Block in front: jump over it.
+        assertEquals(EnemyDecision.Jump.OBSTACLE, DecisionPhase.decideJump(walkingSnapshot(null, EntityType.BLOCK, EntityType.BLOCK)));
+
+        // Nothing in the way.
+        assertEquals(EnemyDecision.Jump.NONE, DecisionPhase.decideJump(walkingSnapshot(null, null, EntityType.PLATFORM)));
+    }
+
+    @Test
+    public void testDecide() {
+        EnemyDecision decision = DecisionPhase.decide(walkingSnapshot(null, null, EntityType.PLATFORM));
+        assertEquals(EnemyDecision.Move.RIGHT, decision.getMove());
+        assertTrue(decision.isUpdatePlayerReached());
+        assertFalse(decision.isPlayerReached());
+
+        // Player reached: stop.
+        EnemySnapshot reached = new EnemySnapshot(false, false, true, true, false, false, 0, false, true, false, true,
+                false, true, null, null, EntityType.PLATFORM, true, EntityType.PLAYER);
+        decision = DecisionPhase.decide(reached);
+        assertEquals(EnemyDecision.Move.STOP, decision.getMove());
+        assertTrue(decision.isPlayerReached());
+
+        // Pathfinding overridden: velocity is left as it is.
+        EnemySnapshot overridden = new EnemySnapshot(true, false, true, false, false, false, 0, false, true, false, true,
+                false, true, null, null, EntityType.PLATFORM, false, null);
+        decision = DecisionPhase.decide(overridden);
+        assertEquals(EnemyDecision.Move.NONE, decision.getMove());
+        assertFalse(decision.isUpdatePlayerReached());
+    }
+}
@@ -0,0 +1,151 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import edu.chalmers.model.enemy.EnemyComponent;
+import edu.chalmers.model.enemy.EnemyFactory;
+import edu.chalmers.model.enemy.StatMultiplier;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecisionScheduler.
+ */
+public class TestDecisionScheduler {
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    // Enemies without a Player in the PlayerState decide every frame they're picked
+    private static List<EnemyAIComponent> createEnemies(int amount) {
+        List<EnemyAIComponent> enemies = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            enemies.add(new EnemyAIComponent(null, null));
+        }
+        return enemies;
+    }
+
+    private static int countScheduled(DecisionScheduler scheduler, List<EnemyAIComponent> enemies) {
+        int count = 0;
+        for (EnemyAIComponent enemy : enemies) {
+            if (scheduler.isScheduled(enemy)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Every scheduled Enemy reports a decision that took one millisecond
+    private static void decide(DecisionScheduler scheduler, List<EnemyAIComponent> enemies) {
+        for (EnemyAIComponent enemy : enemies) {
+            if (scheduler.isScheduled(enemy)) {
+                scheduler.decisionMade(1_000_000);
+            }
+        }
+    }
+
+    @Test
+    public void testDeferral() {
+        DecisionScheduler scheduler = new DecisionScheduler(2);
+        List<EnemyAIComponent> enemies = createEnemies(25);
+
+        // Without an estimate every Enemy decides
+        scheduler.schedule(enemies, PlayerState.NONE, 0);
+        assertEquals(25, countScheduled(scheduler, enemies));
+        decide(scheduler, enemies);
+
+        // Two decisions fit in the budget, but at least ten are made
+        scheduler.schedule(enemies, PlayerState.NONE, 0);
+        assertEquals(25, scheduler.getUpdatedLastFrame());
+        assertEquals(0, scheduler.getDeferredLastFrame());
+        assertEquals(25.0, scheduler.getDecisionMillisLastFrame(), 1e-9);
+        assertEquals(10, countScheduled(scheduler, enemies));
+        decide(scheduler, enemies);
+
+        scheduler.schedule(enemies, PlayerState.NONE, 0);
+        assertEquals(10, scheduler.getUpdatedLastFrame());
+        assertEquals(15, scheduler.getDeferredLastFrame());
+
+        // A larger budget fits every Enemy again
+        decide(scheduler, enemies);
+        scheduler.setFrameBudgetMillis(100);
+        scheduler.schedule(enemies, PlayerState.NONE, 0);
+        assertEquals(25, countScheduled(scheduler, enemies));
+    }
+
+    @Test
+    public void testFairness() {
+        DecisionScheduler scheduler = new DecisionScheduler(0);
+        List<EnemyAIComponent> enemies = createEnemies(25);
+        scheduler.schedule(enemies, PlayerState.NONE, 0);
+        decide(scheduler, enemies);
+
+        // Ten enemies a frame, the frames continue where the previous one stopped
+        int[] timesScheduled = new int[enemies.size()];
+        for (int frame = 0; frame < 5; frame++) {
+            scheduler.schedule(enemies, PlayerState.NONE, 0);
+            assertEquals(10, countScheduled(scheduler, enemies));
+            for (int i = 0; i < enemies.size(); i++) {
+                if (scheduler.isScheduled(enemies.get(i))) {
+                    timesScheduled[i]++;
+                }
+            }
+            decide(scheduler, enemies);
+        }
+        for (int times : timesScheduled) {
+            assertEquals(2, times);
+        }
+    }
+
+    @Test
+    public void testIntervalPerDistance() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            Entity player = spawn("player", 10000, 10000);
+
+            List<EnemyAIComponent> enemies = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                enemies.add(EnemyFactory.getInstance().createEnemy("ZOMBIE", 0, 0, player, new StatMultiplier())
+                        .getComponent(EnemyAIComponent.class));
+            }
+
+            // The Player is near, a bit away and far from the enemies
+            EnemyComponent enemy = enemies.get(0).getThisEnemy();
+            double middleX = (enemy.getX() + enemy.getRightX()) / 2;
+            double middleY = (enemy.getY() + enemy.getBottomY()) / 2;
+            double[] distances = {100, 900, 2000};
+            double[] intervals = {0, 0.1, 0.25};
+
+            DecisionScheduler scheduler = new DecisionScheduler(100);
+            for (int i = 0; i < 3; i++) {
+                PlayerState playerState = new PlayerState(player, null, true, false, middleX + distances[i], middleY, middleY, 0, 0);
+                scheduler.schedule(enemies.subList(i, i + 1), playerState, 1);
+                assertTrue(scheduler.isScheduled(enemies.get(i)));
+                assertEquals(1 + intervals[i], enemies.get(i).getNextDecisionTime(), 1e-9);
+            }
+
+            // The far Enemy isn't due until its interval has passed
+            List<EnemyAIComponent> far = enemies.subList(2, 3);
+            PlayerState playerState = new PlayerState(player, null, true, false, middleX + 2000, middleY, middleY, 0, 0);
+            scheduler.schedule(far, playerState, 1.1);
+            assertFalse(scheduler.isScheduled(far.get(0)));
+            scheduler.schedule(far, playerState, 1.25);
+            assertTrue(scheduler.isScheduled(far.get(0)));
+        });
+    }
+}
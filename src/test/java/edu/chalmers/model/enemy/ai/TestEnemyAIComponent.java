@@ -3,6 +3,7 @@ package edu.chalmers.model.enemy.ai;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.SpawnData;
 import edu.chalmers.FXGLTest;
+import edu.chalmers.model.PlayerComponent;
 import edu.chalmers.model.enemy.EnemyComponent;
 import edu.chalmers.model.enemy.EnemyFactory;
 import edu.chalmers.model.enemy.StatMultiplier;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
 import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -95,6 +97,39 @@ public class TestEnemyAIComponent {
         });
     }
 
+    @Test
+    public void testDecideAheadSameAsInOnUpdate() throws InterruptedException {
+        EnemyDecision[] inOnUpdate = runFrames(false, 100);
+        EnemyDecision[] ahead = runFrames(true, 200);
+        assertArrayEquals(inOnUpdate, ahead);
+    }
+
+    // Runs the same frames with the Enemy under a platform and the Player above it, with the decisions made in
+    // onUpdate or ahead at the start of the frame. Frames are 0.25 s apart so the 1 s cooldowns expire during the run.
+    private EnemyDecision[] runFrames(boolean decideAhead, double startTime) throws InterruptedException {
+        EnemyDecision[] decisions = new EnemyDecision[12];
+        init();
+        waitForRunLater(() -> {
+            EnemyAIManager manager = EnemyAIManager.getInstance();
+            manager.setDataOrientedDecisions(decideAhead);
+
+            tempPlayer.setX(enemy.getX() + 120);
+            tempPlayer.setY(enemy.getY() - 200);
+            tempPlayer.getComponent(PlayerComponent.class).setOnGround(false);
+            spawn("testingPlatform", enemy.getX(), enemy.getY() - 75);
+            enemy.getComponent(EnemyComponent.class).setAirborne(false);
+            enemy.getComponent(EnemyComponent.class).setOnGround(true);
+
+            for (int frame = 0; frame < decisions.length; frame++) {
+                manager.startFrame(startTime + frame * 0.25);
+                enemyAIComponent.updateFrame(manager);
+                decisions[frame] = enemyAIComponent.getLastDecision();
+            }
+            manager.setDataOrientedDecisions(false);
+        });
+        return decisions;
+    }
+
     @Test
     public void testGetNearbyEnemyAI() throws InterruptedException {
         init();
@@ -0,0 +1,41 @@
+package edu.chalmers.model.enemy.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EnemyAIManager.
+ */
+public class TestEnemyAIManager {
+
+    @Test
+    public void testRemoveEnemy() {
+        EnemyAIManager manager = EnemyAIManager.getInstance();
+        int startCount = manager.getEnemyCount();
+        EnemyAIComponent first = new EnemyAIComponent(null, null);
+        EnemyAIComponent middle = new EnemyAIComponent(null, null);
+        EnemyAIComponent last = new EnemyAIComponent(null, null);
+        manager.addEnemy(first);
+        manager.addEnemy(middle);
+        manager.addEnemy(last);
+        assertEquals(startCount + 3, manager.getEnemyCount());
+
+        // The last Enemy takes the removed Enemy's place
+        int middleIndex = middle.getManagerIndex();
+        manager.removeEnemy(middle);
+        assertEquals(startCount + 2, manager.getEnemyCount());
+        assertFalse(middle.isActive());
+        assertEquals(middleIndex, last.getManagerIndex());
+        assertTrue(first.isActive());
+
+        // Removing twice does nothing
+        manager.removeEnemy(middle);
+        assertEquals(startCount + 2, manager.getEnemyCount());
+
+        manager.removeEnemy(last);
+        manager.removeEnemy(first);
+        assertEquals(startCount, manager.getEnemyCount());
+        assertFalse(first.isActive());
+    }
+}
@@ -0,0 +1,92 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import edu.chalmers.model.enemy.EnemyFactory;
+import edu.chalmers.model.enemy.StatMultiplier;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EnemySpatialHash.
+ */
+public class TestEnemySpatialHash {
+
+    private Entity player;
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    private EnemyAIComponent createEnemy(double x, double y) {
+        return EnemyFactory.getInstance().createEnemy("ZOMBIE", x, y, player, new StatMultiplier()).getComponent(EnemyAIComponent.class);
+    }
+
+    @Test
+    public void testFindFirst() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            player = spawn("player", 10000, 10000);
+
+            // A row of enemies far apart, and one right next to the first
+            List<EnemyAIComponent> enemies = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                enemies.add(createEnemy(i * 200, 0));
+            }
+            EnemyAIComponent neighbour = createEnemy(55, 0);
+            enemies.add(neighbour);
+
+            EnemySpatialHash spatialHash = new EnemySpatialHash();
+            spatialHash.build(enemies);
+            assertEquals(101, spatialHash.size());
+
+            EnemyAIComponent first = enemies.get(0);
+            assertSame(neighbour, spatialHash.findFirst(50, 3, 60, 47, first));
+            assertSame(enemies.get(50), spatialHash.findFirst(10010, 10, 10020, 20, null));
+            assertNull(spatialHash.findFirst(-100, -100, -60, -60, null));
+            assertEquals(100, neighbour.getSpatialIndex());
+
+            // An Enemy added after the build is found too
+            EnemyAIComponent late = createEnemy(-200, 0);
+            spatialHash.addLate(late);
+            assertSame(late, spatialHash.findFirst(-180, 10, -170, 20, null));
+            assertEquals(-1, late.getSpatialIndex());
+        });
+    }
+
+    @Test
+    public void testRemovedEnemyNotFound() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            player = spawn("player", 10000, 10000);
+
+            List<EnemyAIComponent> enemies = new ArrayList<>();
+            enemies.add(createEnemy(0, 0));
+            enemies.add(createEnemy(55, 0));
+
+            EnemySpatialHash spatialHash = new EnemySpatialHash();
+            spatialHash.build(enemies);
+            EnemyAIComponent removed = enemies.get(1);
+            assertSame(removed, spatialHash.findFirst(50, 3, 60, 47, enemies.get(0)));
+
+            // Removed before the next build
+            removed.getEntity().removeFromWorld();
+            assertFalse(removed.isActive());
+            assertNull(spatialHash.findFirst(50, 3, 60, 47, enemies.get(0)));
+        });
+    }
+}
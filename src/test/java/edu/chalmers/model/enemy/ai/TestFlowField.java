@@ -0,0 +1,81 @@
+package edu.chalmers.model.enemy.ai;
+
+import edu.chalmers.model.MockBlock;
+import edu.chalmers.model.building.TileGrid;
+import edu.chalmers.model.building.blocks.PermanentBlock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FlowField.
+ */
+public class TestFlowField {
+
+    // 10x6 map with permanent ground on the bottom row, enemies walk on row 4
+    private TileGrid createGrid() {
+        TileGrid grid = new TileGrid(10, 6);
+        for (int x = 0; x < 10; x++) {
+            grid.set(grid.indexOf(x, 5), new PermanentBlock());
+        }
+        return grid;
+    }
+
+    @Test
+    public void testWalkTowardsPlayer() {
+        FlowField flowField = new FlowField(createGrid(), 10);
+        assertTrue(flowField.update(8, 4));
+
+        assertEquals(1, flowField.getMoveX(1, 4));
+        assertEquals(-1, flowField.getMoveX(9, 4));
+        assertEquals(0, flowField.getMoveX(8, 4));      // On the Player's tile
+        assertEquals(7, flowField.getCost(1, 4));
+        assertFalse(flowField.isJump(1, 4));
+        assertEquals(FlowField.UNREACHABLE, flowField.getCost(1, 5));     // Inside the ground
+    }
+
+    @Test
+    public void testJumpOverPermanentBlock() {
+        TileGrid grid = createGrid();
+        grid.set(grid.indexOf(5, 4), new PermanentBlock());
+        FlowField flowField = new FlowField(grid, 10);
+        flowField.update(8, 4);
+
+        assertTrue(flowField.isJump(4, 4));
+        assertEquals(1, flowField.getMoveX(4, 4));
+        assertEquals(1, flowField.getMoveX(4, 3));
+    }
+
+    @Test
+    public void testBreakCostDependsOnBlockDamage() {
+        TileGrid grid = createGrid();
+        grid.set(grid.indexOf(5, 4), new MockBlock());
+
+        // Breaks the block with one hit, walking through is cheaper than jumping over
+        FlowField strongField = new FlowField(grid, 100);
+        strongField.update(8, 4);
+        assertFalse(strongField.isJump(4, 4));
+        assertEquals(1, strongField.getMoveX(4, 4));
+        assertEquals(6, strongField.getCost(4, 4));
+
+        // Needs ten hits, jumping over is cheaper
+        FlowField weakField = new FlowField(grid, 10);
+        weakField.update(8, 4);
+        assertTrue(weakField.isJump(4, 4));
+        assertEquals(7, weakField.getCost(4, 4));
+    }
+
+    @Test
+    public void testUpdateOnlyWhenChanged() {
+        TileGrid grid = createGrid();
+        FlowField flowField = new FlowField(grid, 10);
+
+        assertTrue(flowField.update(8, 4));
+        assertFalse(flowField.update(8, 4));    // Nothing has changed
+        assertTrue(flowField.update(7, 4));     // Player has moved
+
+        grid.set(grid.indexOf(2, 4), new MockBlock());
+        assertTrue(flowField.update(7, 4));     // Map has changed
+        assertFalse(flowField.update(7, 4));
+    }
+}
@@ -228,13 +228,18 @@ public class TestMovementAI {
             enemyComponent.setAirborne(false);
             // No platform exists so should be null.
             enemyAIComponent.getMovementAI().doFloatingPlatformMovement();
-            assertEquals(null, enemyAIComponent.getPlatformAI().getClosestPlatform());
+            assertEquals(null, enemyAIComponent.getPlatformAI().getNextPlatform());
 
-            // Add platform and update platforms list.
+            // Add platform and update platforms list. Player touches the platform and then jumps above Enemy.
             Entity platform = spawn("testingPlatform", 100, 100);
             enemyAIComponent.getPlatformAI().updatePlatforms();
+            tempPlayer.setX(platform.getX());
+            tempPlayer.setY(platform.getY() - (tempPlayer.getHeight() + 2));
+            enemyAIComponent.getPlatformAI().playerRecentPlatformContactCheck();
+            tempPlayer.setY(-1000);
             enemyAIComponent.getMovementAI().doFloatingPlatformMovement();
-            assertEquals(platform, enemyAIComponent.getPlatformAI().getClosestPlatform());
+            assertEquals(platform, enemyAIComponent.getPlatformAI().getNextPlatform());
+            assertEquals(platform, enemyAIComponent.getTarget());
 
             // If closestPlatform is *not* equal to null. Put closestPlatform below Enemy.
             enemy.setX(platform.getX());
@@ -2,6 +2,7 @@ package edu.chalmers.model.enemy.ai;
 
 import com.almasb.fxgl.entity.Entity;
 import edu.chalmers.FXGLTest;
+import edu.chalmers.model.PlayerComponent;
 import edu.chalmers.model.enemy.EnemyFactory;
 import edu.chalmers.model.enemy.StatMultiplier;
 import org.junit.AfterClass;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
 import static edu.chalmers.FXGLTest.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * @author Sam Salek
@@ -76,29 +78,74 @@ public class TestPlatformAI {
     }
 
     @Test
-    public void testGetClosestPlatform() throws InterruptedException {
+    public void testGetNextPlatform() throws InterruptedException {
         // --- One platform --- //
         init();
         waitForRunLater(() -> {
             Entity platform = spawn("testingPlatform", 5, 5);
             enemyAIComponent.getPlatformAI().updatePlatforms();
-            assertEquals(platform, enemyAIComponent.getPlatformAI().getClosestPlatform());
+            putPlayerOn(platform);
+            assertEquals(platform, enemyAIComponent.getPlatformAI().getNextPlatform());
         });
         //
 
 
-        // --- Two platforms --- //
+        // --- Player's platform can only be reached from another platform --- //
         init();
         waitForRunLater(() -> {
-            // Spawn two platforms at roughly the same Y-pos. platform 1 is closer out of the two.
-            Entity platform = spawn("testingPlatform", 5, 3);
-            spawn("testingPlatform", -10, 5);
+            Entity platform = spawn("testingPlatform", 50, 50);
+            Entity higherPlatform = spawn("testingPlatform", 150, -100);     // Too high to jump to from the ground
             enemyAIComponent.getPlatformAI().updatePlatforms();
-            assertEquals(platform, enemyAIComponent.getPlatformAI().getClosestPlatform());
+            putPlayerOn(higherPlatform);
+            assertEquals(platform, enemyAIComponent.getPlatformAI().getNextPlatform());
+
+            // Enemy is on the first platform, next is the Player's platform.
+            enemy.setX(platform.getX());
+            enemy.setY(platform.getY() - (enemy.getHeight() + 5));
+            assertEquals(higherPlatform, enemyAIComponent.getPlatformAI().getNextPlatform());
         });
         //
 
-        // TODO - check platform below Enemy? (for-loop)
+
+        // --- Player's platform is out of reach --- //
+        init();
+        waitForRunLater(() -> {
+            Entity platform = spawn("testingPlatform", 5, -500);
+            spawn("testingPlatform", 0, 200);       // Ground far below the platform
+            enemyAIComponent.getPlatformAI().updatePlatforms();
+            putPlayerOn(platform);
+            assertEquals(null, enemyAIComponent.getPlatformAI().getNextPlatform());
+        });
+    }
+
+    @Test
+    public void testPathThroughGround() throws InterruptedException {
+        init();
+        waitForRunLater(() -> {
+            spawn("testingPlatform", 0, 200);       // Ground
+            Entity platform = spawn("testingPlatform", 100, 150);
+            Entity playerPlatform = spawn("testingPlatform", 2000, 140);        // Only reachable from the ground
+            enemyAIComponent.getPlatformAI().updatePlatforms();
+            putPlayerOn(playerPlatform);
+            tempPlayer.getComponent(PlayerComponent.class).setOnGround(false);
+
+            // Enemy has climbed the first platform, which is still its target.
+            enemy.setX(platform.getX());
+            enemy.setY(platform.getY() - (enemy.getHeight() + 5));
+            enemyAIComponent.setTarget(platform);
+
+            // The next surface is the ground, so the Enemy heads for the Player instead of staying on the platform.
+            assertNull(enemyAIComponent.getPlatformAI().getNextPlatform());
+            enemyAIComponent.getMovementAI().doFloatingPlatformMovement();
+            assertEquals(tempPlayer, enemyAIComponent.getTarget());
+        });
+    }
+
+    // Puts the Player on the platform so it becomes the Player's most recent platform contact.
+    private void putPlayerOn(Entity platform) {
+        tempPlayer.setX(platform.getX());
+        tempPlayer.setY(platform.getY() - (tempPlayer.getHeight() + 2));
+        enemyAIComponent.getPlatformAI().playerRecentPlatformContactCheck();
     }
 
     @Test
@@ -0,0 +1,57 @@
+package edu.chalmers.model.enemy.ai;
+
+import javafx.geometry.Rectangle2D;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PlatformGraph.
+ */
+public class TestPlatformGraph {
+
+    // Ground, a low platform, a higher platform only reachable from the low one and a platform next to the higher one
+    private final List<Rectangle2D> surfaces = Arrays.asList(
+            new Rectangle2D(0, 500, 1000, 60),
+            new Rectangle2D(100, 400, 120, 60),
+            new Rectangle2D(250, 280, 120, 60),
+            new Rectangle2D(370, 280, 60, 60));
+
+    private final PlatformGraph graph = new PlatformGraph(surfaces, 130, 60);
+
+    @Test
+    public void testLinks() {
+        assertEquals(PlatformGraph.Link.JUMP, graph.getLink(0, 1));
+        assertNull(graph.getLink(0, 2));                                  // Too high
+        assertEquals(PlatformGraph.Link.JUMP, graph.getLink(1, 2));
+        assertEquals(PlatformGraph.Link.WALK, graph.getLink(2, 3));
+        assertEquals(PlatformGraph.Link.DROP, graph.getLink(2, 1));
+        assertEquals(PlatformGraph.Link.DROP, graph.getLink(3, 0));
+        assertNull(graph.getLink(3, 1));                                  // Too far from the edge
+    }
+
+    @Test
+    public void testNextNode() {
+        assertEquals(1, graph.getNextNode(0, 3));
+        assertEquals(2, graph.getNextNode(1, 3));
+        assertEquals(3, graph.getNextNode(2, 3));
+        assertEquals(3, graph.getNextNode(3, 3));
+        assertEquals(0, graph.getNextNode(3, 0));
+
+        // Cached path gives the same answer
+        assertEquals(1, graph.getNextNode(0, 3));
+    }
+
+    @Test
+    public void testUnreachable() {
+        PlatformGraph lowJumpGraph = new PlatformGraph(surfaces, 50, 60);
+
+        assertEquals(-1, lowJumpGraph.getNextNode(0, 1));
+        assertEquals(-1, lowJumpGraph.getNextNode(0, 1));
+        assertEquals(0, lowJumpGraph.getNextNode(1, 0));
+        assertEquals(-1, lowJumpGraph.getNextNode(0, -1));
+    }
+}
@@ -0,0 +1,95 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PlatformRegistry.
+ */
+public class TestPlatformRegistry {
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    @Test
+    public void testIdsSortedByY() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            Entity ground = spawn("testingPlatform", 0, 200);
+            Entity low = spawn("testingPlatform", 100, 150);
+            Entity high = spawn("testingPlatform", 300, 50);
+            Entity middle = spawn("testingPlatform", 500, 100);
+            Entity player = spawn("player", 10000, 10000);
+            PlatformRegistry.loadLevel();
+            PlatformRegistry registry = PlatformRegistry.getInstance();
+
+            // The ground is id 0, the other platforms are numbered from the highest
+            assertEquals(Arrays.asList(high, middle, low), registry.getPlatforms());
+            assertEquals(PlatformRegistry.GROUND_ID, registry.getId(ground));
+            assertEquals(1, registry.getId(high));
+            assertEquals(2, registry.getId(middle));
+            assertEquals(3, registry.getId(low));
+            assertSame(middle, registry.getPlatform(2));
+            assertNull(registry.getPlatform(PlatformRegistry.GROUND_ID));
+
+            assertEquals(-1, registry.getId(player));
+            assertEquals(-1, registry.getId(null));
+            assertTrue(registry.isPlatform(low));
+            assertFalse(registry.isPlatform(ground));
+        });
+    }
+
+    @Test
+    public void testGraphSharedPerJump() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            spawn("testingPlatform", 0, 200);
+            spawn("testingPlatform", 100, 150);
+            PlatformRegistry.loadLevel();
+            PlatformRegistry registry = PlatformRegistry.getInstance();
+
+            PlatformGraph graph = registry.getGraph(100, 150);
+            assertSame(graph, registry.getGraph(100, 150));
+            assertNotSame(graph, registry.getGraph(200, 150));
+        });
+    }
+
+    @Test
+    public void testRebuildAfterRemoval() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            spawn("testingPlatform", 0, 200);
+            Entity oldPlatform = spawn("testingPlatform", 100, 150);
+            PlatformRegistry.loadLevel();
+            PlatformRegistry oldRegistry = PlatformRegistry.getInstance();
+            assertSame(oldRegistry, PlatformRegistry.getInstance());
+
+            // The level is removed and a new one is spawned without loadLevel being called
+            FXGLTest.clearAllEntities();
+            Entity ground = spawn("testingPlatform", 0, 300);
+            Entity newPlatform = spawn("testingPlatform", 400, 250);
+            PlatformRegistry registry = PlatformRegistry.getInstance();
+
+            assertNotSame(oldRegistry, registry);
+            assertEquals(-1, registry.getId(oldPlatform));
+            assertEquals(PlatformRegistry.GROUND_ID, registry.getId(ground));
+            assertEquals(1, registry.getId(newPlatform));
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import edu.chalmers.model.PlayerComponent;
+import edu.chalmers.utilities.CoordsCalculations;
+import edu.chalmers.utilities.EntityPos;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PlayerStateSampler.
+ */
+public class TestPlayerStateSampler {
+
+    private Entity player;
+    private Entity platform;
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    // Spawns the ground, a platform and the Player standing on the platform. Must be called on the game thread.
+    private void init() {
+        FXGLTest.clearAllEntities();
+        spawn("testingPlatform", 0, 300);
+        platform = spawn("testingPlatform", 100, 100);
+        player = spawn("player", 0, 0);
+        player.setX(platform.getX());
+        player.setY(platform.getY() - (player.getHeight() + 2));
+        player.getComponent(PlayerComponent.class).setAirborne(false);
+        PlatformRegistry.loadLevel();
+        RaycastCounter.reset();
+    }
+
+    @Test
+    public void testSample() throws InterruptedException {
+        waitForRunLater(() -> {
+            init();
+            PlayerState playerState = new PlayerStateSampler().sample(player, PlayerState.NONE, FXGL.getGameTimer().getNow());
+
+            assertSame(player, playerState.getPlayer());
+            assertSame(platform, playerState.getPlatformContact());
+            assertFalse(playerState.isAirborne());
+            assertEquals(EntityPos.getMiddleX(player), playerState.getMiddleX());
+            assertEquals(EntityPos.getMiddleY(player), playerState.getMiddleY());
+            assertEquals(player.getBottomY(), playerState.getBottomY());
+            assertEquals(CoordsCalculations.posToTileX(playerState.getMiddleX()), playerState.getTileX());
+            assertEquals(CoordsCalculations.posToTileY(playerState.getMiddleY()), playerState.getTileY());
+
+            // The rays under the Player are counted
+            assertTrue(RaycastCounter.getCast() > 0);
+            assertEquals(RaycastCounter.getRequested(), RaycastCounter.getCast());
+        });
+    }
+
+    @Test
+    public void testAirborneKeepsContact() throws InterruptedException {
+        waitForRunLater(() -> {
+            init();
+            PlayerStateSampler sampler = new PlayerStateSampler();
+            double now = FXGL.getGameTimer().getNow();
+            PlayerState onPlatform = sampler.sample(player, PlayerState.NONE, now);
+
+            // Jumped off the platform, no rays are cast and the latest contact is kept
+            player.getComponent(PlayerComponent.class).setAirborne(true);
+            player.translateX(1000);
+            RaycastCounter.reset();
+            PlayerState airborne = sampler.sample(player, onPlatform, now);
+            assertSame(platform, airborne.getPlatformContact());
+            assertTrue(airborne.isAirborne());
+            assertEquals(0, RaycastCounter.getCast());
+
+            // Unless the platform has been removed
+            platform.removeFromWorld();
+            assertNull(sampler.sample(player, airborne, now).getPlatformContact());
+        });
+    }
+}
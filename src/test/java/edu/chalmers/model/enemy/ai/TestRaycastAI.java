@@ -1,5 +1,18 @@
 package edu.chalmers.model.enemy.ai;
 
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.FXGLTest;
+import edu.chalmers.model.enemy.EnemyFactory;
+import edu.chalmers.model.enemy.StatMultiplier;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author Sam Salek
  * <p>
@@ -7,4 +20,85 @@ package edu.chalmers.model.enemy.ai;
  */
 public class TestRaycastAI {
 
+    private Entity enemy;
+    private RaycastAI raycastAI;
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    // Initializes the Player and the Enemy. Must be called on the game thread.
+    private void init() {
+        FXGLTest.clearAllEntities();
+        Entity player = spawn("player", 10000, 10000);
+        enemy = EnemyFactory.getInstance().createEnemy("Zombie", 0, 0, player, new StatMultiplier());
+        raycastAI = enemy.getComponent(EnemyAIComponent.class).getRaycastAI();
+        RaycastCounter.reset();
+    }
+
+    @Test
+    public void testCachedInSameFrame() throws InterruptedException {
+        waitForRunLater(() -> {
+            init();
+
+            // The game time doesn't change during runLater, every call is in the same frame
+            RaycastResult first = raycastAI.getLeftDownwardRaycast();
+            RaycastResult second = raycastAI.getLeftDownwardRaycast();
+            assertSame(first, second);
+            assertEquals(2, RaycastCounter.getRequested());
+            assertEquals(1, RaycastCounter.getCast());
+
+            // Another ray isn't taken from the cache
+            raycastAI.getRightDownwardRaycast();
+            assertEquals(3, RaycastCounter.getRequested());
+            assertEquals(2, RaycastCounter.getCast());
+        });
+    }
+
+    @Test
+    public void testMovedEnemyRecasts() throws InterruptedException {
+        waitForRunLater(() -> {
+            init();
+
+            raycastAI.getLeftUpwardRaycast();
+            enemy.translateX(50);
+            raycastAI.getLeftUpwardRaycast();
+            assertEquals(2, RaycastCounter.getRequested());
+            assertEquals(2, RaycastCounter.getCast());
+
+            // Cached again at the new position
+            raycastAI.getLeftUpwardRaycast();
+            assertEquals(3, RaycastCounter.getRequested());
+            assertEquals(2, RaycastCounter.getCast());
+        });
+    }
+
+    @Test
+    public void testCounterLastFrame() {
+        RaycastCounter.reset();
+        RaycastCounter.countRequest(1);
+        RaycastCounter.countRequest(1);
+        RaycastCounter.countRequest(1);
+        RaycastCounter.countCast(1);
+        RaycastCounter.addBatchTime(1, 500);
+
+        // The counts move to the last frame when the next frame starts
+        assertEquals(0, RaycastCounter.getRequestedLastFrame());
+        RaycastCounter.countRequest(2);
+        assertEquals(3, RaycastCounter.getRequestedLastFrame());
+        assertEquals(1, RaycastCounter.getCastLastFrame());
+        assertEquals(500, RaycastCounter.getBatchNanosLastFrame());
+        assertEquals(1, RaycastCounter.getRequested());
+        assertEquals(0, RaycastCounter.getCast());
+
+        RaycastCounter.reset();
+        assertEquals(0, RaycastCounter.getRequestedLastFrame());
+        assertEquals(0, RaycastCounter.getRequested());
+    }
 }
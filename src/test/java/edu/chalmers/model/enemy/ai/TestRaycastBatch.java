@@ -0,0 +1,90 @@
+package edu.chalmers.model.enemy.ai;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import edu.chalmers.FXGLTest;
+import edu.chalmers.model.enemy.EnemyFactory;
+import edu.chalmers.model.enemy.StatMultiplier;
+import org.junit.AfterClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.almasb.fxgl.dsl.FXGLForKtKt.spawn;
+import static edu.chalmers.FXGLTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RaycastBatch.
+ */
+public class TestRaycastBatch {
+
+    private Entity player;
+
+    @BeforeAll
+    public static void initApp() throws InterruptedException {
+        initialize();
+    }
+
+    @AfterClass
+    public static void tearDown() throws InterruptedException {
+        deInitialize();
+    }
+
+    private RaycastAI createRaycastAI(double x) {
+        Entity enemy = EnemyFactory.getInstance().createEnemy("Zombie", x, 0, player, new StatMultiplier());
+        return enemy.getComponent(EnemyAIComponent.class).getRaycastAI();
+    }
+
+    @Test
+    public void testRoundTrip() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            player = spawn("player", 10000, 10000);
+            RaycastAI raycastAI = createRaycastAI(0);
+            RaycastCounter.reset();
+
+            RaycastBatch batch = new RaycastBatch();
+            raycastAI.requestRaycasts(batch);
+            int rayCount = batch.getRequestCount();
+            assertTrue(rayCount > 0);
+
+            batch.execute(FXGL.getGameTimer().getNow());
+            assertEquals(0, batch.getRequestCount());
+            assertEquals(rayCount, RaycastCounter.getCast());
+
+            // The batched rays are handed back, asking for them doesn't cast them again
+            assertNotNull(raycastAI.getLeftDownwardRaycast());
+            assertNotNull(raycastAI.getRightDownwardRaycast());
+            assertNotNull(raycastAI.getLeftUpwardRaycast());
+            assertNotNull(raycastAI.getRightUpwardRaycast());
+            assertEquals(4, RaycastCounter.getRequested());
+            assertEquals(rayCount, RaycastCounter.getCast());
+        });
+    }
+
+    @Test
+    public void testManyEnemies() throws InterruptedException {
+        waitForRunLater(() -> {
+            FXGLTest.clearAllEntities();
+            player = spawn("player", 10000, 10000);
+            RaycastCounter.reset();
+
+            // More rays than the batch starts with
+            RaycastBatch batch = new RaycastBatch();
+            RaycastAI[] raycastAIs = new RaycastAI[30];
+            for (int i = 0; i < raycastAIs.length; i++) {
+                raycastAIs[i] = createRaycastAI(i * 100);
+                raycastAIs[i].requestRaycasts(batch);
+            }
+            int rayCount = batch.getRequestCount();
+            assertTrue(rayCount > 64);
+
+            batch.execute(FXGL.getGameTimer().getNow());
+            assertEquals(rayCount, RaycastCounter.getCast());
+            for (RaycastAI raycastAI : raycastAIs) {
+                raycastAI.getRightUpwardRaycast();
+            }
+            assertEquals(rayCount, RaycastCounter.getCast());
+        });
+    }
+}
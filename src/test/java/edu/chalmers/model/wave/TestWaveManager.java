@@ -61,12 +61,12 @@ public class TestWaveManager {
     public void testObserverMethods() throws InterruptedException {
         resetTest();
         MockObserver o = new MockObserver();
-        assertEquals(0, waveManager.observers.size());
+        assertEquals(0, waveManager.getObserverCount());
         waveManager.addObserver(o);
-        assertEquals(1, waveManager.observers.size());
+        assertEquals(1, waveManager.getObserverCount());
         waveManager.notifyObserver();
         assertTrue(o.isTest());
         waveManager.removeObserver(o);
-        assertEquals(0, waveManager.observers.size());
+        assertEquals(0, waveManager.getObserverCount());
     }
 }
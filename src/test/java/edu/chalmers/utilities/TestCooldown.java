@@ -0,0 +1,46 @@
+package edu.chalmers.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Cooldown.
+ */
+public class TestCooldown {
+
+    @Test
+    public void testIsReady() {
+        Cooldown cooldown = new Cooldown(1);
+        assertTrue(cooldown.isReady(0));        // Never started
+
+        cooldown.start(10);
+        assertFalse(cooldown.isReady(10.5));
+        assertTrue(cooldown.isReady(11));
+        assertEquals(11, cooldown.getReadyTime());
+
+        cooldown.reset();
+        assertTrue(cooldown.isReady(10));
+        assertFalse(cooldown.isRunning());
+    }
+
+    @Test
+    public void testPollExpired() {
+        Cooldown cooldown = new Cooldown(0.5);
+        assertFalse(cooldown.pollExpired(100));     // Never started
+
+        assertTrue(cooldown.startIfIdle(1));
+        assertFalse(cooldown.startIfIdle(1.2));     // Already running, keeps its deadline
+        assertFalse(cooldown.pollExpired(1.4));
+        assertTrue(cooldown.isRunning());
+
+        // Run out but not polled: still running
+        assertFalse(cooldown.startIfIdle(1.6));
+        assertTrue(cooldown.pollExpired(1.6));
+        assertFalse(cooldown.pollExpired(1.7));     // Only once per start
+        assertFalse(cooldown.isRunning());
+
+        assertTrue(cooldown.startIfIdle(2));
+        assertEquals(2.5, cooldown.getReadyTime());
+    }
+}
@@ -0,0 +1,38 @@
+package edu.chalmers.utilities;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.RaycastResult;
+import edu.chalmers.model.EntityType;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RaycastCalculations hit classification.
+ */
+public class TestRaycastCalculations {
+
+    @Test
+    public void testNothingHit() {
+        RaycastResult raycast = new RaycastResult(null, null);
+
+        assertNull(RaycastCalculations.getRaycastHitType(raycast));
+        assertNull(RaycastCalculations.getRaycastHit(raycast));
+        assertNull(RaycastCalculations.getRaycastHit(raycast, EntityType.PLATFORM));
+        assertFalse(RaycastCalculations.checkRaycastHit(raycast, EntityType.PLATFORM));
+    }
+
+    @Test
+    public void testHitType() {
+        Entity spawnPoint = new Entity();
+        spawnPoint.setType(EntityType.PLAYERSPAWNPOINT);
+        RaycastResult raycast = new RaycastResult(spawnPoint, new Point2D(0, 0));
+
+        assertEquals(EntityType.PLAYERSPAWNPOINT, RaycastCalculations.getRaycastHitType(raycast));
+        assertTrue(RaycastCalculations.checkRaycastHit(raycast, EntityType.PLAYERSPAWNPOINT));
+        assertFalse(RaycastCalculations.checkRaycastHit(raycast, EntityType.PLAYER));     // Type name is not matched as a substring
+        assertEquals(spawnPoint, RaycastCalculations.getRaycastHit(raycast, EntityType.PLAYERSPAWNPOINT));
+        assertNull(RaycastCalculations.getRaycastHit(raycast, EntityType.PLAYER));
+    }
+}